@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.benchmark;
+
+import com.mojang.authlib.GameProfile;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.storage.SaveHandlerMP;
+import net.minecraft.world.storage.WorldInfo;
+
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: BenchmarkWorld
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 02:10
+ */
+//In-memory world for the benchmarks. Every chunk exists and is loaded, and starts out as air.
+//Blocks are placed directly into the chunk storage, so there's no lighting or neighbour updates involved.
+public class BenchmarkWorld extends World {
+
+    private static boolean bootstrapped = false;
+
+    public BenchmarkWorld(long seed) {
+        super(new SaveHandlerMP(),
+                new WorldInfo(new WorldSettings(seed, GameType.SURVIVAL, false, false, WorldType.FLAT), "benchmark"),
+                new WorldProviderSurface(), new Profiler(), false);
+        this.provider.setWorld(this);
+        this.chunkProvider = createChunkProvider();
+    }
+
+    //Registers the vanilla blocks, items and biomes. Has to run before anything touches them.
+    public static synchronized void bootstrap() {
+        if(!bootstrapped) {
+            Bootstrap.register();
+            bootstrapped = true;
+        }
+    }
+
+    public void place(BlockPos pos, IBlockState state) {
+        Chunk chunk = getChunkFromBlockCoords(pos);
+        ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
+        int y = pos.getY() >> 4;
+        if(storageArray[y] == Chunk.NULL_BLOCK_STORAGE) {
+            storageArray[y] = new ExtendedBlockStorage(y << 4, true);
+        }
+        storageArray[y].set(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15, state);
+    }
+
+    public EntityPlayer createPlayer() {
+        return new EntityPlayer(this, new GameProfile(UUID.randomUUID(), "benchmark")) {
+            @Override
+            public boolean isSpectator() {
+                return false;
+            }
+
+            @Override
+            public boolean isCreative() {
+                return false;
+            }
+        };
+    }
+
+    @Override
+    protected IChunkProvider createChunkProvider() {
+        return new BenchmarkChunkProvider(this);
+    }
+
+    @Override
+    protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+        return true;
+    }
+
+    private static class BenchmarkChunkProvider implements IChunkProvider {
+
+        private final World world;
+        private final Long2ObjectMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+
+        private BenchmarkChunkProvider(World world) {
+            this.world = world;
+        }
+
+        @Nullable
+        @Override
+        public Chunk getLoadedChunk(int x, int z) {
+            return provideChunk(x, z);
+        }
+
+        @Override
+        public Chunk provideChunk(int x, int z) {
+            long key = ChunkPos.asLong(x, z);
+            Chunk chunk = chunks.get(key);
+            if(chunk == null) {
+                chunk = new Chunk(world, x, z);
+                chunks.put(key, chunk);
+            }
+            return chunk;
+        }
+
+        @Override
+        public boolean tick() {
+            return false;
+        }
+
+        @Override
+        public String makeString() {
+            return "BenchmarkChunkProvider: " + chunks.size();
+        }
+
+        @Override
+        public boolean isChunkGeneratedAt(int x, int z) {
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.benchmark;
+
+import hellfirepvp.astralsorcery.common.structure.array.BlockArray;
+import hellfirepvp.astralsorcery.common.util.struct.BlockDiscoverer;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: BlockDiscovererBenchmark
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 02:48
+ */
+//Flood fills over a ball of stone, as done by the tree/ore related effects and tools.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockDiscovererBenchmark {
+
+    private static final BlockPos ORIGIN = new BlockPos(0, 64, 0);
+
+    @Param({"4", "8"})
+    public int radius;
+
+    private BenchmarkWorld world;
+
+    @Setup
+    public void setup() {
+        BenchmarkWorld.bootstrap();
+        world = new BenchmarkWorld(0L);
+        for (int xx = -radius; xx <= radius; xx++) {
+            for (int yy = -radius; yy <= radius; yy++) {
+                for (int zz = -radius; zz <= radius; zz++) {
+                    if(xx * xx + yy * yy + zz * zz <= radius * radius) {
+                        world.place(ORIGIN.add(xx, yy, zz), Blocks.STONE.getDefaultState());
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public BlockArray floodFill() {
+        return BlockDiscoverer.discoverBlocksWithSameStateAround(world, ORIGIN, false, 16, -1, false);
+    }
+
+    @Benchmark
+    public BlockArray floodFillCorners() {
+        return BlockDiscoverer.discoverBlocksWithSameStateAround(world, ORIGIN, false, 16, -1, true);
+    }
+
+    @Benchmark
+    public BlockArray floodFillExposed() {
+        return BlockDiscoverer.discoverBlocksWithSameStateAround(world, ORIGIN, true, 16, -1, false);
+    }
+
+}
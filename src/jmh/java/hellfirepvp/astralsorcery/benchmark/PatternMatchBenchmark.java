@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.benchmark;
+
+import hellfirepvp.astralsorcery.common.structure.array.PatternBlockArray;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: PatternMatchBenchmark
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 02:40
+ */
+//Structure checks against an intact structure and against one with a single missing block.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternMatchBenchmark {
+
+    private static final BlockPos INTACT = new BlockPos(0, 64, 0);
+    private static final BlockPos BROKEN = new BlockPos(64, 64, 0);
+
+    private BenchmarkWorld world;
+    private PatternBlockArray pattern;
+
+    @Setup
+    public void setup() {
+        BenchmarkWorld.bootstrap();
+        world = new BenchmarkWorld(0L);
+
+        //Roughly the size of the larger altar/ritual structures.
+        pattern = new PatternBlockArray(new ResourceLocation("astralsorcery", "benchmark"));
+        for (int xx = -4; xx <= 4; xx++) {
+            for (int zz = -4; zz <= 4; zz++) {
+                pattern.addBlock(xx, -1, zz, Blocks.QUARTZ_BLOCK.getDefaultState());
+                if(Math.abs(xx) == 4 && Math.abs(zz) == 4) {
+                    for (int yy = 0; yy < 4; yy++) {
+                        pattern.addBlock(xx, yy, zz, Blocks.STONEBRICK.getDefaultState());
+                    }
+                } else {
+                    pattern.addBlock(xx, 0, zz, Blocks.AIR.getDefaultState());
+                }
+            }
+        }
+
+        build(INTACT);
+        build(BROKEN);
+        world.place(BROKEN.add(4, 3, 4), Blocks.AIR.getDefaultState());
+    }
+
+    private void build(BlockPos center) {
+        for (BlockPos offset : pattern.getPattern().keySet()) {
+            IBlockState state = pattern.getPattern().get(offset).state;
+            world.place(center.add(offset), state);
+        }
+    }
+
+    @Benchmark
+    public boolean matchesIntact() {
+        return pattern.matches(world, INTACT);
+    }
+
+    @Benchmark
+    public boolean matchesBroken() {
+        return pattern.matches(world, BROKEN);
+    }
+
+}
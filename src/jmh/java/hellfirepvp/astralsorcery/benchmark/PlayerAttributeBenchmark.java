@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.benchmark;
+
+import hellfirepvp.astralsorcery.common.constellation.perk.PerkAttributeHelper;
+import hellfirepvp.astralsorcery.common.constellation.perk.PlayerAttributeMap;
+import hellfirepvp.astralsorcery.common.constellation.perk.attribute.AttributeTypeRegistry;
+import hellfirepvp.astralsorcery.common.constellation.perk.attribute.PerkAttributeModifier;
+import hellfirepvp.astralsorcery.common.constellation.perk.attribute.PerkAttributeType;
+import hellfirepvp.astralsorcery.common.data.research.PlayerProgress;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.fml.relauncher.Side;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: PlayerAttributeBenchmark
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 02:31
+ */
+//Attribute lookups as done by the perk event handlers, for a player with a well filled perk tree.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerAttributeBenchmark {
+
+    @Param({"4", "32"})
+    public int modifiersPerMode;
+
+    private EntityPlayer player;
+    private PlayerProgress progress;
+    private PlayerAttributeMap attributeMap;
+
+    @Setup
+    public void setup() {
+        BenchmarkWorld.bootstrap();
+        player = new BenchmarkWorld(0L).createPlayer();
+        progress = new PlayerProgress();
+
+        AttributeTypeRegistry.registerPerkType(new PerkAttributeType(AttributeTypeRegistry.ATTR_TYPE_INC_PERK_EFFECT));
+        AttributeTypeRegistry.registerPerkType(new PerkAttributeType(AttributeTypeRegistry.ATTR_TYPE_MELEE_DAMAGE));
+
+        attributeMap = PerkAttributeHelper.getMockInstance(Side.SERVER);
+        apply(AttributeTypeRegistry.ATTR_TYPE_INC_PERK_EFFECT, 2);
+        apply(AttributeTypeRegistry.ATTR_TYPE_MELEE_DAMAGE, modifiersPerMode);
+    }
+
+    private void apply(String type, int perMode) {
+        for (int i = 0; i < perMode; i++) {
+            attributeMap.applyModifier(player, type, new PerkAttributeModifier(type, PerkAttributeModifier.Mode.ADDITION, 0.5F));
+            attributeMap.applyModifier(player, type, new PerkAttributeModifier(type, PerkAttributeModifier.Mode.ADDED_MULTIPLY, 0.05F));
+            attributeMap.applyModifier(player, type, new PerkAttributeModifier(type, PerkAttributeModifier.Mode.STACKING_MULTIPLY, 1.02F));
+        }
+    }
+
+    @Benchmark
+    public float modifyValue() {
+        return attributeMap.modifyValue(player, progress, AttributeTypeRegistry.ATTR_TYPE_MELEE_DAMAGE, 4F);
+    }
+
+    @Benchmark
+    public float getModifier() {
+        return attributeMap.getModifier(player, progress, AttributeTypeRegistry.ATTR_TYPE_MELEE_DAMAGE);
+    }
+
+    @Benchmark
+    public float getModifierSingleMode() {
+        return attributeMap.getModifier(player, progress, AttributeTypeRegistry.ATTR_TYPE_MELEE_DAMAGE, PerkAttributeModifier.Mode.ADDED_MULTIPLY);
+    }
+
+}
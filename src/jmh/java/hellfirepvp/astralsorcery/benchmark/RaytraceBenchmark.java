@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.benchmark;
+
+import hellfirepvp.astralsorcery.common.util.RaytraceAssist;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: RaytraceBenchmark
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 02:24
+ */
+//Line of sight checks of starlight links through sparse terrain.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RaytraceBenchmark {
+
+    @Param({"8", "32"})
+    public int distance;
+
+    private BenchmarkWorld world;
+    private BlockPos[] linkStarts, linkEnds;
+    private RaytraceAssist[] links;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        BenchmarkWorld.bootstrap();
+        world = new BenchmarkWorld(0L);
+        Random rand = new Random(42L);
+        //Glass is passable for starlight, stone is not - only a few links end up obstructed.
+        for (int i = 0; i < 2000; i++) {
+            BlockPos pos = new BlockPos(rand.nextInt(128) - 64, 64 + rand.nextInt(32), rand.nextInt(128) - 64);
+            world.place(pos, rand.nextInt(4) == 0 ? Blocks.STONE.getDefaultState() : Blocks.GLASS.getDefaultState());
+        }
+        linkStarts = new BlockPos[256];
+        linkEnds = new BlockPos[256];
+        links = new RaytraceAssist[256];
+        for (int i = 0; i < links.length; i++) {
+            BlockPos from = new BlockPos(rand.nextInt(64) - 32, 64 + rand.nextInt(32), rand.nextInt(64) - 32);
+            BlockPos to = from.add(rand.nextInt(distance * 2 + 1) - distance, rand.nextInt(9) - 4, rand.nextInt(distance * 2 + 1) - distance);
+            linkStarts[i] = from;
+            linkEnds[i] = to;
+            links[i] = new RaytraceAssist(from, to);
+        }
+    }
+
+    //Rechecking an existing link, its path is already known.
+    @Benchmark
+    public boolean isClear() {
+        RaytraceAssist link = links[index];
+        index = (index + 1) % links.length;
+        return link.isClear(world);
+    }
+
+    //Checking a freshly created link, as it happens when linking.
+    @Benchmark
+    public boolean isClearNewLink() {
+        int i = index;
+        index = (index + 1) % links.length;
+        return new RaytraceAssist(linkStarts[i], linkEnds[i]).isClear(world);
+    }
+
+}
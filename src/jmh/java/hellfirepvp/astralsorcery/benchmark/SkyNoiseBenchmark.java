@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.benchmark;
+
+import hellfirepvp.astralsorcery.common.util.SkyCollectionHelper;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: SkyNoiseBenchmark
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 02:53
+ */
+//Sky noise lookups, as done for every collector crystal, well and altar while they're collecting starlight.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkyNoiseBenchmark {
+
+    private BenchmarkWorld world;
+    private BlockPos[] positions;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        BenchmarkWorld.bootstrap();
+        world = new BenchmarkWorld(1234L);
+        Random rand = new Random(42L);
+        positions = new BlockPos[1024];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new BlockPos(rand.nextInt(4096) - 2048, 64, rand.nextInt(4096) - 2048);
+        }
+    }
+
+    @Benchmark
+    public float getSkyNoiseDistribution() {
+        BlockPos pos = positions[index];
+        index = (index + 1) % positions.length;
+        return SkyCollectionHelper.getSkyNoiseDistribution(world, pos);
+    }
+
+    //The same position over and over, as a collector would ask every tick.
+    @Benchmark
+    public float getSkyNoiseDistributionSamePos() {
+        return SkyCollectionHelper.getSkyNoiseDistribution(world, positions[0]);
+    }
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.benchmark.BenchmarkWorld;
+import hellfirepvp.astralsorcery.common.data.world.data.LightNetworkBuffer;
+import hellfirepvp.astralsorcery.common.starlight.IStarlightTransmission;
+import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.starlight.transmission.base.SimplePrismTransmissionNode;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: TransmissionChainBenchmark
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 03:02
+ */
+//Building the chain of a source that feeds a binary tree of prisms.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransmissionChainBenchmark {
+
+    private static final BlockPos ROOT = new BlockPos(0, 128, 0);
+
+    @Param({"4", "8"})
+    public int depth;
+
+    private WorldNetworkHandler handler;
+
+    @Setup
+    public void setup() {
+        BenchmarkWorld.bootstrap();
+        BenchmarkWorld world = new BenchmarkWorld(0L);
+        LightNetworkBuffer buffer = new LightNetworkBuffer();
+        handler = buffer.getNetworkHandler(world);
+        addPrism(world, buffer, ROOT);
+        buildTree(world, buffer, ROOT, 1 << depth, depth);
+    }
+
+    //Leaves link to plain blocks, which end up as block endpoints of the chain.
+    private void buildTree(World world, LightNetworkBuffer buffer, BlockPos at, int spread, int levels) {
+        IPrismTransmissionNode node = handler.getTransmissionNode(at);
+        for (int side = -1; side <= 1; side += 2) {
+            BlockPos next = at.add(side * spread, -1, spread / 2);
+            if(levels > 1) {
+                addPrism(world, buffer, next);
+                buildTree(world, buffer, next, Math.max(1, spread / 2), levels - 1);
+            }
+            node.notifyLink(world, next);
+            IPrismTransmissionNode nextNode = handler.getTransmissionNode(next);
+            if(nextNode != null) {
+                nextNode.notifySourceLink(world, at);
+            }
+        }
+    }
+
+    private void addPrism(World world, LightNetworkBuffer buffer, BlockPos pos) {
+        buffer.addTransmission(new IStarlightTransmission() {
+            @Nonnull
+            @Override
+            public BlockPos getTrPos() {
+                return pos;
+            }
+
+            @Nonnull
+            @Override
+            public World getTrWorld() {
+                return world;
+            }
+
+            @Nonnull
+            @Override
+            public IPrismTransmissionNode provideTransmissionNode(BlockPos at) {
+                return new SimplePrismTransmissionNode(at);
+            }
+        }, pos);
+    }
+
+    @Benchmark
+    public TransmissionChain buildFromSource() {
+        return TransmissionChain.buildFromSource(handler, new TransmissionGraph().snapshotReachable(handler, ROOT, new HashSet<>()), ROOT);
+    }
+
+}
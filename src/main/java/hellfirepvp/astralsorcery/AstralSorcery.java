@@ -13,6 +13,7 @@ import hellfirepvp.astralsorcery.common.auxiliary.CelestialGatewaySystem;
 import hellfirepvp.astralsorcery.common.base.Mods;
 import hellfirepvp.astralsorcery.common.base.ShootingStarHandler;
 import hellfirepvp.astralsorcery.common.cmd.CommandAstralSorcery;
+import hellfirepvp.astralsorcery.common.constellation.effect.RitualScheduler;
 import hellfirepvp.astralsorcery.common.constellation.perk.PerkAttributeHelper;
 import hellfirepvp.astralsorcery.common.constellation.perk.PerkEffectHelper;
 import hellfirepvp.astralsorcery.common.constellation.perk.attribute.AttributeTypeRegistry;
@@ -26,6 +27,8 @@ import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
 import hellfirepvp.astralsorcery.common.event.ClientInitializedEvent;
 import hellfirepvp.astralsorcery.common.event.listener.EventHandlerEntity;
 import hellfirepvp.astralsorcery.common.integrations.mods.jei.util.JEISessionHandler;
+import hellfirepvp.astralsorcery.common.item.tool.sextant.SextantSearchService;
+import hellfirepvp.astralsorcery.common.starlight.network.StarlightNetworkExecutor;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightTransmissionHandler;
 import hellfirepvp.astralsorcery.common.util.PlayerActivityManager;
 import net.minecraft.launchwrapper.Launch;
@@ -138,6 +141,7 @@ public class AstralSorcery {
     public void onServerStopping(FMLServerStoppingEvent event) {
         ResearchManager.saveAndClearServerCache();
         StarlightTransmissionHandler.getInstance().serverCleanHandlers();
+        StarlightNetworkExecutor.getInstance().clear();
         PerkEffectHelper.perkCooldowns.clear();
         EventHandlerEntity.invulnerabilityCooldown.clear();
         EventHandlerEntity.ritualFlight.clear();
@@ -147,6 +151,8 @@ public class AstralSorcery {
         PerkAttributeHelper.clearServer();
         ShootingStarHandler.getInstance().clearServerCache();
         PlayerActivityManager.INSTANCE.clearCache(Side.SERVER);
+        SextantSearchService.getInstance().clear();
+        RitualScheduler.getInstance().clear();
     }
 
     @Mod.EventHandler
@@ -24,6 +24,7 @@ import hellfirepvp.astralsorcery.common.data.research.ResearchManager;
 import hellfirepvp.astralsorcery.common.item.tool.sextant.ItemSextant;
 import hellfirepvp.astralsorcery.common.item.tool.sextant.SextantFinder;
 import hellfirepvp.astralsorcery.common.network.PacketChannel;
+import hellfirepvp.astralsorcery.common.network.packet.client.PktCloseSextantSelector;
 import hellfirepvp.astralsorcery.common.network.packet.client.PktSetSextantTarget;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.data.Tuple;
@@ -173,6 +174,7 @@ public class GuiSextantSelector extends GuiWHScreen implements GuiSkyScreen {
     @Override
     public void onGuiClosed() {
         super.onGuiClosed();
+        PacketChannel.CHANNEL.sendToServer(new PktCloseSextantSelector());
 
         if (!Minecraft.IS_RUNNING_ON_MAC) {
             KeyBinding.updateKeyBindState();
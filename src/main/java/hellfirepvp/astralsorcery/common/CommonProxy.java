@@ -23,6 +23,7 @@ import hellfirepvp.astralsorcery.common.constellation.cape.CapeEffectRegistry;
 import hellfirepvp.astralsorcery.common.constellation.charge.PlayerChargeHandler;
 import hellfirepvp.astralsorcery.common.constellation.distribution.ConstellationSkyHandler;
 import hellfirepvp.astralsorcery.common.constellation.effect.ConstellationEffectRegistry;
+import hellfirepvp.astralsorcery.common.constellation.effect.RitualScheduler;
 import hellfirepvp.astralsorcery.common.constellation.perk.PerkEffectHelper;
 import hellfirepvp.astralsorcery.common.constellation.perk.PerkLevelManager;
 import hellfirepvp.astralsorcery.common.constellation.perk.attribute.AttributeTypeLimiter;
@@ -53,6 +54,8 @@ import hellfirepvp.astralsorcery.common.registry.*;
 import hellfirepvp.astralsorcery.common.registry.internal.InternalRegistryPrimer;
 import hellfirepvp.astralsorcery.common.registry.internal.PrimerEventHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightNetworkRegistry;
+import hellfirepvp.astralsorcery.common.starlight.network.StarlightNetworkChangeListener;
+import hellfirepvp.astralsorcery.common.starlight.network.StarlightNetworkExecutor;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightTransmissionHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightUpdateHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.TransmissionChunkTracker;
@@ -67,6 +70,7 @@ import hellfirepvp.astralsorcery.common.util.log.LogUtil;
 import hellfirepvp.astralsorcery.common.world.AstralWorldGenerator;
 import hellfirepvp.astralsorcery.common.world.retrogen.ChunkVersionController;
 import hellfirepvp.astralsorcery.common.world.retrogen.RetroGenController;
+import hellfirepvp.astralsorcery.common.world.util.BlockChangeDispatcher;
 import net.minecraft.block.Block;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.Item;
@@ -285,7 +289,12 @@ public class CommonProxy implements IGuiHandler {
         MinecraftForge.EVENT_BUS.register(PerkEffectHelper.EVENT_INSTANCE);
         MinecraftForge.EVENT_BUS.register(AttributeTypeLimiter.INSTANCE);
         MinecraftForge.EVENT_BUS.register(PlayerActivityManager.INSTANCE);
-        MinecraftForge.EVENT_BUS.register(StructureIntegrityObserver.INSTANCE);
+        MinecraftForge.EVENT_BUS.register(EntityQueryCache.INSTANCE);
+
+        BlockChangeDispatcher blockChanges = BlockChangeDispatcher.getInstance();
+        blockChanges.register(StarlightNetworkChangeListener.INSTANCE);
+        blockChanges.register(RockCrystalHandler.INSTANCE);
+        blockChanges.register(StructureIntegrityObserver.INSTANCE);
 
         GameRegistry.registerWorldGenerator(worldGenerator.setupAttributes(), 50);
         if(Config.enableRetroGen) {
@@ -305,6 +314,8 @@ public class CommonProxy implements IGuiHandler {
         manager.register(ConstellationSkyHandler.getInstance());
         manager.register(StarlightTransmissionHandler.getInstance());
         manager.register(StarlightUpdateHandler.getInstance());
+        manager.register(StarlightNetworkExecutor.getInstance());
+        manager.register(RitualScheduler.getInstance());
         manager.register(WorldCacheManager.getInstance());
         manager.register(new LinkHandler()); //Only used as PERK_TREE for tick handling
         manager.register(SyncDataHolder.getTickInstance());
@@ -331,6 +342,7 @@ public class CommonProxy implements IGuiHandler {
     public void postInit() {
         AltarRecipeEffectRecovery.attemptRecipeRecovery();
         RegistryPerks.postProcessPerks();
+        BlockChangeDispatcher.getInstance().collectBlockInterests();
 
         AstralSorcery.log.info("Post compile recipes");
 
@@ -9,8 +9,13 @@
 package hellfirepvp.astralsorcery.common.base;
 
 import hellfirepvp.astralsorcery.AstralSorcery;
+import hellfirepvp.astralsorcery.common.block.BlockCustomOre;
+import hellfirepvp.astralsorcery.common.lib.BlocksAS;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.nbt.NBTHelper;
+import hellfirepvp.astralsorcery.common.world.util.IBlockChangeListener;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.EnumFacing;
@@ -38,7 +43,7 @@ import java.util.concurrent.Callable;
  * Created by HellFirePvP
  * Date: 05.04.2019 / 19:12
  */
-public class RockCrystalHandler {
+public class RockCrystalHandler implements IBlockChangeListener {
 
     private static final ResourceLocation CAP_ROCKCRYSTAL_NAME = new ResourceLocation(AstralSorcery.MODID, "cap_chunk_rock_crystal_position");
     public static RockCrystalHandler INSTANCE = new RockCrystalHandler();
@@ -108,6 +113,19 @@ public class RockCrystalHandler {
         chunkEvent.addCapability(CAP_ROCKCRYSTAL_NAME, new RockCrystalPositionProvider());
     }
 
+    @Override
+    public void onBlockChange(World world, Chunk chunk, BlockPos pos, IBlockState oldState, IBlockState newState) {
+        if (oldState.getBlock() == BlocksAS.customOre &&
+                oldState.getValue(BlockCustomOre.ORE_TYPE).equals(BlockCustomOre.OreType.ROCK_CRYSTAL)) {
+            this.removeOre(chunk, pos);
+        }
+    }
+
+    @Override
+    public boolean watchesBlock(Block block) {
+        return block == BlocksAS.customOre;
+    }
+
     public static class RockCrystalPositions implements INBTSerializable<NBTTagCompound> {
 
         private Set<BlockPos> crystalPositions = new HashSet<>();
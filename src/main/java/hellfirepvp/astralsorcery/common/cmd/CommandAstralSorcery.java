@@ -12,6 +12,7 @@ import com.google.common.collect.Lists;
 import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.auxiliary.StarlightNetworkDebugHandler;
 import hellfirepvp.astralsorcery.common.constellation.*;
+import hellfirepvp.astralsorcery.common.constellation.effect.RitualScheduler;
 import hellfirepvp.astralsorcery.common.constellation.perk.AbstractPerk;
 import hellfirepvp.astralsorcery.common.data.research.PlayerProgress;
 import hellfirepvp.astralsorcery.common.data.research.ProgressionTier;
@@ -20,6 +21,7 @@ import hellfirepvp.astralsorcery.common.data.research.ResearchProgression;
 import hellfirepvp.astralsorcery.common.lib.MultiBlockArrays;
 import hellfirepvp.astralsorcery.common.migration.LegacyDataMigration;
 import hellfirepvp.astralsorcery.common.registry.RegistryStructures;
+import hellfirepvp.astralsorcery.common.starlight.network.StarlightNetworkExecutor;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.data.Tuple;
 import hellfirepvp.astralsorcery.common.structure.array.BlockArray;
@@ -58,6 +60,7 @@ public class CommandAstralSorcery extends CommandBase {
             "build",
             "maximize",
             "slnetwork",
+            "rituals",
             "migrate-data"
     };
 
@@ -165,7 +168,13 @@ public class CommandAstralSorcery extends CommandBase {
             } else if ("migrate-data".equalsIgnoreCase(identifier)) {
                 migrateAllLegacyData(sender);
             } else if ("slnetwork".equalsIgnoreCase(identifier)) {
-                tryEnterSLNetworkDebugMode(sender);
+                if (args.length == 2 && "stats".equalsIgnoreCase(args[1])) {
+                    showSLNetworkStats(sender);
+                } else {
+                    tryEnterSLNetworkDebugMode(sender);
+                }
+            } else if ("rituals".equalsIgnoreCase(identifier)) {
+                showRitualStats(sender);
             } else if ("constellation".equalsIgnoreCase(identifier) || "constellations".equalsIgnoreCase(identifier)) {
                 if (args.length == 1) {
                     listConstellations(sender);
@@ -231,6 +240,33 @@ public class CommandAstralSorcery extends CommandBase {
         sender.sendMessage(new TextComponentString("§aRightclick a block within 20 seconds to collect information about its starlight network activity."));
     }
 
+    private void showSLNetworkStats(ICommandSender sender) {
+        StarlightNetworkExecutor exec = StarlightNetworkExecutor.getInstance();
+        sender.sendMessage(new TextComponentString("§aStarlight network calculations:"));
+        sender.sendMessage(new TextComponentString("§7Queued: §c" + exec.getQueueDepth() + "§7 - Running: §c" + exec.getRunningTasks() + "§7 - Awaiting server thread: §c" + exec.getPendingCallbacks()));
+        sender.sendMessage(new TextComponentString("§7Completed: §c" + exec.getCompletedTasks() + "§7 - Merged into queued ones: §c" + exec.getCoalescedTasks()));
+        sender.sendMessage(new TextComponentString(String.format("§7Latency: §c%.2fms§7 average - §c%.2fms§7 max", exec.getAverageLatencyMs(), exec.getMaxLatencyMs())));
+    }
+
+    private void showRitualStats(ICommandSender sender) {
+        RitualScheduler scheduler = RitualScheduler.getInstance();
+        sender.sendMessage(new TextComponentString("§aRitual effect executions:"));
+        sender.sendMessage(new TextComponentString(String.format("§7Last tick: §c%d§7 executions in §c%.2fms§7 of §c%.2fms§7 budget - Pending: §c%d",
+                scheduler.getLastExecutions(), scheduler.getLastSpentNanos() / 1_000_000D, scheduler.getLastBudgetNanos() / 1_000_000D, scheduler.getPendingExecutions())));
+        List<RitualScheduler.RitualStatistics> statistics = scheduler.getStatistics();
+        for (int i = 0; i < Math.min(10, statistics.size()); i++) {
+            RitualScheduler.RitualStatistics ritual = statistics.get(i);
+            IConstellation cst = ritual.getConstellation();
+            BlockPos pos = ritual.getPos();
+            sender.sendMessage(new TextComponentString(String.format("§7%s §7at §c%d, %d, %d§7 (dim §c%d§7): §c%.2fms/s§7 - §c%.1f§7 executions/s - §c%d§7 pending",
+                    cst == null ? "§7-" : cst.getSimpleName(), pos.getX(), pos.getY(), pos.getZ(), ritual.getDimension(),
+                    ritual.getNanosPerSecond() / 1_000_000D, ritual.getExecutionsPerSecond(), ritual.getPending())));
+        }
+        if(statistics.size() > 10) {
+            sender.sendMessage(new TextComponentString("§7... and §c" + (statistics.size() - 10) + "§7 more"));
+        }
+    }
+
     private void attuneToConstellation(MinecraftServer server, ICommandSender sender, String otherPlayerName, String majorConstellationStr) {
         Tuple<EntityPlayerMP, PlayerProgress> prTuple = tryGetProgressWithMessages(server, sender, otherPlayerName);
         if (prTuple == null) {
@@ -499,6 +535,8 @@ public class CommandAstralSorcery extends CommandBase {
         sender.sendMessage(new TextComponentString("§a/astralsorcery exp [playerName] <exp>§7 - sets the perk exp for a player"));
         sender.sendMessage(new TextComponentString("§a/astralsorcery attune [playerName] <majorConstellationName>§7 - sets the attunement constellation for a player"));
         sender.sendMessage(new TextComponentString("§a/astralsorcery slnetwork§7 - Executing player enters StarlightNetwork debug mode for the next block"));
+        sender.sendMessage(new TextComponentString("§a/astralsorcery slnetwork stats§7 - displays queue and latency information of the StarlightNetwork calculations"));
+        sender.sendMessage(new TextComponentString("§a/astralsorcery rituals§7 - displays the time spent on ritual effects, for the most expensive rituals"));
     }
 
     private void listConstellations(ICommandSender sender) {
@@ -11,9 +11,7 @@ package hellfirepvp.astralsorcery.common.constellation;
 import hellfirepvp.astralsorcery.AstralSorcery;
 
 import javax.annotation.Nullable;
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -30,6 +28,7 @@ public class ConstellationRegistry {
     private static List<IConstellationSpecialShowup> specialShowupConstellations = new LinkedList<>();
 
     private static List<IConstellation> generalConstellationList = new LinkedList<>();
+    private static Map<String, IConstellation> constellationsByName = new HashMap<>();
 
     public static <T extends IConstellation> void registerConstellation(T constellation) {
         if(constellation instanceof IWeakConstellation) {
@@ -48,32 +47,22 @@ public class ConstellationRegistry {
             specialShowupConstellations.add((IConstellationSpecialShowup) constellation);
         }
         generalConstellationList.add(constellation);
+        constellationsByName.putIfAbsent(constellation.getUnlocalizedName(), constellation);
     }
 
     @Nullable
     public static IConstellation getConstellationByName(String name) {
         if(name == null) return null;
 
-        for(IConstellation c : majorConstellations) {
-            if(c.getUnlocalizedName().equals(name)) return c;
-        }
-        for(IConstellation c : weakConstellations) {
-            if(c.getUnlocalizedName().equals(name)) return c;
-        }
-        for(IConstellation c : minorConstellations) {
-            if(c.getUnlocalizedName().equals(name)) return c;
-        }
-        return null;
+        return constellationsByName.get(name);
     }
 
     @Nullable
     public static IMajorConstellation getMajorConstellationByName(String name) {
         if(name == null) return null;
 
-        for(IMajorConstellation c : majorConstellations) {
-            if(c.getUnlocalizedName().equals(name)) return c;
-        }
-        return null;
+        IConstellation c = constellationsByName.get(name);
+        return c instanceof IMajorConstellation ? (IMajorConstellation) c : null;
     }
 
     public static List<IConstellation> resolve(List<String> constellationsAsStrings) {
@@ -18,6 +18,7 @@ import hellfirepvp.astralsorcery.common.lib.Constellations;
 import hellfirepvp.astralsorcery.common.network.PacketChannel;
 import hellfirepvp.astralsorcery.common.network.packet.server.PktParticleEvent;
 import hellfirepvp.astralsorcery.common.util.DamageUtil;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
 import net.minecraft.block.Block;
@@ -168,7 +169,8 @@ public class CapeEffectEvorsio extends CapeArmorEffect {
             float damage = entityLiving.getMaxHealth() * percDamageAppliedNearby;
 
             float r = rangeDeathAOE;
-            List<EntityLivingBase> eList = entityLiving.world.getEntitiesWithinAABB(
+            List<EntityLivingBase> eList = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(
+                    entityLiving.world,
                     EntityLivingBase.class,
                     new AxisAlignedBB(-r, -r, -r, r, r, r).offset(entityLiving.getPosition()),
                     e -> e != null && !e.isDead && e.getHealth() > 0 && e.isCreatureType(EnumCreatureType.MONSTER, false));
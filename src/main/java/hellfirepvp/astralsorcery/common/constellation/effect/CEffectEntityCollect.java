@@ -11,6 +11,7 @@ package hellfirepvp.astralsorcery.common.constellation.effect;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Lists;
 import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.ILocatable;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.AxisAlignedBB;
@@ -46,7 +47,7 @@ public abstract class CEffectEntityCollect<T extends Entity> extends Constellati
 
     public List<T> collectEntities(World world, BlockPos pos, ConstellationEffectProperties prop) {
         if(!enabled) return Lists.newArrayList();
-        return world.getEntitiesWithinAABB(classToSearch, BOX.grow(prop.getSize()).offset(pos), searchFilter);
+        return EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, classToSearch, BOX.grow(prop.getSize()).offset(pos), searchFilter);
     }
 
     @Override
@@ -12,10 +12,15 @@ import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
 import hellfirepvp.astralsorcery.common.util.ILocatable;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.nbt.NBTHelper;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -32,16 +37,31 @@ import java.util.function.Function;
  */
 public abstract class CEffectPositionListGen<T extends CEffectPositionListGen.CEffectGenListEntry> extends ConstellationEffect {
 
+    //Positions (or skipped chunk sections) looked at per call to findNewPosition while sweeping the effect's cube.
+    private static final int SWEEP_CHECKS_PER_CALL = 32;
+    //Ticks to wait before sweeping the cube again after a full sweep that didn't find any new position.
+    private static final int SWEEP_COOLDOWN_TICKS = 200;
+
     protected final Function<BlockPos, T> elementProvider;
     protected final int maxCount;
     protected final Verifier verifier;
     private List<T> elements = new ArrayList<>();
+    //Packed position -> index in 'elements'
+    private Long2IntMap elementIndex = new Long2IntOpenHashMap();
+    private CubeSweep sweep = null;
 
     public CEffectPositionListGen(@Nullable ILocatable origin, IWeakConstellation constellation, String cfgName, int maxCount, Verifier verifier, Function<BlockPos, T> emptyElementProvider) {
         super(origin, constellation, cfgName);
         this.elementProvider = emptyElementProvider;
         this.maxCount = maxCount;
         this.verifier = verifier;
+        this.elementIndex.defaultReturnValue(-1);
+    }
+
+    //If true, findNewPosition walks through the effect's cube section by section, skipping unloaded and air-only sections.
+    //Effects that look for air, or rely on positions being picked in a random order, probe random positions instead.
+    protected boolean sweepForPositions() {
+        return true;
     }
 
     public int getElementCount() {
@@ -51,6 +71,8 @@ public abstract class CEffectPositionListGen<T extends CEffectPositionListGen.CE
     @Override
     public void clearCache() {
         this.elements.clear();
+        this.elementIndex.clear();
+        this.sweep = null;
     }
 
     //Returns only null if empty.
@@ -69,18 +91,38 @@ public abstract class CEffectPositionListGen<T extends CEffectPositionListGen.CE
     }
 
     public boolean removeElement(T element) {
-        return elements.remove(element);
+        long key = element.getPos().toLong();
+        int index = elementIndex.get(key);
+        if(index == -1 || !elements.get(index).equals(element)) {
+            return false;
+        }
+        elementIndex.remove(key);
+        T last = elements.remove(elements.size() - 1);
+        if(index < elements.size()) {
+            elements.set(index, last);
+            elementIndex.put(last.getPos().toLong(), index);
+        }
+        return true;
     }
 
     public boolean offerNewElement(T element) {
         if(maxCount <= elements.size()) return false;
-        if(containsElementAt(element.getPos())) return false;
+        return addElement(element);
+    }
+
+    private boolean addElement(T element) {
+        long key = element.getPos().toLong();
+        if(elementIndex.containsKey(key)) return false;
+        elementIndex.put(key, elements.size());
         return elements.add(element);
     }
 
     public boolean findNewPosition(World world, BlockPos pos, ConstellationEffectProperties prop) {
         if(maxCount > elements.size()) {
             double searchRange = prop.getSize();
+            if(sweepForPositions()) {
+                return sweepForNewPositions(world, pos, MathHelper.floor(searchRange));
+            }
             double offX = -searchRange + world.rand.nextFloat() * (2 * searchRange + 1);
             double offY = -searchRange + world.rand.nextFloat() * (2 * searchRange + 1);
             double offZ = -searchRange + world.rand.nextFloat() * (2 * searchRange + 1);
@@ -88,7 +130,7 @@ public abstract class CEffectPositionListGen<T extends CEffectPositionListGen.CE
             if(MiscUtils.isChunkLoaded(world, at) && verifier.isValid(world, at) && !containsElementAt(at)) {
                 T element = newElement(world, at);
                 if(element != null) {
-                    elements.add(element);
+                    addElement(element);
                 }
                 return true;
             }
@@ -107,7 +149,7 @@ public abstract class CEffectPositionListGen<T extends CEffectPositionListGen.CE
             if(MiscUtils.isChunkLoaded(world, at) && verifier.isValid(world, at) && !containsElementAt(at)) {
                 T element = newElement(world, at);
                 if(element != null) {
-                    elements.add(element);
+                    addElement(element);
                 }
                 return true;
             }
@@ -115,20 +157,46 @@ public abstract class CEffectPositionListGen<T extends CEffectPositionListGen.CE
         return false;
     }
 
+    private boolean sweepForNewPositions(World world, BlockPos center, int range) {
+        if(sweep == null || !sweep.covers(center, range)) {
+            sweep = new CubeSweep(center, range, world.rand);
+        }
+        if(sweep.isCoolingDown(world)) {
+            return false;
+        }
+        sweep.checkSection(world);
+        boolean found = false;
+        for (int i = 0; i < SWEEP_CHECKS_PER_CALL && maxCount > elements.size(); i++) {
+            if(!sweep.hasNextPosition()) {
+                if(!sweep.nextSection(world)) {
+                    break; //Cube is entirely outside of the world, or a fruitless sweep just ended.
+                }
+                continue;
+            }
+            BlockPos at = sweep.nextPosition();
+            if(!containsElementAt(at) && verifier.isValid(world, at)) {
+                T element = newElement(world, at);
+                if(element != null && addElement(element)) {
+                    sweep.foundInPass = true;
+                    found = true;
+                }
+            }
+        }
+        return found;
+    }
+
     public T newElement(World world, BlockPos at) {
         return elementProvider.apply(at);
     }
 
     private boolean containsElementAt(BlockPos pos) {
-        for (T e : elements) {
-            if(e.getPos().equals(pos)) return true;
-        }
-        return false;
+        return elementIndex.containsKey(pos.toLong());
     }
 
     @Override
     public void readFromNBT(NBTTagCompound cmp) {
         elements.clear();
+        elementIndex.clear();
         NBTTagList list = cmp.getTagList("positions", 10);
         for (int i = 0; i < list.tagCount(); i++) {
             NBTTagCompound tag = list.getCompoundTagAt(i);
@@ -136,7 +204,7 @@ public abstract class CEffectPositionListGen<T extends CEffectPositionListGen.CE
             T element = elementProvider.apply(pos);
             if(element != null) {
                 element.readFromNBT(tag);
-                elements.add(element);
+                addElement(element);
             }
         }
     }
@@ -153,6 +221,140 @@ public abstract class CEffectPositionListGen<T extends CEffectPositionListGen.CE
         cmp.setTag("positions", listPositions);
     }
 
+    //Walks through the chunk sections intersecting a cube, and through the positions within each section, both in a shuffled order.
+    //Unloaded and air-only sections are skipped as a whole. Once all sections have been visited, it starts over in a new order,
+    //unless that whole pass didn't find anything; then it waits SWEEP_COOLDOWN_TICKS first.
+    //The order is (offset + i * step) % count with a random 'step' coprime to the count, which visits everything exactly once.
+    private static class CubeSweep {
+
+        private final BlockPos center;
+        private final int range;
+        private final int minX, minY, minZ, maxX, maxY, maxZ;
+        private final int minSectionX, minSectionY, minSectionZ;
+        private final int sectionsX, sectionsZ;
+        private final long sectionCount;
+        private final Random rand;
+
+        private long sectionStep, sectionOffset, sectionsVisited;
+
+        private int sectionX, sectionZ;
+        private int sMinX, sMinY, sMinZ, sizeX, sizeZ;
+        private int positionCount, positionStep, positionOffset, positionsVisited;
+        private boolean inSection = false;
+        private boolean foundInPass = true;
+        private long cooldownUntil = 0;
+
+        private CubeSweep(BlockPos center, int range, Random rand) {
+            this.center = center;
+            this.range = range;
+            this.rand = rand;
+            this.minX = center.getX() - range;
+            this.minY = Math.max(0, center.getY() - range);
+            this.minZ = center.getZ() - range;
+            this.maxX = center.getX() + range;
+            this.maxY = Math.min(255, center.getY() + range);
+            this.maxZ = center.getZ() + range;
+            this.minSectionX = minX >> 4;
+            this.minSectionY = minY >> 4;
+            this.minSectionZ = minZ >> 4;
+            this.sectionsX = (maxX >> 4) - minSectionX + 1;
+            this.sectionsZ = (maxZ >> 4) - minSectionZ + 1;
+            int sectionsY = minY > maxY ? 0 : (maxY >> 4) - minSectionY + 1;
+            this.sectionCount = (long) sectionsX * sectionsY * sectionsZ;
+            this.sectionsVisited = sectionCount;
+        }
+
+        private boolean covers(BlockPos center, int range) {
+            return this.range == range && this.center.equals(center);
+        }
+
+        private boolean isCoolingDown(World world) {
+            return world.getTotalWorldTime() < cooldownUntil;
+        }
+
+        private boolean hasNextPosition() {
+            return inSection;
+        }
+
+        private BlockPos nextPosition() {
+            int index = (int) ((positionOffset + (long) positionsVisited * positionStep) % positionCount);
+            if(++positionsVisited >= positionCount) {
+                inSection = false;
+            }
+            return new BlockPos(
+                    sMinX + index % sizeX,
+                    sMinY + index / (sizeX * sizeZ),
+                    sMinZ + (index / sizeX) % sizeZ);
+        }
+
+        //Drops the section currently walked through if its chunk got unloaded in the meantime.
+        private void checkSection(World world) {
+            if(inSection && world.getChunkProvider().getLoadedChunk(sectionX, sectionZ) == null) {
+                inSection = false;
+            }
+        }
+
+        //Moves on to the next section. Returns false if the cube has no sections at all, or if a pass ended without finding anything.
+        private boolean nextSection(World world) {
+            if(sectionCount == 0) return false;
+            if(sectionsVisited >= sectionCount) {
+                if(!foundInPass) {
+                    foundInPass = true;
+                    cooldownUntil = world.getTotalWorldTime() + SWEEP_COOLDOWN_TICKS;
+                    return false;
+                }
+                foundInPass = false;
+                sectionsVisited = 0;
+                sectionOffset = (long) (rand.nextDouble() * sectionCount);
+                sectionStep = randomCoprime(sectionCount);
+            }
+            long index = (sectionOffset + sectionsVisited * sectionStep) % sectionCount;
+            sectionsVisited++;
+
+            int secX = minSectionX + (int) (index % sectionsX);
+            int secZ = minSectionZ + (int) ((index / sectionsX) % sectionsZ);
+            int secY = minSectionY + (int) (index / ((long) sectionsX * sectionsZ));
+
+            Chunk ch = world.getChunkProvider().getLoadedChunk(secX, secZ);
+            if(ch == null) return true;
+            ExtendedBlockStorage storage = ch.getBlockStorageArray()[secY];
+            if(storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty()) return true;
+
+            this.sectionX = secX;
+            this.sectionZ = secZ;
+            this.sMinX = Math.max(minX, secX << 4);
+            this.sMinY = Math.max(minY, secY << 4);
+            this.sMinZ = Math.max(minZ, secZ << 4);
+            this.sizeX = Math.min(maxX, (secX << 4) + 15) - sMinX + 1;
+            this.sizeZ = Math.min(maxZ, (secZ << 4) + 15) - sMinZ + 1;
+            int sizeY = Math.min(maxY, (secY << 4) + 15) - sMinY + 1;
+            this.positionCount = sizeX * sizeY * sizeZ;
+            this.positionOffset = rand.nextInt(positionCount);
+            this.positionStep = (int) randomCoprime(positionCount);
+            this.positionsVisited = 0;
+            this.inSection = true;
+            return true;
+        }
+
+        private long randomCoprime(long to) {
+            long step;
+            do {
+                step = 1 + (long) (rand.nextDouble() * to);
+            } while (gcd(step, to) != 1);
+            return step;
+        }
+
+        private static long gcd(long a, long b) {
+            while (b != 0) {
+                long t = a % b;
+                a = b;
+                b = t;
+            }
+            return a;
+        }
+
+    }
+
     public static interface Verifier {
 
         public boolean isValid(World world, BlockPos testPos);
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.constellation.effect;
+
+import hellfirepvp.astralsorcery.common.auxiliary.tick.ITickHandler;
+import hellfirepvp.astralsorcery.common.constellation.IConstellation;
+import hellfirepvp.astralsorcery.common.data.config.Config;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: RitualScheduler
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 14:41
+ */
+//Runs the effect executions rituals collected during the world ticks at the end of each server tick.
+//Rituals take turns executing one effect each until the tick's time budget is spent; whatever is left is carried over into the next ticks.
+//The budget is the configured one, reduced to whatever the server's average tick leaves of its 50ms, but never below a tenth of the configured one.
+//At least one execution happens every tick, and the ritual that didn't get its turn is first in line next tick.
+public class RitualScheduler implements ITickHandler {
+
+    private static final RitualScheduler instance = new RitualScheduler();
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    //Executions pending for a ritual are capped to that many ticks worth of what it schedules per tick.
+    private static final int MAX_BACKLOG_TICKS = 20;
+    //Rituals that didn't schedule anything for that many ticks are dropped, along with their pending executions.
+    private static final int STALE_TICKS = 5;
+    private static final int STATISTICS_WINDOW_TICKS = 100;
+
+    private final Map<ScheduledRitual, Entry> rituals = new IdentityHashMap<>();
+    private final Deque<Entry> turnOrder = new ArrayDeque<>();
+
+    private long tickCounter = 0;
+    private long lastBudgetNanos = 0, lastSpentNanos = 0;
+    private int lastExecutions = 0;
+
+    private RitualScheduler() {}
+
+    public static RitualScheduler getInstance() {
+        return instance;
+    }
+
+    public void schedule(World world, ScheduledRitual ritual, int executions) {
+        if(executions <= 0) return;
+
+        Entry entry = rituals.get(ritual);
+        if(entry == null) {
+            entry = new Entry(ritual);
+            rituals.put(ritual, entry);
+        }
+        entry.world = world;
+        entry.lastScheduled = tickCounter;
+        entry.pending = (int) Math.min((long) entry.pending + executions, (long) executions * MAX_BACKLOG_TICKS);
+        if(!entry.queued) {
+            entry.queued = true;
+            turnOrder.addLast(entry);
+        }
+    }
+
+    public void clear() {
+        rituals.clear();
+        turnOrder.clear();
+        lastBudgetNanos = 0;
+        lastSpentNanos = 0;
+        lastExecutions = 0;
+    }
+
+    @Override
+    public void tick(TickEvent.Type type, Object... context) {
+        tickCounter++;
+
+        long budget = getCurrentBudget();
+        long start = System.nanoTime();
+        long now = start;
+        int executions = 0;
+        while (!turnOrder.isEmpty() && (executions == 0 || now - start < budget)) {
+            Entry entry = turnOrder.pollFirst();
+            boolean valid = entry.ritual.runScheduledExecution(entry.world);
+            long end = System.nanoTime();
+            entry.windowNanos += end - now;
+            entry.windowExecutions++;
+            executions++;
+            now = end;
+
+            if(valid && --entry.pending > 0) {
+                turnOrder.addLast(entry);
+            } else {
+                entry.pending = 0;
+                entry.queued = false;
+            }
+        }
+        lastBudgetNanos = budget;
+        lastSpentNanos = now - start;
+        lastExecutions = executions;
+
+        boolean rollWindow = tickCounter % STATISTICS_WINDOW_TICKS == 0;
+        Iterator<Entry> iterator = rituals.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if(tickCounter - entry.lastScheduled > STALE_TICKS) {
+                if(entry.queued) {
+                    turnOrder.remove(entry);
+                }
+                iterator.remove();
+                continue;
+            }
+            if(rollWindow) {
+                entry.lastWindowNanos = entry.windowNanos;
+                entry.lastWindowExecutions = entry.windowExecutions;
+                entry.windowNanos = 0;
+                entry.windowExecutions = 0;
+            }
+        }
+    }
+
+    private long getCurrentBudget() {
+        long configured = (long) (Config.ritualTickBudgetMs * TimeUnit.MILLISECONDS.toNanos(1));
+        MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+        if(server == null) {
+            return configured;
+        }
+        long total = 0;
+        for (long tickTime : server.tickTimeArray) {
+            total += tickTime;
+        }
+        long headroom = TICK_NANOS - total / server.tickTimeArray.length;
+        return Math.min(configured, Math.max(configured / 10, headroom));
+    }
+
+    public List<RitualStatistics> getStatistics() {
+        List<RitualStatistics> out = new ArrayList<>(rituals.size());
+        for (Entry entry : rituals.values()) {
+            out.add(new RitualStatistics(entry));
+        }
+        out.sort(Comparator.comparingLong(RitualStatistics::getNanosPerSecond).reversed());
+        return out;
+    }
+
+    public long getLastBudgetNanos() {
+        return lastBudgetNanos;
+    }
+
+    public long getLastSpentNanos() {
+        return lastSpentNanos;
+    }
+
+    public int getLastExecutions() {
+        return lastExecutions;
+    }
+
+    public int getPendingExecutions() {
+        int pending = 0;
+        for (Entry entry : turnOrder) {
+            pending += entry.pending;
+        }
+        return pending;
+    }
+
+    @Override
+    public EnumSet<TickEvent.Type> getHandledTypes() {
+        return EnumSet.of(TickEvent.Type.SERVER);
+    }
+
+    @Override
+    public boolean canFire(TickEvent.Phase phase) {
+        return phase == TickEvent.Phase.END;
+    }
+
+    @Override
+    public String getName() {
+        return "Ritual Scheduler";
+    }
+
+    public static interface ScheduledRitual {
+
+        public BlockPos getLocationPos();
+
+        @Nullable
+        public IConstellation getRitualConstellation();
+
+        //Executes the ritual's effect once. Returning false drops all executions still pending for it.
+        public boolean runScheduledExecution(World world);
+
+    }
+
+    private static class Entry {
+
+        private final ScheduledRitual ritual;
+        private World world;
+        private long lastScheduled;
+        private int pending = 0;
+        private boolean queued = false;
+
+        private long windowNanos = 0, lastWindowNanos = 0;
+        private int windowExecutions = 0, lastWindowExecutions = 0;
+
+        private Entry(ScheduledRitual ritual) {
+            this.ritual = ritual;
+        }
+
+    }
+
+    public static class RitualStatistics {
+
+        private final int dimension;
+        private final BlockPos pos;
+        @Nullable
+        private final IConstellation constellation;
+        private final int pending;
+        private final long nanosPerSecond;
+        private final float executionsPerSecond;
+
+        private RitualStatistics(Entry entry) {
+            this.dimension = entry.world.provider.getDimension();
+            this.pos = entry.ritual.getLocationPos();
+            this.constellation = entry.ritual.getRitualConstellation();
+            this.pending = entry.pending;
+            float seconds = STATISTICS_WINDOW_TICKS / 20F;
+            this.nanosPerSecond = (long) (entry.lastWindowNanos / seconds);
+            this.executionsPerSecond = entry.lastWindowExecutions / seconds;
+        }
+
+        public int getDimension() {
+            return dimension;
+        }
+
+        public BlockPos getPos() {
+            return pos;
+        }
+
+        @Nullable
+        public IConstellation getConstellation() {
+            return constellation;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public long getNanosPerSecond() {
+            return nanosPerSecond;
+        }
+
+        public float getExecutionsPerSecond() {
+            return executionsPerSecond;
+        }
+
+    }
+
+}
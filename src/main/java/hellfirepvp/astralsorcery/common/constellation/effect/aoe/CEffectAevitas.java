@@ -19,6 +19,7 @@ import hellfirepvp.astralsorcery.common.network.packet.server.PktParticleEvent;
 import hellfirepvp.astralsorcery.common.registry.RegistryPotions;
 import hellfirepvp.astralsorcery.common.tile.TileRitualPedestal;
 import hellfirepvp.astralsorcery.common.util.CropHelper;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.ILocatable;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
@@ -111,7 +112,7 @@ public class CEffectAevitas extends CEffectPositionListGen<CropHelper.GrowablePl
         if(findNewPosition(world, pos, modified)) changed = true;
         if(findNewPosition(world, pos, modified)) changed = true;
 
-        List<EntityLivingBase> entities = world.getEntitiesWithinAABB(EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(searchRange));
+        List<EntityLivingBase> entities = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(searchRange));
         for (EntityLivingBase entity : entities) {
             if(!entity.isDead) {
                 if(modified.isCorrupted()) {
@@ -20,6 +20,7 @@ import hellfirepvp.astralsorcery.common.item.crystal.base.ItemTunedCrystalBase;
 import hellfirepvp.astralsorcery.common.lib.Constellations;
 import hellfirepvp.astralsorcery.common.registry.RegistryPotions;
 import hellfirepvp.astralsorcery.common.tile.TileRitualPedestal;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.ILocatable;
 import hellfirepvp.astralsorcery.common.util.data.TickTokenizedMap;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
@@ -84,7 +85,7 @@ public class CEffectArmara extends CEffectEntityCollect<EntityMob> {
                 return;
             }
         }
-        List<Entity> projectiles = world.getEntitiesWithinAABB(Entity.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(protectionRange));
+        List<Entity> projectiles = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, Entity.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(protectionRange));
         if(!projectiles.isEmpty()) {
             for (Entity e : projectiles) {
                 if(!e.isDead && !(e instanceof EntityTechnicalAmbient)) {
@@ -128,7 +129,7 @@ public class CEffectArmara extends CEffectEntityCollect<EntityMob> {
 
         boolean foundEntity = false;
         if(!modified.isCorrupted()) {
-            List<Entity> projectiles = world.getEntitiesWithinAABB(Entity.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(protectionRange));
+            List<Entity> projectiles = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, Entity.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(protectionRange));
             if(!projectiles.isEmpty()) {
                 for (Entity e : projectiles) {
                     if(!e.isDead && !(e instanceof EntityTechnicalAmbient)) {
@@ -149,7 +150,7 @@ public class CEffectArmara extends CEffectEntityCollect<EntityMob> {
                 }
             }
         }
-        List<EntityLivingBase> entities = world.getEntitiesWithinAABB(EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(protectionRange));
+        List<EntityLivingBase> entities = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(protectionRange));
         for (EntityLivingBase entity : entities) {
             if(!entity.isDead && (entity instanceof EntityMob || entity instanceof EntityPlayer)) {
                 if(modified.isCorrupted()) {
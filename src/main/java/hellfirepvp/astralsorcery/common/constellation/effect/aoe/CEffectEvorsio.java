@@ -94,6 +94,12 @@ public class CEffectEvorsio extends CEffectPositionListGen<BlockBreakAssist.Brea
         return true;
     }
 
+    @Override
+    protected boolean sweepForPositions() {
+        //Breaks whatever it finds right away; should keep doing that at random positions.
+        return false;
+    }
+
     @Override
     public BlockBreakAssist.BreakEntry newElement(World world, BlockPos at) {
         return new BlockBreakAssist.BreakEntry(0F, world, at, world.getBlockState(at));
@@ -19,6 +19,7 @@ import hellfirepvp.astralsorcery.common.constellation.effect.GenListEntries;
 import hellfirepvp.astralsorcery.common.lib.BlocksAS;
 import hellfirepvp.astralsorcery.common.lib.Constellations;
 import hellfirepvp.astralsorcery.common.tile.TileRitualPedestal;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.ILocatable;
 import hellfirepvp.astralsorcery.common.util.ItemUtils;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
@@ -85,7 +86,7 @@ public class CEffectMineralis extends CEffectPositionList {
 
         boolean changed = false;
         if(modified.isCorrupted()) {
-            List<EntityLivingBase> entities = world.getEntitiesWithinAABB(EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(modified.getSize()));
+            List<EntityLivingBase> entities = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(modified.getSize()));
             for (EntityLivingBase entity : entities) {
                 if(entity instanceof EntityFlying || entity.isDead) continue;
                 BlockPos center = entity.getPosition().down();
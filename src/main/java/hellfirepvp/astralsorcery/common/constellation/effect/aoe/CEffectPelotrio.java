@@ -21,6 +21,7 @@ import hellfirepvp.astralsorcery.common.network.PacketChannel;
 import hellfirepvp.astralsorcery.common.network.packet.server.PktParticleEvent;
 import hellfirepvp.astralsorcery.common.registry.RegistryPotions;
 import hellfirepvp.astralsorcery.common.tile.TileRitualPedestal;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.ILocatable;
 import hellfirepvp.astralsorcery.common.util.data.Tuple;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
@@ -76,6 +77,12 @@ public class CEffectPelotrio extends CEffectPositionListGen<GenListEntries.Pelot
                 (w, pos) -> GenListEntries.PelotrioSpawnListEntry.createEntry(w, pos) != null, GenListEntries.PelotrioSpawnListEntry::new);
     }
 
+    @Override
+    protected boolean sweepForPositions() {
+        //Spawn positions are mostly air, which sweeping skips.
+        return false;
+    }
+
     @Override
     public GenListEntries.PelotrioSpawnListEntry newElement(World world, BlockPos at) {
         return GenListEntries.PelotrioSpawnListEntry.createEntry(world, at);
@@ -107,7 +114,7 @@ public class CEffectPelotrio extends CEffectPositionListGen<GenListEntries.Pelot
 
         if(modified.isCorrupted()) {
             boolean did = false;
-            List<EntityLivingBase> entities = world.getEntitiesWithinAABB(EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 0, 0, 0).grow(modified.getSize()).offset(pos));
+            List<EntityLivingBase> entities = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 0, 0, 0).grow(modified.getSize()).offset(pos));
             for (EntityLivingBase e : entities) {
                 if(e != null && !e.isDead && rand.nextInt(350) == 0) {
                     e = trySwapEntity(world, e);
@@ -133,7 +140,7 @@ public class CEffectPelotrio extends CEffectPositionListGen<GenListEntries.Pelot
             }
         }
 
-        List<EntityLivingBase> entities = world.getEntitiesWithinAABB(EntityLivingBase.class, proximityCheckBox.offset(pos), e -> e != null && !e.isDead);
+        List<EntityLivingBase> entities = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, EntityLivingBase.class, proximityCheckBox.offset(pos), e -> e != null && !e.isDead);
         if(entities.size() > proximityAmount) {
             return false; //Flood & lag prevention.
         }
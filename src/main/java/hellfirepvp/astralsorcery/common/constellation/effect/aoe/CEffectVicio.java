@@ -17,6 +17,7 @@ import hellfirepvp.astralsorcery.common.constellation.effect.ConstellationEffect
 import hellfirepvp.astralsorcery.common.event.listener.EventHandlerEntity;
 import hellfirepvp.astralsorcery.common.lib.Constellations;
 import hellfirepvp.astralsorcery.common.tile.TileRitualPedestal;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.ILocatable;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
 import net.minecraft.entity.EntityLivingBase;
@@ -76,7 +77,7 @@ public class CEffectVicio extends ConstellationEffect implements ConstellationEf
         boolean foundPlayer = false;
         double range = modified.getSize();
         if(modified.isCorrupted()) {
-            List<EntityLivingBase> entities = world.getEntitiesWithinAABB(EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(range));
+            List<EntityLivingBase> entities = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, EntityLivingBase.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(range));
             for (EntityLivingBase entity : entities) {
                 if(entity instanceof EntityPlayerMP) {
                     EntityPlayerMP pl = (EntityPlayerMP) entity;
@@ -93,7 +94,7 @@ public class CEffectVicio extends ConstellationEffect implements ConstellationEf
                 entity.addPotionEffect(new PotionEffect(MobEffects.MINING_FATIGUE, 200, 9));
             }
         } else {
-            List<EntityPlayerMP> entities = world.getEntitiesWithinAABB(EntityPlayerMP.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(range));
+            List<EntityPlayerMP> entities = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(world, EntityPlayerMP.class, new AxisAlignedBB(0, 0, 0, 1, 1, 1).offset(pos).grow(range));
             for (EntityPlayerMP pl : entities) {
                 if (EventHandlerEntity.ritualFlight.setOrAddTimeout(40, pl)) {
                     boolean prev = pl.capabilities.allowFlying;
@@ -20,7 +20,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -31,11 +31,18 @@ import java.util.stream.Collectors;
  */
 public class PlayerAttributeMap {
 
+    private static final PerkAttributeModifier.Mode[] MODES = PerkAttributeModifier.Mode.values();
+    private static final List<PerkAttributeModifier.Mode> ALL_MODES = Collections.unmodifiableList(Arrays.asList(MODES));
+    private static final Map<Class<?>, Boolean> dynamicModifierClasses = new ConcurrentHashMap<>();
+
     private Side side;
     private Set<AbstractPerk> cacheAppliedPerks = new HashSet<>();
     private Map<PerkAttributeType, List<PerkAttributeModifier>> attributes = new HashMap<>();
     private List<PerkConverter> converters = new ArrayList<>();
 
+    //Modifiers grouped by mode and their folded values, built on demand and dropped when the modifiers change.
+    private Map<PerkAttributeType, ModifierGroup> modifierGroups = new HashMap<>();
+
     PlayerAttributeMap(Side side) {
         this.side = side;
     }
@@ -44,7 +51,7 @@ public class PlayerAttributeMap {
         PerkAttributeType attributeType = AttributeTypeRegistry.getType(type);
         if (attributeType == null) return false;
 
-        boolean noModifiers = getModifiersByType(attributeType, modifier.getMode()).isEmpty();
+        boolean noModifiers = !hasModifiers(attributeType, modifier.getMode());
         List<PerkAttributeModifier> modifiers = attributes.computeIfAbsent(attributeType, t -> Lists.newArrayList());
         if (modifiers.contains(modifier)) {
             return false;
@@ -54,6 +61,7 @@ public class PlayerAttributeMap {
         if (noModifiers) {
             attributeType.onModeApply(player, modifier.getMode(), side);
         }
+        invalidateGroup(attributeType);
         return modifiers.add(modifier);
     }
 
@@ -62,9 +70,10 @@ public class PlayerAttributeMap {
         if (attributeType == null) return false;
 
         if (attributes.computeIfAbsent(attributeType, t -> Lists.newArrayList()).remove(modifier)) {
+            invalidateGroup(attributeType);
             boolean completelyRemoved = attributes.get(attributeType).isEmpty();
             attributeType.onRemove(player, side, completelyRemoved);
-            if (getModifiersByType(attributeType, modifier.getMode()).isEmpty()) {
+            if (!hasModifiers(attributeType, modifier.getMode())) {
                 attributeType.onModeRemove(player, modifier.getMode(), side, completelyRemoved);
             }
             return true;
@@ -114,6 +123,7 @@ public class PlayerAttributeMap {
             return false;
         }
         if (converters.add(converter)) {
+            modifierGroups.clear();
             converter.onApply(player, side);
 
             LogCategory.PERKS.info(() -> "Added converter " + converter.getId());
@@ -128,6 +138,7 @@ public class PlayerAttributeMap {
         LogCategory.PERKS.info(() -> "Try removing converter " + converter.getId() + " on " + this.side.name());
 
         if (converters.remove(converter)) {
+            modifierGroups.clear();
             converter.onRemove(player, side);
 
             LogCategory.PERKS.info(() -> "Removed converter " + converter.getId());
@@ -154,46 +165,76 @@ public class PlayerAttributeMap {
         }
     }
 
-    private List<PerkAttributeModifier> getModifiersByType(PerkAttributeType type, PerkAttributeModifier.Mode mode) {
-        return attributes.computeIfAbsent(type, t -> Lists.newArrayList()).stream()
-                .filter(mod -> mod.getMode() == mode)
-                .collect(Collectors.toList());
+    private boolean hasModifiers(PerkAttributeType type, PerkAttributeModifier.Mode mode) {
+        List<PerkAttributeModifier> modifiers = attributes.get(type);
+        if (modifiers != null) {
+            for (PerkAttributeModifier modifier : modifiers) {
+                if (modifier.getMode() == mode) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void invalidateGroup(PerkAttributeType type) {
+        if (type.getTypeString().equals(AttributeTypeRegistry.ATTR_TYPE_INC_PERK_EFFECT)) {
+            modifierGroups.clear(); //Scales every other type
+        } else {
+            modifierGroups.remove(type);
+        }
+    }
+
+    private ModifierGroup getGroup(PerkAttributeType type) {
+        ModifierGroup group = modifierGroups.get(type);
+        if (group == null) {
+            group = new ModifierGroup(attributes.get(type));
+            modifierGroups.put(type, group);
+        }
+        return group;
+    }
+
+    private float getPerkEffectModifier(EntityPlayer player, PlayerProgress progress, String type) {
+        if (type.equals(AttributeTypeRegistry.ATTR_TYPE_INC_PERK_EFFECT)) {
+            return 1F;
+        }
+        return modifyValue(player, progress, AttributeTypeRegistry.ATTR_TYPE_INC_PERK_EFFECT, 1F);
     }
 
     public float getModifier(EntityPlayer player, PlayerProgress progress, String type) {
-        return getModifier(player, progress, type, Arrays.asList(PerkAttributeModifier.Mode.values()));
+        return getModifier(player, progress, type, ALL_MODES);
     }
 
     public float getModifier(EntityPlayer player, PlayerProgress progress, String type, PerkAttributeModifier.Mode mode) {
-        return getModifier(player, progress, type, Lists.newArrayList(mode));
+        return getModifier(player, progress, type,
+                mode == PerkAttributeModifier.Mode.ADDITION,
+                mode == PerkAttributeModifier.Mode.ADDED_MULTIPLY,
+                mode == PerkAttributeModifier.Mode.STACKING_MULTIPLY);
     }
 
     public float getModifier(EntityPlayer player, PlayerProgress progress, String type, Collection<PerkAttributeModifier.Mode> applicableModes) {
+        return getModifier(player, progress, type,
+                applicableModes.contains(PerkAttributeModifier.Mode.ADDITION),
+                applicableModes.contains(PerkAttributeModifier.Mode.ADDED_MULTIPLY),
+                applicableModes.contains(PerkAttributeModifier.Mode.STACKING_MULTIPLY));
+    }
+
+    private float getModifier(EntityPlayer player, PlayerProgress progress, String type, boolean addition, boolean addedMultiply, boolean stackingMultiply) {
         PerkAttributeType attributeType = AttributeTypeRegistry.getType(type);
         if (attributeType == null) return 1F;
 
-        float mod = 1F;
-
-        float perkEffectModifier = 1F;
-        if (!type.equals(AttributeTypeRegistry.ATTR_TYPE_INC_PERK_EFFECT)) {
-            perkEffectModifier = modifyValue(player, progress, AttributeTypeRegistry.ATTR_TYPE_INC_PERK_EFFECT, 1F);
-        }
+        ModifierGroup group = getGroup(attributeType);
+        group.fold(player, progress, getPerkEffectModifier(player, progress, type));
 
-        if (applicableModes.contains(PerkAttributeModifier.Mode.ADDITION)) {
-            for (PerkAttributeModifier modifier : getModifiersByType(attributeType, PerkAttributeModifier.Mode.ADDITION)) {
-                mod += (modifier.getValue(player, progress) * perkEffectModifier);
-            }
+        float mod = 1F;
+        if (addition) {
+            mod += group.addition;
         }
-        if (applicableModes.contains(PerkAttributeModifier.Mode.ADDED_MULTIPLY)) {
-            float multiply = mod;
-            for (PerkAttributeModifier modifier : getModifiersByType(attributeType, PerkAttributeModifier.Mode.ADDED_MULTIPLY)) {
-                mod += multiply * (modifier.getValue(player, progress) * perkEffectModifier);
-            }
+        if (addedMultiply) {
+            mod *= group.addedMultiply;
         }
-        if (applicableModes.contains(PerkAttributeModifier.Mode.STACKING_MULTIPLY)) {
-            for (PerkAttributeModifier modifier : getModifiersByType(attributeType, PerkAttributeModifier.Mode.STACKING_MULTIPLY)) {
-                mod *= ((modifier.getValue(player, progress) - 1F) * perkEffectModifier) + 1;
-            }
+        if (stackingMultiply) {
+            mod *= group.stackingMultiply;
         }
         return mod;
     }
@@ -202,22 +243,78 @@ public class PlayerAttributeMap {
         PerkAttributeType attributeType = AttributeTypeRegistry.getType(type);
         if (attributeType == null) return value;
 
-        float perkEffectModifier = 1F;
-        if (!type.equals(AttributeTypeRegistry.ATTR_TYPE_INC_PERK_EFFECT)) {
-            perkEffectModifier = modifyValue(player, progress, AttributeTypeRegistry.ATTR_TYPE_INC_PERK_EFFECT, 1F);
-        }
+        ModifierGroup group = getGroup(attributeType);
+        group.fold(player, progress, getPerkEffectModifier(player, progress, type));
+        return (value + group.addition) * group.addedMultiply * group.stackingMultiply;
+    }
 
-        for (PerkAttributeModifier mod : getModifiersByType(attributeType, PerkAttributeModifier.Mode.ADDITION)) {
-            value += (mod.getValue(player, progress) * perkEffectModifier);
+    //Modifiers that compute their value instead of just returning the flat one can change without being re-applied.
+    private static boolean isDynamic(PerkAttributeModifier modifier) {
+        Class<?> modifierClass = modifier.getClass();
+        Boolean dynamic = dynamicModifierClasses.get(modifierClass);
+        if (dynamic == null) {
+            try {
+                dynamic = modifierClass.getMethod("getValue", EntityPlayer.class, PlayerProgress.class).getDeclaringClass() != PerkAttributeModifier.class;
+            } catch (NoSuchMethodException e) {
+                dynamic = true;
+            }
+            dynamicModifierClasses.put(modifierClass, dynamic);
         }
-        float multiply = value;
-        for (PerkAttributeModifier mod : getModifiersByType(attributeType, PerkAttributeModifier.Mode.ADDED_MULTIPLY)) {
-            value += multiply * (mod.getValue(player, progress) * perkEffectModifier);
+        return dynamic;
+    }
+
+    //The modifiers of one type reduce to: value' = (value + addition) * addedMultiply * stackingMultiply
+    private static class ModifierGroup {
+
+        private final PerkAttributeModifier[][] modifiers = new PerkAttributeModifier[MODES.length][];
+        private final boolean dynamic;
+
+        private boolean folded = false;
+        private float foldedPerkEffect;
+        private float addition, addedMultiply, stackingMultiply;
+
+        private ModifierGroup(@Nullable List<PerkAttributeModifier> applied) {
+            boolean dynamic = false;
+            for (PerkAttributeModifier.Mode mode : MODES) {
+                List<PerkAttributeModifier> ofMode = new ArrayList<>();
+                if (applied != null) {
+                    for (PerkAttributeModifier modifier : applied) {
+                        if (modifier.getMode() == mode) {
+                            ofMode.add(modifier);
+                            dynamic |= isDynamic(modifier);
+                        }
+                    }
+                }
+                this.modifiers[mode.ordinal()] = ofMode.toArray(new PerkAttributeModifier[ofMode.size()]);
+            }
+            this.dynamic = dynamic;
         }
-        for (PerkAttributeModifier mod : getModifiersByType(attributeType, PerkAttributeModifier.Mode.STACKING_MULTIPLY)) {
-            value *= ((mod.getValue(player, progress) - 1F) * perkEffectModifier) + 1F;
+
+        private void fold(EntityPlayer player, PlayerProgress progress, float perkEffect) {
+            if (folded && !dynamic && foldedPerkEffect == perkEffect) {
+                return;
+            }
+
+            float addition = 0F;
+            for (PerkAttributeModifier mod : modifiers[PerkAttributeModifier.Mode.ADDITION.ordinal()]) {
+                addition += mod.getValue(player, progress) * perkEffect;
+            }
+            float addedMultiply = 1F;
+            for (PerkAttributeModifier mod : modifiers[PerkAttributeModifier.Mode.ADDED_MULTIPLY.ordinal()]) {
+                addedMultiply += mod.getValue(player, progress) * perkEffect;
+            }
+            float stackingMultiply = 1F;
+            for (PerkAttributeModifier mod : modifiers[PerkAttributeModifier.Mode.STACKING_MULTIPLY.ordinal()]) {
+                stackingMultiply *= ((mod.getValue(player, progress) - 1F) * perkEffect) + 1F;
+            }
+
+            this.addition = addition;
+            this.addedMultiply = addedMultiply;
+            this.stackingMultiply = stackingMultiply;
+            this.foldedPerkEffect = perkEffect;
+            this.folded = true;
         }
-        return value;
+
     }
 
 }
@@ -13,6 +13,7 @@ import hellfirepvp.astralsorcery.common.constellation.perk.attribute.AttributeTy
 import hellfirepvp.astralsorcery.common.data.research.PlayerProgress;
 import hellfirepvp.astralsorcery.common.data.research.ResearchManager;
 import hellfirepvp.astralsorcery.common.util.DamageUtil;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.EntityLivingBase;
@@ -62,7 +63,7 @@ public class KeyAreaOfEffect extends KeyAddEnchantment {
                     float toApply = event.getAmount() * sweepPerc;
                     inSweepAttack = true;
                     try {
-                        for (EntityLivingBase target : attacked.getEntityWorld().getEntitiesWithinAABB(EntityLivingBase.class,
+                        for (EntityLivingBase target : EntityQueryCache.INSTANCE.getEntitiesWithinAABB(attacked.getEntityWorld(), EntityLivingBase.class,
                                 attacked.getEntityBoundingBox().grow(1, 0.25, 1))) {
                             if (MiscUtils.canPlayerAttackServer(player, target)) {
                                 DamageUtil.attackEntityFrom(target, source, toApply);
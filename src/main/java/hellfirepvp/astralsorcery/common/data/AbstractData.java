@@ -40,10 +40,6 @@ public abstract class AbstractData {
         return providerId;
     }
 
-    public abstract void writeAllDataToPacket(NBTTagCompound compound);
-
-    public abstract void writeToPacket(NBTTagCompound compound);
-
     public abstract void readRawFromPacket(NBTTagCompound compound);
 
     public abstract void handleIncomingData(AbstractData serverData);
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.util.Collection;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: AbstractDimensionalData
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 01:21
+ */
+//Data that is kept per dimension. Players only receive the data of the dimension they're in
+//and get a full sync of their new dimension when they change dimensions.
+public abstract class AbstractDimensionalData extends AbstractData {
+
+    public static final byte FLAG_CLEAR = 1; //Drop the data of that dimension before applying the section.
+    public static final byte FLAG_EXCLUSIVE = 2; //Drop the data of all other dimensions.
+
+    //Takes all changes made since the last call and returns the dimensions that have any.
+    //writeToPacket(dimId, compound) writes those changes until the next call.
+    public abstract Collection<Integer> collectChanges();
+
+    public abstract void writeAllDataToPacket(int dimId, NBTTagCompound compound);
+
+    public abstract void writeToPacket(int dimId, NBTTagCompound compound);
+
+}
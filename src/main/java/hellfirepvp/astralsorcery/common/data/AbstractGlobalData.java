@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: AbstractGlobalData
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 15:34
+ */
+//Data that is the same for every player, no matter which dimension they're in.
+public abstract class AbstractGlobalData extends AbstractData {
+
+    public abstract void writeAllDataToPacket(NBTTagCompound compound);
+
+    public abstract void writeToPacket(NBTTagCompound compound);
+
+}
@@ -26,7 +26,7 @@ import java.util.*;
  * Created by HellFirePvP
  * Date: 09.05.2016 / 21:46
  */
-public class DataActiveCelestials extends AbstractData {
+public class DataActiveCelestials extends AbstractGlobalData {
 
     private Map<Integer, List<IConstellation>> activeConstellations = new HashMap<>();
     private List<Integer> updateRequested = new LinkedList<>();
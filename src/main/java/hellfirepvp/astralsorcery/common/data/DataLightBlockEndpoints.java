@@ -8,17 +8,15 @@
 
 package hellfirepvp.astralsorcery.common.data;
 
-import hellfirepvp.astralsorcery.common.util.data.Tuple;
+import hellfirepvp.astralsorcery.common.util.data.PositionDeltaCodec;
+import io.netty.buffer.Unpooled;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagList;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -27,88 +25,67 @@ import java.util.Map;
  * Created by HellFirePvP
  * Date: 10.08.2016 / 18:30
  */
-public class DataLightBlockEndpoints extends AbstractData {
+public class DataLightBlockEndpoints extends AbstractDimensionalData {
 
-    private Map<Integer, List<BlockPos>> clientPositions = new HashMap<>();
-    private Map<Integer, List<BlockPos>> serverPositions = new HashMap<>();
+    private Map<Integer, Set<BlockPos>> clientPositions = new HashMap<>();
+    //Multiple chains can resolve the same position, it's kept until all of them dropped it again.
+    private Map<Integer, Map<BlockPos, Integer>> serverPositions = new HashMap<>();
 
-    private Map<Integer, LinkedList<Tuple<BlockPos, Boolean>>> serverChangeBuffer = new HashMap<>();
+    private Map<Integer, SyncChangeBuffer<BlockPos>> serverChangeBuffer = new HashMap<>();
+    private Map<Integer, byte[]> serverOutgoingChanges = new HashMap<>();
 
     private final Object lock = new Object();
 
     private NBTTagCompound clientReadBuffer = new NBTTagCompound();
 
     public void updateNewEndpoint(int dimId, BlockPos pos) {
-        synchronized (lock) {
-            LinkedList<Tuple<BlockPos, Boolean>> list = serverChangeBuffer.get(dimId);
-            if(list == null) {
-                list = new LinkedList<>();
-                serverChangeBuffer.put(dimId, list);
-            }
-            list.add(new Tuple<>(pos, true));
-
-            List<BlockPos> posBuffer = serverPositions.get(dimId);
-            if(posBuffer == null) {
-                posBuffer = new LinkedList<>();
-                serverPositions.put(dimId, posBuffer);
-            }
-            posBuffer.add(pos);
-        }
-        markDirty();
+        updateNewEndpoints(dimId, Collections.singletonList(pos));
     }
 
-    public void updateNewEndpoints(int dimId, List<BlockPos> newPositions) {
+    public void updateNewEndpoints(int dimId, Collection<BlockPos> newPositions) {
         synchronized (lock) {
-            LinkedList<Tuple<BlockPos, Boolean>> list = serverChangeBuffer.get(dimId);
-            if(list == null) {
-                list = new LinkedList<>();
-                serverChangeBuffer.put(dimId, list);
-            }
+            Map<BlockPos, Integer> posBuffer = serverPositions.computeIfAbsent(dimId, id -> new HashMap<>());
+            SyncChangeBuffer<BlockPos> changes = getChangeBuffer(dimId);
             for (BlockPos pos : newPositions) {
-                list.add(new Tuple<>(pos, true));
-            }
-
-            List<BlockPos> posBuffer = serverPositions.get(dimId);
-            if(posBuffer == null) {
-                posBuffer = new LinkedList<>();
-                serverPositions.put(dimId, posBuffer);
+                if(posBuffer.merge(pos, 1, Integer::sum) == 1) {
+                    changes.add(pos);
+                }
             }
-            posBuffer.addAll(newPositions);
         }
         markDirty();
     }
 
-    public void removeEndpoints(int dimId, List<BlockPos> positions) {
+    public void removeEndpoints(int dimId, Collection<BlockPos> positions) {
         synchronized (lock) {
-            LinkedList<Tuple<BlockPos, Boolean>> list = serverChangeBuffer.get(dimId);
-            if(list == null) {
-                list = new LinkedList<>();
-                serverChangeBuffer.put(dimId, list);
-            }
+            Map<BlockPos, Integer> posBuffer = serverPositions.get(dimId);
+            if(posBuffer == null) return;
+            SyncChangeBuffer<BlockPos> changes = getChangeBuffer(dimId);
             for (BlockPos pos : positions) {
-                list.add(new Tuple<>(pos, false));
-            }
-
-            List<BlockPos> posBuffer = serverPositions.get(dimId);
-            if(posBuffer == null) {
-                posBuffer = new LinkedList<>();
-                serverPositions.put(dimId, posBuffer);
+                Integer count = posBuffer.get(pos);
+                if(count == null) continue;
+                if(count > 1) {
+                    posBuffer.put(pos, count - 1);
+                } else {
+                    posBuffer.remove(pos);
+                    changes.remove(pos);
+                }
             }
-            posBuffer.removeAll(positions);
         }
         markDirty();
     }
 
     public void clearDimensionEndpoints(int dimId) {
-        serverPositions.remove(dimId);
         synchronized (lock) {
-            serverChangeBuffer.remove(dimId);
-            serverChangeBuffer.put(dimId, new LinkedList<>());
-            serverChangeBuffer.get(dimId).add(new Tuple<>(null, false));
+            serverPositions.remove(dimId);
+            getChangeBuffer(dimId).clear();
         }
         markDirty();
     }
 
+    private SyncChangeBuffer<BlockPos> getChangeBuffer(int dimId) {
+        return serverChangeBuffer.computeIfAbsent(dimId, id -> new SyncChangeBuffer<>());
+    }
+
     public boolean doesPositionReceiveStarlightClient(World world, BlockPos pos) {
         int dim = world.provider.getDimension();
         return clientPositions.containsKey(dim) && clientPositions.get(dim).contains(pos);
@@ -116,7 +93,9 @@ public class DataLightBlockEndpoints extends AbstractData {
 
     public boolean doesPositionReceiveStarlightServer(World world, BlockPos pos) {
         int dim = world.provider.getDimension();
-        return serverPositions.containsKey(dim) && serverPositions.get(dim).contains(pos);
+        synchronized (lock) {
+            return serverPositions.containsKey(dim) && serverPositions.get(dim).containsKey(pos);
+        }
     }
 
     public void clientClean() {
@@ -124,50 +103,52 @@ public class DataLightBlockEndpoints extends AbstractData {
     }
 
     @Override
-    public void writeAllDataToPacket(NBTTagCompound compound) {
-        for (int dimId : serverPositions.keySet()) {
-            List<BlockPos> dat = serverPositions.get(dimId);
-            NBTTagList dataList = new NBTTagList();
-            for (BlockPos pos : dat) {
-                NBTTagCompound cmp = new NBTTagCompound();
-                cmp.setLong("pos", pos.toLong());
-                cmp.setBoolean("s", true);
-                dataList.appendTag(cmp);
+    public Collection<Integer> collectChanges() {
+        synchronized (lock) {
+            serverOutgoingChanges.clear();
+            for (Map.Entry<Integer, SyncChangeBuffer<BlockPos>> entry : serverChangeBuffer.entrySet()) {
+                SyncChangeBuffer<BlockPos> changes = entry.getValue();
+                if(!changes.isEmpty()) {
+                    serverOutgoingChanges.put(entry.getKey(),
+                            writeSection(changes.isCleared() ? FLAG_CLEAR : 0, changes.getRemoved(), changes.getAdded()));
+                }
             }
+            serverChangeBuffer.clear();
+            return new ArrayList<>(serverOutgoingChanges.keySet());
+        }
+    }
 
-            compound.setTag("" + dimId, dataList);
+    @Override
+    public void writeAllDataToPacket(int dimId, NBTTagCompound compound) {
+        List<BlockPos> positions;
+        synchronized (lock) {
+            Map<BlockPos, Integer> dat = serverPositions.get(dimId);
+            positions = dat == null ? Collections.emptyList() : new ArrayList<>(dat.keySet());
         }
+        compound.setByteArray(String.valueOf(dimId), writeSection((byte) (FLAG_CLEAR | FLAG_EXCLUSIVE), Collections.emptyList(), positions));
     }
 
     @Override
-    public void writeToPacket(NBTTagCompound compound) {
+    public void writeToPacket(int dimId, NBTTagCompound compound) {
         synchronized (lock) {
-            for (int dimId : serverChangeBuffer.keySet()) {
-                LinkedList<Tuple<BlockPos, Boolean>> changes = serverChangeBuffer.get(dimId);
-                if(!changes.isEmpty()) {
-                    NBTTagList list = new NBTTagList();
-                    for (Tuple<BlockPos, Boolean> tpl : changes) {
-                        if(tpl.key == null) {
-                            list = new NBTTagList();
-                            NBTTagCompound cm = new NBTTagCompound();
-                            cm.setBoolean("clear", true);
-                            list.appendTag(cm);
-                            break;
-                        }
-
-                        NBTTagCompound cmp = new NBTTagCompound();
-                        cmp.setLong("pos", tpl.key.toLong());
-                        cmp.setBoolean("s", tpl.value);
-                        list.appendTag(cmp);
-                    }
-
-                    compound.setTag("" + dimId, list);
-                }
+            byte[] section = serverOutgoingChanges.get(dimId);
+            if(section != null) {
+                compound.setByteArray(String.valueOf(dimId), section);
             }
-            serverChangeBuffer.clear();
         }
     }
 
+    //Section per dimension: flags, removed positions, added positions
+    private static byte[] writeSection(byte flags, Collection<BlockPos> removed, Collection<BlockPos> added) {
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        buf.writeByte(flags);
+        PositionDeltaCodec.writePositions(buf, removed);
+        PositionDeltaCodec.writePositions(buf, added);
+        byte[] out = new byte[buf.readableBytes()];
+        buf.readBytes(out);
+        return out;
+    }
+
     @Override
     public void readRawFromPacket(NBTTagCompound compound) {
         this.clientReadBuffer = compound;
@@ -177,29 +158,25 @@ public class DataLightBlockEndpoints extends AbstractData {
     public void handleIncomingData(AbstractData serverData) {
         if(!(serverData instanceof DataLightBlockEndpoints)) return;
 
-        for (String dimStr : ((DataLightBlockEndpoints) serverData).clientReadBuffer.getKeySet()) {
+        NBTTagCompound readBuffer = ((DataLightBlockEndpoints) serverData).clientReadBuffer;
+        for (String dimStr : readBuffer.getKeySet()) {
             int dimId = Integer.parseInt(dimStr);
-            NBTTagList list = ((DataLightBlockEndpoints) serverData).clientReadBuffer.getTagList(dimStr, 10);
-            List<BlockPos> positions = clientPositions.get(dimId);
-            if(positions == null) {
-                positions = new LinkedList<>();
-                clientPositions.put(dimId, positions);
+            PacketBuffer buf = new PacketBuffer(Unpooled.wrappedBuffer(readBuffer.getByteArray(dimStr)));
+            byte flags = buf.readByte();
+            if((flags & FLAG_EXCLUSIVE) != 0) {
+                clientPositions.keySet().removeIf(dim -> dim != dimId);
+            }
+            if((flags & FLAG_CLEAR) != 0) {
+                clientPositions.remove(dimId);
             }
-            for (int i = 0; i < list.tagCount(); i++) {
-                NBTTagCompound connection = list.getCompoundTagAt(i);
-                if(connection.hasKey("clear")) {
-                    clientPositions.remove(dimId);
-                    break;
-                }
 
-                BlockPos position = BlockPos.fromLong(connection.getLong("pos"));
-                boolean set = connection.getBoolean("s");
-                if(set) {
-                    positions.add(position);
-                } else {
-                    positions.remove(position);
-                }
+            Set<BlockPos> positions = clientPositions.get(dimId);
+            if(positions == null) {
+                positions = new HashSet<>();
+                clientPositions.put(dimId, positions);
             }
+            positions.removeAll(PositionDeltaCodec.readPositions(buf));
+            positions.addAll(PositionDeltaCodec.readPositions(buf));
             if(positions.isEmpty()) {
                 clientPositions.remove(dimId);
             }
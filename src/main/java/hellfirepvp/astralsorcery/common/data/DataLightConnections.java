@@ -9,17 +9,16 @@
 package hellfirepvp.astralsorcery.common.data;
 
 import hellfirepvp.astralsorcery.common.starlight.network.TransmissionChain;
+import hellfirepvp.astralsorcery.common.util.data.PositionDeltaCodec;
 import hellfirepvp.astralsorcery.common.util.data.Tuple;
+import io.netty.buffer.Unpooled;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagList;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.relauncher.Side;
 
 import javax.annotation.Nullable;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -29,7 +28,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * Created by HellFirePvP
  * Date: 05.08.2016 / 20:14
  */
-public class DataLightConnections extends AbstractData {
+public class DataLightConnections extends AbstractDimensionalData {
 
     private final Object lock = new Object();
 
@@ -37,95 +36,63 @@ public class DataLightConnections extends AbstractData {
     private Map<Integer, Map<BlockPos, List<BlockPos>>> clientPosBuffer = new ConcurrentHashMap<>();
     private Map<Integer, Map<BlockPos, List<BlockPos>>> serverPosBuffer = new HashMap<>();
 
-    //Boolean flag: true=addition, false=removal
-    private Map<Integer, LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>>> serverChangeBuffer = new HashMap<>();
+    private Map<Integer, SyncChangeBuffer<Tuple<BlockPos, BlockPos>>> serverChangeBuffer = new HashMap<>();
+    private Map<Integer, byte[]> serverOutgoingChanges = new HashMap<>();
 
     private NBTTagCompound clientReadBuffer = new NBTTagCompound();
 
-    public void updateNewConnectionsThreaded(int dimensionId, List<TransmissionChain.LightConnection> newlyAddedConnections) {
-        Map<BlockPos, List<BlockPos>> posBufferDim = serverPosBuffer.get(dimensionId);
-        if(posBufferDim == null) {
-            posBufferDim = new HashMap<>();
-            serverPosBuffer.put(dimensionId, posBufferDim);
-        }
-        for (TransmissionChain.LightConnection c : newlyAddedConnections) {
-            BlockPos start = c.getStart();
-            BlockPos end = c.getEnd();
-            List<BlockPos> endpoints = posBufferDim.get(start);
-            if(endpoints == null) {
-                endpoints = new LinkedList<>();
-                posBufferDim.put(start, endpoints);
+    public void updateNewConnectionsThreaded(int dimensionId, Collection<TransmissionChain.LightConnection> newlyAddedConnections) {
+        synchronized (lock) {
+            Map<BlockPos, List<BlockPos>> posBufferDim = serverPosBuffer.computeIfAbsent(dimensionId, id -> new HashMap<>());
+            SyncChangeBuffer<Tuple<BlockPos, BlockPos>> changes = getChangeBuffer(dimensionId);
+            for (TransmissionChain.LightConnection c : newlyAddedConnections) {
+                BlockPos start = c.getStart();
+                BlockPos end = c.getEnd();
+                List<BlockPos> endpoints = posBufferDim.computeIfAbsent(start, pos -> new LinkedList<>());
+                if(!endpoints.contains(end)) {
+                    endpoints.add(end);
+                    changes.add(new Tuple<>(start, end));
+                }
             }
-            if(!endpoints.contains(end)) endpoints.add(end);
         }
-        notifyConnectionAdd(dimensionId, newlyAddedConnections);
         if(newlyAddedConnections.size() > 0) {
             markDirty();
         }
     }
 
-    public void removeOldConnectionsThreaded(int dimensionId, List<TransmissionChain.LightConnection> invalidConnections) {
-        Map<BlockPos, List<BlockPos>> posBufferDim = serverPosBuffer.get(dimensionId);
-        if(posBufferDim != null) {
-            for (TransmissionChain.LightConnection c : invalidConnections) {
-                BlockPos start = c.getStart();
-                List<BlockPos> ends = posBufferDim.get(start);
-                if(ends == null) continue;
-                if(ends.contains(c.getEnd())) {
-                    ends.remove(c.getEnd());
+    public void removeOldConnectionsThreaded(int dimensionId, Collection<TransmissionChain.LightConnection> invalidConnections) {
+        synchronized (lock) {
+            Map<BlockPos, List<BlockPos>> posBufferDim = serverPosBuffer.get(dimensionId);
+            if(posBufferDim != null) {
+                SyncChangeBuffer<Tuple<BlockPos, BlockPos>> changes = getChangeBuffer(dimensionId);
+                for (TransmissionChain.LightConnection c : invalidConnections) {
+                    BlockPos start = c.getStart();
+                    List<BlockPos> ends = posBufferDim.get(start);
+                    if(ends == null) continue;
+                    if(ends.remove(c.getEnd())) {
+                        changes.remove(new Tuple<>(start, c.getEnd()));
+                    }
+                    if(ends.isEmpty()) posBufferDim.remove(start);
                 }
-                if(ends.isEmpty()) posBufferDim.remove(start);
             }
         }
-        notifyConnectionRemoval(dimensionId, invalidConnections);
         if(invalidConnections.size() > 0) {
             markDirty();
         }
     }
 
     public void clearDimensionPositions(int dimId) {
-        if(serverPosBuffer.remove(dimId) != null) {
-            setDimClearFlag(dimId);
-            markDirty();
-        }
-    }
-
-    private void setDimClearFlag(int dim) {
-        synchronized (lock) {
-            LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>> ch = serverChangeBuffer.get(dim);
-            if(ch == null) {
-                ch = new LinkedList<>();
-                serverChangeBuffer.put(dim, ch);
-            }
-            ch.clear();
-            ch.add(new Tuple<>(null, false)); //null, false -> clear
-        }
-    }
-
-    private void notifyConnectionAdd(int dimid, List<TransmissionChain.LightConnection> added) {
         synchronized (lock) {
-            LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>> ch = serverChangeBuffer.get(dimid);
-            if(ch == null) {
-                ch = new LinkedList<>();
-                serverChangeBuffer.put(dimid, ch);
-            }
-            for (TransmissionChain.LightConnection l : added) {
-                ch.add(new Tuple<>(l, true));
+            if(serverPosBuffer.remove(dimId) == null) {
+                return;
             }
+            getChangeBuffer(dimId).clear();
         }
+        markDirty();
     }
 
-    private void notifyConnectionRemoval(int dimid, List<TransmissionChain.LightConnection> removal) {
-        synchronized (lock) {
-            LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>> ch = serverChangeBuffer.get(dimid);
-            if (ch == null) {
-                ch = new LinkedList<>();
-                serverChangeBuffer.put(dimid, ch);
-            }
-            for (TransmissionChain.LightConnection l : removal) {
-                ch.add(new Tuple<>(l, false));
-            }
-        }
+    private SyncChangeBuffer<Tuple<BlockPos, BlockPos>> getChangeBuffer(int dimId) {
+        return serverChangeBuffer.computeIfAbsent(dimId, id -> new SyncChangeBuffer<>());
     }
 
     @Nullable
@@ -138,54 +105,56 @@ public class DataLightConnections extends AbstractData {
     }
 
     @Override
-    public void writeAllDataToPacket(NBTTagCompound compound) {
-        for (int dimId : serverPosBuffer.keySet()) {
-            Map<BlockPos, List<BlockPos>> dat = serverPosBuffer.get(dimId);
-            NBTTagList dataList = new NBTTagList();
-            for (BlockPos pos : dat.keySet()) {
-                List<BlockPos> connections = dat.get(pos);
-                if(connections == null) continue;
-                for (BlockPos end : connections) {
-                    NBTTagCompound cmp = new NBTTagCompound();
-                    cmp.setLong("sta", pos.toLong());
-                    cmp.setLong("end", end.toLong());
-                    cmp.setBoolean("s", true);
-                    dataList.appendTag(cmp);
+    public Collection<Integer> collectChanges() {
+        synchronized (lock) {
+            serverOutgoingChanges.clear();
+            for (Map.Entry<Integer, SyncChangeBuffer<Tuple<BlockPos, BlockPos>>> entry : serverChangeBuffer.entrySet()) {
+                SyncChangeBuffer<Tuple<BlockPos, BlockPos>> changes = entry.getValue();
+                if(!changes.isEmpty()) {
+                    serverOutgoingChanges.put(entry.getKey(),
+                            writeSection(changes.isCleared() ? FLAG_CLEAR : 0, changes.getRemoved(), changes.getAdded()));
                 }
             }
-
-            compound.setTag("" + dimId, dataList);
+            serverChangeBuffer.clear();
+            return new ArrayList<>(serverOutgoingChanges.keySet());
         }
     }
 
     @Override
-    public void writeToPacket(NBTTagCompound compound) {
+    public void writeAllDataToPacket(int dimId, NBTTagCompound compound) {
+        List<Tuple<BlockPos, BlockPos>> connections = new LinkedList<>();
         synchronized (lock) {
-            for (int dimId : serverChangeBuffer.keySet()) {
-                LinkedList<Tuple<TransmissionChain.LightConnection, Boolean>> changes = serverChangeBuffer.get(dimId);
-                if(!changes.isEmpty()) {
-                    NBTTagList list = new NBTTagList();
-                    for (Tuple<TransmissionChain.LightConnection, Boolean> tpl : changes) {
-                        if(tpl.key == null) {
-                            list = new NBTTagList();
-                            NBTTagCompound cm = new NBTTagCompound();
-                            cm.setBoolean("clear", true);
-                            list.appendTag(cm);
-                            break;
-                        }
-
-                        NBTTagCompound cmp = new NBTTagCompound();
-                        cmp.setLong("sta", tpl.key.getStart().toLong());
-                        cmp.setLong("end", tpl.key.getEnd().toLong());
-                        cmp.setBoolean("s", tpl.value);
-                        list.appendTag(cmp);
+            Map<BlockPos, List<BlockPos>> dat = serverPosBuffer.get(dimId);
+            if(dat != null) {
+                for (Map.Entry<BlockPos, List<BlockPos>> entry : dat.entrySet()) {
+                    for (BlockPos end : entry.getValue()) {
+                        connections.add(new Tuple<>(entry.getKey(), end));
                     }
-
-                    compound.setTag("" + dimId, list);
                 }
             }
-            serverChangeBuffer.clear();
         }
+        compound.setByteArray(String.valueOf(dimId), writeSection((byte) (FLAG_CLEAR | FLAG_EXCLUSIVE), Collections.emptyList(), connections));
+    }
+
+    @Override
+    public void writeToPacket(int dimId, NBTTagCompound compound) {
+        synchronized (lock) {
+            byte[] section = serverOutgoingChanges.get(dimId);
+            if(section != null) {
+                compound.setByteArray(String.valueOf(dimId), section);
+            }
+        }
+    }
+
+    //Section per dimension: flags, removed connections, added connections
+    private static byte[] writeSection(byte flags, Collection<Tuple<BlockPos, BlockPos>> removed, Collection<Tuple<BlockPos, BlockPos>> added) {
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        buf.writeByte(flags);
+        PositionDeltaCodec.writeConnections(buf, removed);
+        PositionDeltaCodec.writeConnections(buf, added);
+        byte[] out = new byte[buf.readableBytes()];
+        buf.readBytes(out);
+        return out;
     }
 
     @Override
@@ -199,42 +168,42 @@ public class DataLightConnections extends AbstractData {
 
         clientReceivingData = true;
         try {
-            for (String dimStr : ((DataLightConnections) serverData).clientReadBuffer.getKeySet()) {
+            NBTTagCompound readBuffer = ((DataLightConnections) serverData).clientReadBuffer;
+            for (String dimStr : readBuffer.getKeySet()) {
                 int dimId = Integer.parseInt(dimStr);
-                NBTTagList list = ((DataLightConnections) serverData).clientReadBuffer.getTagList(dimStr, 10);
+                PacketBuffer buf = new PacketBuffer(Unpooled.wrappedBuffer(readBuffer.getByteArray(dimStr)));
+                byte flags = buf.readByte();
+                if((flags & FLAG_EXCLUSIVE) != 0) {
+                    clientPosBuffer.keySet().removeIf(dim -> dim != dimId);
+                }
+                if((flags & FLAG_CLEAR) != 0) {
+                    clientPosBuffer.remove(dimId);
+                }
+
                 Map<BlockPos, List<BlockPos>> connectionMap = clientPosBuffer.get(dimId);
                 if(connectionMap == null) {
                     connectionMap = new ConcurrentHashMap<>();
                     clientPosBuffer.put(dimId, connectionMap);
                 }
-                for (int i = 0; i < list.tagCount(); i++) {
-                    NBTTagCompound connection = list.getCompoundTagAt(i);
-                    if(connection.hasKey("clear")) {
-                        clientPosBuffer.remove(dimId);
-                        break;
-                    }
-
-                    BlockPos start = BlockPos.fromLong(connection.getLong("sta"));
-                    BlockPos end = BlockPos.fromLong(connection.getLong("end"));
-                    boolean set = connection.getBoolean("s");
-                    List<BlockPos> to = connectionMap.get(start);
-                    if(set) {
-                        if(to == null) {
-                            to = new LinkedList<>();
-                            connectionMap.put(start, to);
-                        }
-                        if(!to.contains(end)) {
-                            to.add(end);
-                        }
-                    } else {
-                        if(to != null) {
-                            to.remove(end);
-                            if(to.isEmpty()) {
-                                connectionMap.remove(start);
-                            }
+                for (Tuple<BlockPos, BlockPos> connection : PositionDeltaCodec.readConnections(buf)) {
+                    List<BlockPos> to = connectionMap.get(connection.key);
+                    if(to != null) {
+                        to.remove(connection.value);
+                        if(to.isEmpty()) {
+                            connectionMap.remove(connection.key);
                         }
                     }
                 }
+                for (Tuple<BlockPos, BlockPos> connection : PositionDeltaCodec.readConnections(buf)) {
+                    List<BlockPos> to = connectionMap.get(connection.key);
+                    if(to == null) {
+                        to = new LinkedList<>();
+                        connectionMap.put(connection.key, to);
+                    }
+                    if(!to.contains(connection.value)) {
+                        to.add(connection.value);
+                    }
+                }
                 if(connectionMap.isEmpty()) {
                     clientPosBuffer.remove(dimId);
                 }
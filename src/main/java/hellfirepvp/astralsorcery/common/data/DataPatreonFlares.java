@@ -28,7 +28,7 @@ import java.util.stream.Collectors;
  * Created by HellFirePvP
  * Date: 23.06.2018 / 14:17
  */
-public class DataPatreonFlares extends AbstractData {
+public class DataPatreonFlares extends AbstractGlobalData {
 
     private Map<UUID, Map<PatreonEffectHelper.PatreonEffect, PatreonPartialEntity>> patreonFlaresClient = new HashMap<>();
 
@@ -29,7 +29,7 @@ import java.util.Map;
  * Created by HellFirePvP
  * Date: 17.10.2017 / 22:49
  */
-public class DataTimeFreezeEffects extends AbstractData {
+public class DataTimeFreezeEffects extends AbstractGlobalData {
 
     private Map<Integer, List<TimeStopEffectHelper>> clientActiveFreezeZones = new HashMap<>();
     private Map<Integer, List<TimeStopEffectHelper>> serverActiveFreezeZones = new HashMap<>();
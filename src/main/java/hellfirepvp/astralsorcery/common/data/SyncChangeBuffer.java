@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data;
+
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: SyncChangeBuffer
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 01:15
+ */
+//Collects the changes to a set between two syncs. An addition and removal of the same element cancel out.
+//Only pass additions of elements that weren't in the set before and removals of ones that were.
+public class SyncChangeBuffer<T> {
+
+    private final Map<T, Boolean> changes = new LinkedHashMap<>();
+    private boolean cleared = false;
+
+    public void add(T element) {
+        Boolean prev = changes.get(element);
+        if(prev != null && !prev) {
+            changes.remove(element);
+        } else {
+            changes.put(element, true);
+        }
+    }
+
+    public void remove(T element) {
+        Boolean prev = changes.get(element);
+        if(prev != null && prev) {
+            changes.remove(element);
+        } else {
+            changes.put(element, false);
+        }
+    }
+
+    public void clear() {
+        changes.clear();
+        cleared = true;
+    }
+
+    public boolean isCleared() {
+        return cleared;
+    }
+
+    public boolean isEmpty() {
+        return !cleared && changes.isEmpty();
+    }
+
+    public List<T> getAdded() {
+        return collect(true);
+    }
+
+    public List<T> getRemoved() {
+        return collect(false);
+    }
+
+    private List<T> collect(boolean added) {
+        List<T> out = new ArrayList<>();
+        for (Map.Entry<T, Boolean> change : changes.entrySet()) {
+            if(change.getValue() == added) {
+                out.add(change.getKey());
+            }
+        }
+        return out;
+    }
+
+}
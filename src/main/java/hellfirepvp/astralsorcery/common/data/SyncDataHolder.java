@@ -93,10 +93,28 @@ public class SyncDataHolder implements ITickHandler {
     }
 
     public static void syncAllDataTo(EntityPlayer player) {
-        PktSyncData dataSync = new PktSyncData(serverData, true);
+        PktSyncData dataSync = new PktSyncData(filterData(AbstractGlobalData.class), filterData(AbstractDimensionalData.class), true, player.dimension);
         PacketChannel.CHANNEL.sendTo(dataSync, (EntityPlayerMP) player);
     }
 
+    //Replaces the dimensional data on the player's side with the one of the dimension they're in now.
+    public static void syncDimensionalDataTo(EntityPlayer player) {
+        Map<String, AbstractDimensionalData> dimensionalData = filterData(AbstractDimensionalData.class);
+        if (dimensionalData.isEmpty()) return;
+        PktSyncData dataSync = new PktSyncData(new HashMap<>(), dimensionalData, true, player.dimension);
+        PacketChannel.CHANNEL.sendTo(dataSync, (EntityPlayerMP) player);
+    }
+
+    private static <T extends AbstractData> Map<String, T> filterData(Class<T> dataClass) {
+        Map<String, T> out = new HashMap<>();
+        for (Map.Entry<String, AbstractData> entry : serverData.entrySet()) {
+            if (dataClass.isInstance(entry.getValue())) {
+                out.put(entry.getKey(), dataClass.cast(entry.getValue()));
+            }
+        }
+        return out;
+    }
+
     public static void receiveServerPacket(Map<String, AbstractData> data) {
         for (String key : data.keySet()) {
             AbstractData dat = clientData.get(key);
@@ -117,16 +135,30 @@ public class SyncDataHolder implements ITickHandler {
     @Override
     public void tick(TickEvent.Type type, Object... context) {
         if (dirtyData.isEmpty()) return;
-        Map<String, AbstractData> pktData = new HashMap<>();
+        Map<String, AbstractGlobalData> pktData = new HashMap<>();
+        Map<Integer, Map<String, AbstractDimensionalData>> dimPktData = new HashMap<>();
         synchronized (dirtyLock) {
             for (String s : dirtyData) {
                 AbstractData d = getDataServer(s);
-                pktData.put(s, d);
+                if (d instanceof AbstractDimensionalData) {
+                    AbstractDimensionalData dimData = (AbstractDimensionalData) d;
+                    for (int dimId : dimData.collectChanges()) {
+                        dimPktData.computeIfAbsent(dimId, id -> new HashMap<>()).put(s, dimData);
+                    }
+                } else if (d instanceof AbstractGlobalData) {
+                    pktData.put(s, (AbstractGlobalData) d);
+                }
             }
             dirtyData.clear();
         }
-        PktSyncData dataSync = new PktSyncData(pktData, false);
-        PacketChannel.CHANNEL.sendToAll(dataSync);
+        if (!pktData.isEmpty()) {
+            PktSyncData dataSync = new PktSyncData(pktData, false);
+            PacketChannel.CHANNEL.sendToAll(dataSync);
+        }
+        for (Map.Entry<Integer, Map<String, AbstractDimensionalData>> dimData : dimPktData.entrySet()) {
+            PktSyncData dataSync = new PktSyncData(new HashMap<>(), dimData.getValue(), false, dimData.getKey());
+            PacketChannel.CHANNEL.sendToDimension(dataSync, dimData.getKey());
+        }
     }
 
     @Override
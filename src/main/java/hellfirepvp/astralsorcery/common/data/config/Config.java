@@ -100,6 +100,9 @@ public class Config {
     public static List<String> modidOreGenBlacklist = Lists.newArrayList();
     public static List<Integer> worldGenDimWhitelist = Lists.newArrayList();
     public static boolean performNetworkIntegrityCheck = false;
+    public static int starlightNetworkThreads = 2;
+    public static boolean lightNetworkRegionStorage = true;
+    public static float ritualTickBudgetMs = 5F;
 
     private static List<ConfigEntry> dynamicConfigEntries = new LinkedList<>();
     private static List<ConfigDataAdapter<?>> dataAdapters = new LinkedList<>();
@@ -239,6 +242,10 @@ public class Config {
 
         latestConfig.addCustomCategoryComment("lightnetwork", "Maintenance options for the Starlight network. Use the integrity check when you did a bigger rollback or MC-Edited stuff out of the world. Note that it will only affect worlds that get loaded. So if you edited out something on, for example, dimension -76, be sure to go into that dimension with the maintenance options enabled to properly perform maintenance there.");
         performNetworkIntegrityCheck = latestConfig.getBoolean("performNetworkIntegrityCheck", "lightnetwork", false, "NOTE: ONLY run this once and set it to false again afterwards, nothing will be gained by setting this to true permanently, just longer loading times. When set to true and the server started, this will perform an integrity check over all nodes of the starlight network whenever a world gets loaded, removing invalid ones in the process. This might, depending on network sizes, take a while. It'll leave a message in the console when it's done. After this check has been run, you might need to tear down and rebuild your starlight network in case something doesn't work anymore.");
+        starlightNetworkThreads = latestConfig.getInt("networkWorkerThreads", "lightnetwork", starlightNetworkThreads, 1, 16, "Defines how many background threads are used at most to calculate starlight network changes. All worlds share these threads.");
+        lightNetworkRegionStorage = latestConfig.getBoolean("regionStorage", "lightnetwork", lightNetworkRegionStorage, "If true, the starlight network of each dimension is saved in region files, of which only changed ones are written and which are only loaded once something in them is accessed. Existing networks are converted automatically on the next save. Setting this to false converts them back into a single file.");
+
+        ritualTickBudgetMs = latestConfig.getFloat("ritualTickBudget", "rituals", ritualTickBudgetMs, 0.1F, 50F, "Defines how many milliseconds per server tick all rituals together may spend on executing their effects. Effect executions that don't fit in are carried over into the next ticks. The budget is lowered automatically while the server is lagging.");
 
         maxEffectRenderDistance = latestConfig.getInt("maxEffectRenderDistance", "rendering", 64, 1, 512, "Defines how close to the position of a particle/floating texture you have to be in order for it to render.");
         maxEffectRenderDistanceSq = maxEffectRenderDistance * maxEffectRenderDistance;
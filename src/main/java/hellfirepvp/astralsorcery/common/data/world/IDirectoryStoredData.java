@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.world;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: IDirectoryStoredData
+ * Created by HellFirePvP
+ * Date: 18.10.2026 / 23:41
+ */
+//CachedWorldData that can be split up into multiple files inside its own directory instead of the single data file.
+//Data found in the single file is migrated into the directory the next time it's saved, and vice versa.
+public interface IDirectoryStoredData {
+
+    //false to keep using the single file.
+    public boolean useDirectoryStorage();
+
+    public void readFromDirectory(File directory) throws IOException;
+
+    public void writeToDirectory(File directory) throws IOException;
+
+}
@@ -12,17 +12,17 @@ import com.google.common.io.Files;
 import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.auxiliary.tick.ITickHandler;
 import hellfirepvp.astralsorcery.common.data.world.data.*;
+import hellfirepvp.astralsorcery.common.world.util.BlockChangeDispatcher;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import javax.annotation.Nullable;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -35,6 +35,8 @@ public class WorldCacheManager implements ITickHandler {
 
     private static WorldCacheManager instance = new WorldCacheManager();
     private static Map<Integer, Map<SaveKey, CachedWorldData>> cachedData = new HashMap<>();
+    //Data whose directory couldn't be read nor moved out of the way. Saving it would prune the files it failed to read.
+    private static Set<CachedWorldData> unsaveableData = Collections.newSetFromMap(new IdentityHashMap<>());
     private static File saveDir;
 
     private WorldCacheManager() {}
@@ -44,7 +46,10 @@ public class WorldCacheManager implements ITickHandler {
     }
 
     public static void wipeCache() {
+        WorldDataWriter.getInstance().flush();
+        BlockChangeDispatcher.getInstance().clearChunkInterest();
         cachedData.clear();
+        unsaveableData.clear();
         saveDir = null;
     }
 
@@ -55,6 +60,14 @@ public class WorldCacheManager implements ITickHandler {
     }
 
     private synchronized static DataFileSet getDataFile(World world, String key) {
+        return new DataFileSet(new File(getWorldDirectory(world), key + ".dat"));
+    }
+
+    private synchronized static File getDataDirectory(World world, String key) {
+        return new File(getWorldDirectory(world), key);
+    }
+
+    private static File getWorldDirectory(World world) {
         if(world.isRemote)
             throw new IllegalArgumentException("Tried to access data structure on clientside. This is a severe implementation error!");
         if(saveDir == null) {
@@ -71,7 +84,7 @@ public class WorldCacheManager implements ITickHandler {
         } else {
             ensureFolder(worldDir);
         }
-        return new DataFileSet(new File(worldDir, key + ".dat"));
+        return worldDir;
     }
 
     private static void ensureFolder(File f) {
@@ -109,9 +122,38 @@ public class WorldCacheManager implements ITickHandler {
         return loaded;
     }
 
+    private static boolean usesDirectory(CachedWorldData data) {
+        return data instanceof IDirectoryStoredData && ((IDirectoryStoredData) data).useDirectoryStorage();
+    }
+
     private static CachedWorldData loadDataFromFile(World world, SaveKey key) {
+        WorldDataWriter.getInstance().flush(); //Don't read anything that's still being written.
         DataFileSet f = getDataFile(world, key.identifier);
-        if (!f.actualFile.exists() && !f.backupFile.exists()) {
+        boolean hasFile = f.actualFile.exists() || f.backupFile.exists();
+
+        CachedWorldData directoryData = key.getNewInstance();
+        File directory = getDataDirectory(world, key.identifier);
+        if(directoryData instanceof IDirectoryStoredData && directory.isDirectory() && (usesDirectory(directoryData) || !hasFile)) {
+            AstralSorcery.log.info("Load CachedWorldData '" + key.identifier + "' for world " + world.provider.getDimension() + " from its directory");
+            try {
+                ((IDirectoryStoredData) directoryData).readFromDirectory(directory);
+                return directoryData;
+            } catch (Exception exc) {
+                AstralSorcery.log.warn("Loading worlddata '" + key.identifier + "' from its directory failed! Falling back to its save file.");
+                exc.printStackTrace();
+                if(!moveDirectoryToError(directory)) {
+                    AstralSorcery.log.warn("Couldn't move the directory of worlddata '" + key.identifier + "' out of the way. It won't be saved for the current runtime.");
+                    CachedWorldData data = loadDataFromFileSet(world, key, f, hasFile);
+                    unsaveableData.add(data);
+                    return data;
+                }
+            }
+        }
+        return loadDataFromFileSet(world, key, f, hasFile);
+    }
+
+    private static CachedWorldData loadDataFromFileSet(World world, SaveKey key, DataFileSet f, boolean hasFile) {
+        if (!hasFile) {
             return key.getNewInstance();
         }
         AstralSorcery.log.info("Load CachedWorldData '" + key.identifier + "' for world " + world.provider.getDimension());
@@ -169,11 +211,23 @@ public class WorldCacheManager implements ITickHandler {
                 }
             }
             data = key.getNewInstance();
+        } else if(usesDirectory(data)) {
+            AstralSorcery.log.info("Worlddata '" + key.identifier + "' will be converted to its directory format on the next save.");
+            data.markDirty();
         }
         AstralSorcery.log.info("Loading of '" + key.identifier + "' for world " + world.provider.getDimension() + " finished.");
         return data;
     }
 
+    //Keeps a directory that failed to load as '<name>.error', so the next save starts over with a fresh one instead of pruning it.
+    private static boolean moveDirectoryToError(File directory) {
+        File errorDirectory = new File(directory.getParent(), directory.getName() + ".error");
+        if(errorDirectory.exists()) {
+            deleteRecursively(errorDirectory);
+        }
+        return directory.renameTo(errorDirectory);
+    }
+
     private static CachedWorldData attemptLoad(SaveKey key, File f) throws IOException {
         CachedWorldData data = key.getNewInstance();
         NBTTagCompound cmp = CompressedStreamTools.read(f);
@@ -181,26 +235,53 @@ public class WorldCacheManager implements ITickHandler {
         return data;
     }
 
+    //Only captures the data here, the files are written by the WorldDataWriter.
     private static void saveDataToFile(World world, CachedWorldData data) throws IOException {
+        if(unsaveableData.contains(data)) return;
         SaveKey key = data.getSaveKey();
         DataFileSet f = getDataFile(world, key.identifier);
-        if(!f.actualFile.getParentFile().exists()) {
-            f.actualFile.getParentFile().mkdirs();
-        }
-        if(f.actualFile.exists()) {
-            try {
-                Files.copy(f.actualFile, f.backupFile);
-            } catch (Exception exc) {
-                AstralSorcery.log.info("Copying '" + key.identifier + "' 's actual file to its backup file failed!");
-                exc.printStackTrace();
-            }
-        }
-        if (!f.actualFile.exists()) {
-            f.actualFile.createNewFile();
+        File directory = getDataDirectory(world, key.identifier);
+        WorldDataWriter writer = WorldDataWriter.getInstance();
+        if(usesDirectory(data)) {
+            ((IDirectoryStoredData) data).writeToDirectory(directory);
+            //Converted. Keep the old file around, but out of the way.
+            retire(f.actualFile);
+            retire(f.backupFile);
+            return;
         }
         NBTTagCompound tag = new NBTTagCompound();
         data.writeToNBT(tag);
-        CompressedStreamTools.write(tag, f.actualFile);
+        writer.write(f.actualFile, f.backupFile, out -> {
+            DataOutputStream dos = new DataOutputStream(out);
+            CompressedStreamTools.write(tag, dos); //Uncompressed, like attemptLoad reads it.
+            dos.flush();
+        });
+        if(data instanceof IDirectoryStoredData) {
+            retire(directory);
+        }
+    }
+
+    private static void retire(File f) {
+        WorldDataWriter.getInstance().queue(f, () -> {
+            if(!f.exists()) return;
+            File retired = new File(f.getParent(), f.getName() + ".migrated");
+            if(retired.exists()) {
+                deleteRecursively(retired);
+            }
+            if(!f.renameTo(retired)) {
+                AstralSorcery.log.warn("Couldn't move converted worlddata " + f.getAbsolutePath() + " out of the way!");
+            }
+        });
+    }
+
+    private static void deleteRecursively(File f) {
+        File[] children = f.listFiles();
+        if(children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        f.delete();
     }
 
     @Override
@@ -266,7 +347,8 @@ public class WorldCacheManager implements ITickHandler {
         GATEWAY_DATA("gateway", GatewayCache::new),
         STRUCTURE_GEN("structures", StructureGenBuffer::new),
         STORAGE_BUFFER("storagenetwork", StructureGenBuffer::new),
-        STRUCTURE_MATCH("structurematcher", StructureMatchingBuffer::new);
+        STRUCTURE_MATCH("structurematcher", StructureMatchingBuffer::new),
+        BIOME_LOCATOR("biomelocator", BiomeLocatorBuffer::new);
 
         private final String identifier;
         private final DataProvider<CachedWorldData> instanceProvider;
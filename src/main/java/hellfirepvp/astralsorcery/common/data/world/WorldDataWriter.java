@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.world;
+
+import hellfirepvp.astralsorcery.AstralSorcery;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: WorldDataWriter
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 00:12
+ */
+//Does the file IO of world data saves on a background thread.
+//The data has to be captured on the server thread before it's handed in here.
+//Multiple pending operations on the same file are merged into the latest one.
+public class WorldDataWriter {
+
+    private static final WorldDataWriter instance = new WorldDataWriter();
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<File, IOTask> pending = new LinkedHashMap<>();
+    private boolean working = false;
+    private Thread writerThread = null;
+
+    private WorldDataWriter() {}
+
+    public static WorldDataWriter getInstance() {
+        return instance;
+    }
+
+    //Writes the file to a temporary file first and then moves it in place.
+    //If 'backup' is given, the previous file is moved there instead of being overwritten.
+    public void write(File target, @Nullable File backup, ContentWriter content) {
+        queue(target, () -> {
+            File parent = target.getParentFile();
+            if(parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            File tmp = new File(parent, target.getName() + ".tmp");
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                content.writeTo(out);
+            }
+            if(backup != null && target.exists()) {
+                Files.move(target.toPath(), backup.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            move(tmp, target);
+        });
+    }
+
+    public void delete(File target) {
+        queue(target, () -> {
+            if(target.exists() && !target.delete()) {
+                AstralSorcery.log.warn("Couldn't delete " + target.getAbsolutePath());
+            }
+        });
+    }
+
+    //Runs after everything that has been queued before.
+    public void queue(File target, IOTask task) {
+        synchronized (lock) {
+            pending.remove(target); //Re-insert at the end to keep the order of operations.
+            pending.put(target, task);
+            if(writerThread == null) {
+                writerThread = new Thread(this::run, "AstralSorcery-DataWriter");
+                writerThread.setDaemon(true);
+                writerThread.start();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    //Blocks until everything queued so far has been written.
+    public void flush() {
+        synchronized (lock) {
+            while (!pending.isEmpty() || working) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void run() {
+        while (true) {
+            File target;
+            IOTask task;
+            synchronized (lock) {
+                while (pending.isEmpty()) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                Iterator<Map.Entry<File, IOTask>> iterator = pending.entrySet().iterator();
+                Map.Entry<File, IOTask> next = iterator.next();
+                iterator.remove();
+                target = next.getKey();
+                task = next.getValue();
+                working = true;
+            }
+
+            try {
+                task.run();
+            } catch (Exception exc) {
+                AstralSorcery.log.warn("Unable to write world data to " + target.getAbsolutePath() + "!");
+                AstralSorcery.log.warn("Printing StackTrace details...");
+                exc.printStackTrace();
+            }
+
+            synchronized (lock) {
+                working = false;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private static void move(File from, File to) throws IOException {
+        try {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exc) {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static interface ContentWriter {
+
+        public void writeTo(OutputStream out) throws IOException;
+
+    }
+
+    public static interface IOTask {
+
+        public void run() throws IOException;
+
+    }
+
+}
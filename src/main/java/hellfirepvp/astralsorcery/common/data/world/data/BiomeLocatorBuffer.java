@@ -0,0 +1,432 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.world.data;
+
+import hellfirepvp.astralsorcery.AstralSorcery;
+import hellfirepvp.astralsorcery.common.data.world.CachedWorldData;
+import hellfirepvp.astralsorcery.common.data.world.IDirectoryStoredData;
+import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
+import hellfirepvp.astralsorcery.common.data.world.WorldDataWriter;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: BiomeLocatorBuffer
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 13:40
+ */
+//A coarse map of the biomes the world's biome provider generates, one sample per chunk, for finding the closest biome of some kind.
+//Regions of 32x32 chunks are sampled the first time a search needs them and kept from then on.
+//Sampling runs the provider's gen layers, which share static caches with worldgen, so it only ever happens on the server thread:
+//searches on other threads queue the regions they need and wait while they are sampled a few milliseconds per tick.
+//Stored as one file per 8x8 regions, with the biomes' registry names so changed biome ids don't mix them up.
+public class BiomeLocatorBuffer extends CachedWorldData implements IDirectoryStoredData {
+
+    private static final int REGION_SHIFT = 9;
+    private static final int REGION_SIZE = 1 << REGION_SHIFT;
+    private static final int CHUNKS_PER_REGION = REGION_SIZE >> 4;
+    private static final int FILE_SHIFT = 3;
+
+    private static final long SAMPLE_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long MAX_WAIT_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final int FILE_MAGIC = 0x4153424C;
+    private static final byte FORMAT_VERSION = 1;
+    private static final Pattern REGION_FILE = Pattern.compile("b\\.(-?\\d+)\\.(-?\\d+)\\.bin");
+
+    //Read from any thread, only written to on the server thread.
+    private final Map<Long, BiomeRegion> regions = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<BiomeRegion>> pendingRegions = new ConcurrentHashMap<>();
+    private final Queue<Long> samplingQueue = new ConcurrentLinkedQueue<>();
+    private Biome[] sampleBuffer = null;
+
+    private Set<Long> dirtyFiles = new HashSet<>();
+    //The directory that's known to be in sync with the data apart from the dirty files.
+    private File syncedDirectory = null;
+    private Long seed = null;
+
+    public BiomeLocatorBuffer() {
+        super(WorldCacheManager.SaveKey.BIOME_LOCATOR);
+    }
+
+    //Center of the closest chunk within 'radius' blocks that has one of the biomes, at y=0.
+    //May be called from any thread; on the server thread missing regions are sampled right away.
+    @Nullable
+    public BlockPos findClosest(WorldServer world, BlockPos pos, Collection<Biome> biomes, int radius) {
+        long[] accepted = new long[4];
+        for (Biome biome : biomes) {
+            int id = Biome.getIdForBiome(biome);
+            if (id >= 0 && id < 256) {
+                accepted[id >> 6] |= 1L << id;
+            }
+        }
+        int x = pos.getX(), z = pos.getZ();
+        int rX = x >> REGION_SHIFT, rZ = z >> REGION_SHIFT;
+        double radiusSq = (double) radius * radius;
+        int maxRing = (radius >> REGION_SHIFT) + 1;
+        long deadline = System.currentTimeMillis() + MAX_WAIT_MS;
+
+        BlockPos closest = null;
+        double closestDstSq = Double.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            List<Long> keys = new ArrayList<>();
+            for (int xx = rX - ring; xx <= rX + ring; xx++) {
+                for (int zz = rZ - ring; zz <= rZ + ring; zz++) {
+                    if (Math.max(Math.abs(xx - rX), Math.abs(zz - rZ)) != ring) continue;
+                    if (regionDistanceSq(xx, zz, x, z) > radiusSq) continue;
+                    keys.add(regionKey(xx, zz));
+                }
+            }
+            List<BiomeRegion> ringRegions = getRegions(world, keys, deadline);
+            if (ringRegions == null) {
+                return null; //Took too long or got interrupted.
+            }
+
+            for (BiomeRegion region : ringRegions) {
+                if (!region.containsAny(accepted)) continue;
+                for (int i = 0; i < region.biomes.length; i++) {
+                    int id = region.biomes[i];
+                    if (id < 0 || id >= 256 || (accepted[id >> 6] & (1L << id)) == 0) continue;
+                    int bX = ((region.x * CHUNKS_PER_REGION + i % CHUNKS_PER_REGION) << 4) + 8;
+                    int bZ = ((region.z * CHUNKS_PER_REGION + i / CHUNKS_PER_REGION) << 4) + 8;
+                    double dstSq = (double) (bX - x) * (bX - x) + (double) (bZ - z) * (bZ - z);
+                    if (dstSq <= radiusSq && dstSq < closestDstSq) {
+                        closestDstSq = dstSq;
+                        closest = new BlockPos(bX, 0, bZ);
+                    }
+                }
+            }
+
+            //Everything in the next ring is at least this far away.
+            double nextRing = (double) ring * REGION_SIZE;
+            if (closest != null && closestDstSq <= nextRing * nextRing) {
+                break;
+            }
+        }
+        return closest;
+    }
+
+    @Nullable
+    private List<BiomeRegion> getRegions(WorldServer world, List<Long> keys, long deadline) {
+        MinecraftServer server = world.getMinecraftServer();
+        boolean onServerThread = server == null || server.isCallingFromMinecraftThread();
+
+        List<BiomeRegion> found = new ArrayList<>(keys.size());
+        List<CompletableFuture<BiomeRegion>> waiting = new ArrayList<>();
+        for (long key : keys) {
+            BiomeRegion region = regions.get(key);
+            if (region != null) {
+                found.add(region);
+            } else if (onServerThread) {
+                found.add(sampleRegion(world, key));
+            } else {
+                waiting.add(pendingRegions.computeIfAbsent(key, k -> {
+                    samplingQueue.add(k);
+                    return new CompletableFuture<>();
+                }));
+            }
+        }
+        for (CompletableFuture<BiomeRegion> future : waiting) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            try {
+                found.add(future.get(remaining, TimeUnit.MILLISECONDS));
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException | CancellationException | TimeoutException exc) {
+                return null;
+            }
+        }
+        return found;
+    }
+
+    private BiomeRegion sampleRegion(World world, long key) {
+        BiomeRegion region = regions.get(key);
+        if (region == null) {
+            int rX = regionX(key), rZ = regionZ(key);
+            //The gen layers work on a quarter of the block resolution; take the sample at every chunk's center.
+            int quarterSize = REGION_SIZE >> 2;
+            sampleBuffer = world.getBiomeProvider().getBiomesForGeneration(sampleBuffer,
+                    (rX << REGION_SHIFT) >> 2, (rZ << REGION_SHIFT) >> 2, quarterSize, quarterSize);
+
+            short[] biomes = new short[CHUNKS_PER_REGION * CHUNKS_PER_REGION];
+            for (int zz = 0; zz < CHUNKS_PER_REGION; zz++) {
+                for (int xx = 0; xx < CHUNKS_PER_REGION; xx++) {
+                    Biome biome = sampleBuffer[(zz * 4 + 2) * quarterSize + xx * 4 + 2];
+                    biomes[zz * CHUNKS_PER_REGION + xx] = biome == null ? -1 : (short) Biome.getIdForBiome(biome);
+                }
+            }
+            region = new BiomeRegion(rX, rZ, biomes);
+            regions.put(key, region);
+            dirtyFiles.add(regionKey(rX >> FILE_SHIFT, rZ >> FILE_SHIFT));
+            markDirty();
+        }
+        CompletableFuture<BiomeRegion> pending = pendingRegions.remove(key);
+        if (pending != null) {
+            pending.complete(region);
+        }
+        return region;
+    }
+
+    @Override
+    public void updateTick(World world) {
+        if (samplingQueue.isEmpty()) return;
+
+        long start = System.nanoTime();
+        Long key;
+        while ((key = samplingQueue.poll()) != null) {
+            sampleRegion(world, key);
+            if (System.nanoTime() - start >= SAMPLE_BUDGET_NANOS) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void onLoad(World world) {
+        if (seed != null && seed != world.getSeed()) {
+            AstralSorcery.log.info("Biome locator data of world " + world.provider.getDimension() + " belongs to a different seed - discarding it.");
+            resetData();
+            markDirty();
+        }
+        seed = world.getSeed();
+    }
+
+    private void resetData() {
+        regions.clear();
+        for (CompletableFuture<BiomeRegion> pending : pendingRegions.values()) {
+            pending.cancel(false);
+        }
+        pendingRegions.clear();
+        samplingQueue.clear();
+        dirtyFiles.clear();
+        syncedDirectory = null;
+    }
+
+    //Only ever stored in its directory; there's no old single file format to read.
+    @Override
+    public void readFromNBT(NBTTagCompound compound) {
+        resetData();
+    }
+
+    @Override
+    public void writeToNBT(NBTTagCompound compound) {
+        syncedDirectory = null;
+    }
+
+    @Override
+    public boolean useDirectoryStorage() {
+        return true;
+    }
+
+    @Override
+    public void readFromDirectory(File directory) throws IOException {
+        resetData();
+        seed = null;
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                if (!REGION_FILE.matcher(f.getName()).matches()) continue;
+                try {
+                    readFile(f);
+                } catch (IOException exc) {
+                    AstralSorcery.log.warn("Couldn't load sampled biomes from " + f.getName() + " - they'll be sampled again!");
+                    exc.printStackTrace();
+                }
+            }
+        }
+        syncedDirectory = directory;
+    }
+
+    private void readFile(File f) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(f))))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a biome locator file: " + f.getName());
+            }
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown biome locator format version " + version);
+            }
+            long fileSeed = in.readLong();
+            if (seed != null && seed != fileSeed) {
+                throw new IOException("Biome locator file " + f.getName() + " belongs to a different seed");
+            }
+            seed = fileSeed;
+
+            short[] palette = new short[in.readShort()];
+            for (int i = 0; i < palette.length; i++) {
+                Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(in.readUTF()));
+                palette[i] = biome == null ? -1 : (short) Biome.getIdForBiome(biome);
+            }
+            int regionCount = in.readShort();
+            for (int i = 0; i < regionCount; i++) {
+                int rX = in.readInt();
+                int rZ = in.readInt();
+                short[] biomes = new short[CHUNKS_PER_REGION * CHUNKS_PER_REGION];
+                for (int j = 0; j < biomes.length; j++) {
+                    int index = in.readShort();
+                    biomes[j] = index < 0 || index >= palette.length ? -1 : palette[index];
+                }
+                regions.put(regionKey(rX, rZ), new BiomeRegion(rX, rZ, biomes));
+            }
+        }
+    }
+
+    @Override
+    public void writeToDirectory(File directory) throws IOException {
+        if (seed == null) return; //Never loaded into a world, so nothing got sampled.
+
+        WorldDataWriter writer = WorldDataWriter.getInstance();
+        Set<Long> toWrite;
+        if (!directory.equals(syncedDirectory)) {
+            //Everything is new to that directory. Write all of it and remove what isn't there anymore.
+            toWrite = new HashSet<>();
+            for (BiomeRegion region : regions.values()) {
+                toWrite.add(regionKey(region.x >> FILE_SHIFT, region.z >> FILE_SHIFT));
+            }
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File f : files) {
+                    Matcher m = REGION_FILE.matcher(f.getName());
+                    if (m.matches() && !toWrite.contains(regionKey(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))))) {
+                        writer.delete(f);
+                    }
+                }
+            }
+        } else {
+            toWrite = new HashSet<>(dirtyFiles);
+        }
+
+        for (long key : toWrite) {
+            byte[] data = encodeFile(regionX(key), regionZ(key));
+            File f = new File(directory, "b." + regionX(key) + "." + regionZ(key) + ".bin");
+            writer.write(f, null, out -> {
+                GZIPOutputStream gzip = new GZIPOutputStream(out);
+                gzip.write(data);
+                gzip.finish();
+            });
+        }
+        dirtyFiles.clear();
+        syncedDirectory = directory;
+    }
+
+    private byte[] encodeFile(int fileX, int fileZ) {
+        int regionsPerFile = 1 << FILE_SHIFT;
+        List<BiomeRegion> contained = new ArrayList<>();
+        for (int xx = 0; xx < regionsPerFile; xx++) {
+            for (int zz = 0; zz < regionsPerFile; zz++) {
+                BiomeRegion region = regions.get(regionKey((fileX << FILE_SHIFT) + xx, (fileZ << FILE_SHIFT) + zz));
+                if (region != null) {
+                    contained.add(region);
+                }
+            }
+        }
+
+        Map<Integer, Integer> paletteIndex = new LinkedHashMap<>();
+        for (BiomeRegion region : contained) {
+            for (short id : region.biomes) {
+                if (id >= 0 && !paletteIndex.containsKey((int) id) && Biome.getBiome(id) != null) {
+                    paletteIndex.put((int) id, paletteIndex.size());
+                }
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FILE_MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(seed);
+            out.writeShort(paletteIndex.size());
+            for (int id : paletteIndex.keySet()) {
+                out.writeUTF(String.valueOf(Biome.getBiome(id).getRegistryName()));
+            }
+            out.writeShort(contained.size());
+            for (BiomeRegion region : contained) {
+                out.writeInt(region.x);
+                out.writeInt(region.z);
+                for (short id : region.biomes) {
+                    out.writeShort(paletteIndex.getOrDefault((int) id, -1));
+                }
+            }
+        } catch (IOException exc) {
+            throw new IllegalStateException("Writing to memory failed?", exc);
+        }
+        return bytes.toByteArray();
+    }
+
+    //Horizontal distance from the point to the closest point of the region.
+    private static double regionDistanceSq(int rX, int rZ, int x, int z) {
+        int minX = rX << REGION_SHIFT;
+        int minZ = rZ << REGION_SHIFT;
+        double dx = x < minX ? minX - x : Math.max(0, x - (minX + REGION_SIZE - 1));
+        double dz = z < minZ ? minZ - z : Math.max(0, z - (minZ + REGION_SIZE - 1));
+        return dx * dx + dz * dz;
+    }
+
+    private static long regionKey(int regionX, int regionZ) {
+        return (((long) regionX) << 32) | (regionZ & 0xFFFFFFFFL);
+    }
+
+    private static int regionX(long regionKey) {
+        return (int) (regionKey >> 32);
+    }
+
+    private static int regionZ(long regionKey) {
+        return (int) regionKey;
+    }
+
+    private static class BiomeRegion {
+
+        private final int x, z;
+        //Biome id per chunk at [z * 32 + x]; -1 if unknown.
+        private final short[] biomes;
+        private final long[] contained = new long[4];
+
+        private BiomeRegion(int x, int z, short[] biomes) {
+            this.x = x;
+            this.z = z;
+            this.biomes = biomes;
+            for (short id : biomes) {
+                if (id >= 0 && id < 256) {
+                    contained[id >> 6] |= 1L << id;
+                }
+            }
+        }
+
+        private boolean containsAny(long[] biomeMask) {
+            for (int i = 0; i < contained.length; i++) {
+                if ((contained[i] & biomeMask[i]) != 0) return true;
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -11,11 +11,14 @@ package hellfirepvp.astralsorcery.common.data.world.data;
 import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.data.config.Config;
 import hellfirepvp.astralsorcery.common.data.world.CachedWorldData;
+import hellfirepvp.astralsorcery.common.data.world.IDirectoryStoredData;
 import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
 import hellfirepvp.astralsorcery.common.starlight.IIndependentStarlightSource;
 import hellfirepvp.astralsorcery.common.starlight.IStarlightSource;
 import hellfirepvp.astralsorcery.common.starlight.IStarlightTransmission;
 import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.starlight.network.LinkSectionIndex;
+import hellfirepvp.astralsorcery.common.starlight.network.StarlightNetworkExecutor;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightTransmissionHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.StarlightUpdateHandler;
 import hellfirepvp.astralsorcery.common.starlight.network.TransmissionWorldHandler;
@@ -36,7 +39,11 @@ import net.minecraft.world.World;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -45,25 +52,49 @@ import java.util.*;
  * Created by HellFirePvP
  * Date: 03.08.2016 / 00:10
  */
-public class LightNetworkBuffer extends CachedWorldData {
+public class LightNetworkBuffer extends CachedWorldData implements IDirectoryStoredData {
 
-    private Map<ChunkPos, ChunkNetworkData> chunkSortedData = new HashMap<>();
+    //Also accessed by the network calculation threads, which may load regions as well.
+    private Map<ChunkPos, ChunkNetworkData> chunkSortedData = new ConcurrentHashMap<>();
     private Map<BlockPos, IIndependentStarlightSource> starlightSources = new HashMap<>();
     private Collection<Tuple<BlockPos, IIndependentStarlightSource>> cachedSourceTuples = null;
+    private Map<ChunkPos, List<BlockPos>> cachedSourceChunks = null;
+
+    //Built on load, since the nodes' links can only be queried with a network handler.
+    private LinkSectionIndex linkIndex = null;
+    private WorldNetworkHandler networkHandler = null;
 
     private List<ChunkPos> queueRemoval = new LinkedList<>();
 
+    //Only set if the network is stored per region. Regions are then loaded once something in them is accessed.
+    private LightNetworkRegionStorage regionStorage = null;
+    private final Object regionLock = new Object();
+    private final Set<Long> loadedRegions = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyRegions = new HashSet<>();
+    private boolean allRegionsDirty = false;
+
+    //Loaded nodes that still need their post-load handling on the server thread.
+    private final Queue<IPrismTransmissionNode> pendingLoadedNodes = new ConcurrentLinkedQueue<>();
+    private final Queue<IPrismTransmissionNode> pendingIndexNodes = new ConcurrentLinkedQueue<>();
+
     public LightNetworkBuffer() {
         super(WorldCacheManager.SaveKey.LIGHT_NETWORK);
     }
 
     public WorldNetworkHandler getNetworkHandler(World world) {
-        return new WorldNetworkHandler(this, world);
+        WorldNetworkHandler handler = this.networkHandler;
+        if(handler == null || handler.getWorld() != world) {
+            handler = new WorldNetworkHandler(this, world);
+            this.networkHandler = handler;
+        }
+        return handler;
     }
 
     @Override
     public void updateTick(World world) {
+        processLoadedNodes(world, false);
         cleanupQueuedChunks();
+        getLinkIndex(getNetworkHandler(world)); //Block changes are only dispatched for indexed chunks.
 
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(world);
 
@@ -91,11 +122,17 @@ public class LightNetworkBuffer extends CachedWorldData {
                         IBlockState there = world.getBlockState(pos);
                         AstralSorcery.log.warn("Block that gets purged: " + there.getBlock().getUnlocalizedName() + " with meta " + there.getBlock().getMetaFromState(there));
                         iterator.remove();
+                        this.cachedSourceTuples = null;
+                        this.cachedSourceChunks = null;
                         if (world.setBlockToAir(pos)) {
                             ChunkNetworkData data = getChunkData(chPos);
                             if(data != null) {
                                 data.removeSourceTile(pos);
                             }
+                            if(linkIndex != null) {
+                                linkIndex.remove(pos);
+                            }
+                            markDirty(pos);
                         }
                     }
                 }
@@ -107,51 +144,47 @@ public class LightNetworkBuffer extends CachedWorldData {
 
     @Override
     public void onLoad(World world) {
+        processLoadedNodes(world, true);
+        getLinkIndex(getNetworkHandler(world));
+    }
 
-        if(Config.performNetworkIntegrityCheck) {
-            AstralSorcery.log.info("[LightNetworkIntegrityCheck] Performing StarlightNetwork integrity check for world " + world.provider.getDimension());
-            List<IPrismTransmissionNode> invalidRemoval = new LinkedList<>();
+    private void processLoadedNodes(World world, boolean worldLoad) {
+        if(pendingLoadedNodes.isEmpty()) return;
 
-            for (ChunkNetworkData data : chunkSortedData.values()) {
-                for (ChunkSectionNetworkData secData : data.sections.values()) {
-                    for (IPrismTransmissionNode node : secData.getAllTransmissionNodes()) {
-                        TileEntity te = world.getTileEntity(node.getLocationPos());
-                        if(te == null || !(te instanceof IStarlightTransmission)) {
-                            invalidRemoval.add(node);
-                            continue;
-                        }
-                        IStarlightTransmission ism = (IStarlightTransmission) te;
-                        IPrismTransmissionNode newNode = ism.provideTransmissionNode(node.getLocationPos());
-                        if(!node.getClass().isAssignableFrom(newNode.getClass())) {
-                            invalidRemoval.add(node);
-                            continue;
-                        }
+        boolean checkIntegrity = Config.performNetworkIntegrityCheck;
+        if(checkIntegrity && worldLoad) {
+            AstralSorcery.log.info("[LightNetworkIntegrityCheck] Performing StarlightNetwork integrity check for world " + world.provider.getDimension());
+        }
+        List<IPrismTransmissionNode> invalidRemoval = new LinkedList<>();
 
-                        if(node.needsUpdate()) {
-                            StarlightUpdateHandler.getInstance().addNode(world, node);
-                        }
-                        node.postLoad(world);
-                    }
+        IPrismTransmissionNode node;
+        while ((node = pendingLoadedNodes.poll()) != null) {
+            if(checkIntegrity) {
+                TileEntity te = world.getTileEntity(node.getLocationPos());
+                if(te == null || !(te instanceof IStarlightTransmission)) {
+                    invalidRemoval.add(node);
+                    continue;
+                }
+                IStarlightTransmission ism = (IStarlightTransmission) te;
+                IPrismTransmissionNode newNode = ism.provideTransmissionNode(node.getLocationPos());
+                if(!node.getClass().isAssignableFrom(newNode.getClass())) {
+                    invalidRemoval.add(node);
+                    continue;
                 }
             }
 
-            AstralSorcery.log.info("[LightNetworkIntegrityCheck] Performed StarlightNetwork integrity check. Found " + invalidRemoval.size() + " invalid transmission nodes.");
-            for (IPrismTransmissionNode node : invalidRemoval) {
-                removeTransmission(node.getLocationPos());
+            if(node.needsUpdate()) {
+                StarlightUpdateHandler.getInstance().addNode(world, node);
             }
-            AstralSorcery.log.info("[LightNetworkIntegrityCheck] Removed invalid transmission nodes from the network.");
+            node.postLoad(world);
+        }
 
-        } else {
-            for (ChunkNetworkData data : chunkSortedData.values()) {
-                for (ChunkSectionNetworkData secData : data.sections.values()) {
-                    for (IPrismTransmissionNode node : secData.getAllTransmissionNodes()) {
-                        if(node.needsUpdate()) {
-                            StarlightUpdateHandler.getInstance().addNode(world, node);
-                        }
-                        node.postLoad(world);
-                    }
-                }
+        if(checkIntegrity && (worldLoad || !invalidRemoval.isEmpty())) {
+            AstralSorcery.log.info("[LightNetworkIntegrityCheck] Performed StarlightNetwork integrity check. Found " + invalidRemoval.size() + " invalid transmission nodes.");
+            for (IPrismTransmissionNode invalid : invalidRemoval) {
+                removeTransmission(invalid.getLocationPos());
             }
+            AstralSorcery.log.info("[LightNetworkIntegrityCheck] Removed invalid transmission nodes from the network.");
         }
     }
 
@@ -167,9 +200,52 @@ public class LightNetworkBuffer extends CachedWorldData {
 
     @Nullable
     private ChunkNetworkData getChunkData(ChunkPos pos) {
+        ensureRegionLoaded(pos.x, pos.z);
         return chunkSortedData.get(pos);
     }
 
+    //Makes sure the network data around that chunk is in memory, for example before its blocks are changed.
+    public void ensureLoadedAround(ChunkPos pos) {
+        for (int xx = -1; xx <= 1; xx++) {
+            for (int zz = -1; zz <= 1; zz++) {
+                ensureRegionLoaded(pos.x + xx, pos.z + zz);
+            }
+        }
+    }
+
+    private void ensureRegionLoaded(int chX, int chZ) {
+        LightNetworkRegionStorage storage = this.regionStorage;
+        if(storage == null) return;
+        long key = LightNetworkRegionStorage.regionKeyForChunk(chX, chZ);
+        if(loadedRegions.contains(key)) return;
+
+        synchronized (regionLock) {
+            if(loadedRegions.contains(key)) return;
+            if(storage.hasRegion(key)) {
+                loadRegion(storage, key);
+            }
+            loadedRegions.add(key);
+        }
+    }
+
+    private void loadRegion(LightNetworkRegionStorage storage, long key) {
+        List<Tuple<BlockPos, IPrismTransmissionNode>> nodes;
+        try {
+            nodes = storage.readRegion(key);
+        } catch (IOException exc) {
+            AstralSorcery.log.warn("Couldn't load light network region " + LightNetworkRegionStorage.regionX(key) + ", " + LightNetworkRegionStorage.regionZ(key) + " - skipping its network data!");
+            exc.printStackTrace();
+            return;
+        }
+        Map<ChunkPos, ChunkNetworkData> loaded = new HashMap<>();
+        for (Tuple<BlockPos, IPrismTransmissionNode> node : nodes) {
+            loaded.computeIfAbsent(new ChunkPos(node.key), ch -> new ChunkNetworkData()).addLoadedNode(node.key, node.value);
+            pendingLoadedNodes.add(node.value);
+            pendingIndexNodes.add(node.value);
+        }
+        chunkSortedData.putAll(loaded);
+    }
+
     @Nullable
     public ChunkSectionNetworkData getSectionData(BlockPos pos) {
         return getSectionData(new ChunkPos(pos), (pos.getY() & 255) >> 4);
@@ -177,7 +253,7 @@ public class LightNetworkBuffer extends CachedWorldData {
 
     @Nullable
     public ChunkSectionNetworkData getSectionData(ChunkPos chPos, int yLevel) {
-        ChunkNetworkData data = chunkSortedData.get(chPos);
+        ChunkNetworkData data = getChunkData(chPos);
         if(data == null) return null;
         return data.getSection(yLevel);
     }
@@ -198,15 +274,75 @@ public class LightNetworkBuffer extends CachedWorldData {
         return cachedSourceTuples;
     }
 
+    //Positions of all sources in the 3x3 chunks around the given position.
+    public Collection<BlockPos> getSourcePositionsAround(BlockPos pos) {
+        if(cachedSourceChunks == null) {
+            Map<ChunkPos, List<BlockPos>> cache = new HashMap<>();
+            for (BlockPos sourcePos : starlightSources.keySet()) {
+                cache.computeIfAbsent(new ChunkPos(sourcePos), ch -> new LinkedList<>()).add(sourcePos);
+            }
+            this.cachedSourceChunks = cache;
+        }
+        if(cachedSourceChunks.isEmpty()) return Collections.emptyList();
+
+        List<BlockPos> out = new LinkedList<>();
+        int chX = pos.getX() >> 4;
+        int chZ = pos.getZ() >> 4;
+        for (int xx = -1; xx <= 1; xx++) {
+            for (int zz = -1; zz <= 1; zz++) {
+                List<BlockPos> sources = cachedSourceChunks.get(new ChunkPos(chX + xx, chZ + zz));
+                if(sources != null) {
+                    out.addAll(sources);
+                }
+            }
+        }
+        return out;
+    }
+
+    public LinkSectionIndex getLinkIndex(WorldNetworkHandler handler) {
+        if(linkIndex == null) {
+            LinkSectionIndex index = new LinkSectionIndex(handler.getWorld().provider.getDimension());
+            for (ChunkNetworkData data : chunkSortedData.values()) {
+                for (ChunkSectionNetworkData secData : data.sections.values()) {
+                    for (IPrismTransmissionNode node : secData.getAllTransmissionNodes()) {
+                        index.update(node, handler);
+                    }
+                }
+            }
+            this.linkIndex = index;
+        }
+        IPrismTransmissionNode loaded;
+        while ((loaded = pendingIndexNodes.poll()) != null) {
+            linkIndex.update(loaded, handler);
+        }
+        return linkIndex;
+    }
+
     public void createNewChunkData(@Nonnull ChunkPos pos) {
         chunkSortedData.put(pos, new ChunkNetworkData());
     }
 
-    @Override
-    public void readFromNBT(NBTTagCompound nbt) {
+    private void resetData() {
         starlightSources.clear();
         chunkSortedData.clear();
         cachedSourceTuples = null;
+        cachedSourceChunks = null;
+        if(linkIndex != null) {
+            linkIndex.clear();
+        }
+        linkIndex = null;
+        networkHandler = null;
+        regionStorage = null;
+        loadedRegions.clear();
+        dirtyRegions.clear();
+        allRegionsDirty = false;
+        pendingLoadedNodes.clear();
+        pendingIndexNodes.clear();
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound nbt) {
+        resetData();
 
         if(nbt.hasKey("chunkSortedData")) {
             NBTTagList list = nbt.getTagList("chunkSortedData", 10);
@@ -217,6 +353,9 @@ public class LightNetworkBuffer extends CachedWorldData {
                 ChunkPos pos = new ChunkPos(chX, chZ);
                 ChunkNetworkData data = ChunkNetworkData.loadFromNBT(posTag.getTagList("netData", 10));
                 chunkSortedData.put(pos, data);
+                for (ChunkSectionNetworkData secData : data.sections.values()) {
+                    pendingLoadedNodes.addAll(secData.getAllTransmissionNodes());
+                }
             }
         }
 
@@ -225,31 +364,34 @@ public class LightNetworkBuffer extends CachedWorldData {
             for (int i = 0; i < list.tagCount(); i++) {
                 NBTTagCompound sourcePos = list.getCompoundTagAt(i);
                 BlockPos at = NBTHelper.readBlockPosFromNBT(sourcePos);
-                ChunkSectionNetworkData section = getSectionData(at);
-                if(section == null) {
-                    AstralSorcery.log.warn("Expected source tile at " + at + " but didn't even find chunk section!");
-                } else {
-                    IPrismTransmissionNode node = section.getTransmissionNode(at);
-                    if(node == null) {
-                        AstralSorcery.log.warn("Expected source tile at " + at + " but didn't find a transmission node!");
-                        continue;
-                    }
-                    if(!(node instanceof ITransmissionSource)) {
-                        AstralSorcery.log.warn("Expected source tile at " + at + " but transmission node isn't a source!");
-                        continue;
-                    }
-                    NBTTagCompound comp = sourcePos.getCompoundTag("source");
-                    String identifier = comp.getString("sTypeId");
-                    SourceClassRegistry.SourceProvider provider = SourceClassRegistry.getProvider(identifier);
-                    if(provider == null) {
-                        AstralSorcery.log.warn("Couldn't load source tile at " + at + " - invalid identifier: " + identifier);
-                        continue;
-                    }
-                    IIndependentStarlightSource source = provider.provideEmptySource();
-                    source.readFromNBT(comp);
-                    this.starlightSources.put(at, source);
-                }
+                loadSource(at, sourcePos.getCompoundTag("source"));
+            }
+        }
+    }
+
+    private void loadSource(BlockPos at, NBTTagCompound comp) {
+        ChunkSectionNetworkData section = getSectionData(at);
+        if(section == null) {
+            AstralSorcery.log.warn("Expected source tile at " + at + " but didn't even find chunk section!");
+        } else {
+            IPrismTransmissionNode node = section.getTransmissionNode(at);
+            if(node == null) {
+                AstralSorcery.log.warn("Expected source tile at " + at + " but didn't find a transmission node!");
+                return;
+            }
+            if(!(node instanceof ITransmissionSource)) {
+                AstralSorcery.log.warn("Expected source tile at " + at + " but transmission node isn't a source!");
+                return;
             }
+            String identifier = comp.getString("sTypeId");
+            SourceClassRegistry.SourceProvider provider = SourceClassRegistry.getProvider(identifier);
+            if(provider == null) {
+                AstralSorcery.log.warn("Couldn't load source tile at " + at + " - invalid identifier: " + identifier);
+                return;
+            }
+            IIndependentStarlightSource source = provider.provideEmptySource();
+            source.readFromNBT(comp);
+            this.starlightSources.put(at, source);
         }
     }
 
@@ -271,9 +413,18 @@ public class LightNetworkBuffer extends CachedWorldData {
         nbt.setTag("chunkSortedData", list);
 
         NBTTagList sourceList = new NBTTagList();
-        for (BlockPos pos : starlightSources.keySet()) {
+        for (Tuple<BlockPos, NBTTagCompound> source : writeSources()) {
             NBTTagCompound sourceTag = new NBTTagCompound();
-            NBTHelper.writeBlockPosToNBT(pos, sourceTag);
+            NBTHelper.writeBlockPosToNBT(source.key, sourceTag);
+            sourceTag.setTag("source", source.value);
+            sourceList.appendTag(sourceTag);
+        }
+        nbt.setTag("sources", sourceList);
+    }
+
+    private List<Tuple<BlockPos, NBTTagCompound>> writeSources() {
+        List<Tuple<BlockPos, NBTTagCompound>> out = new LinkedList<>();
+        for (BlockPos pos : starlightSources.keySet()) {
             NBTTagCompound source = new NBTTagCompound();
             IIndependentStarlightSource sourceNode = starlightSources.get(pos);
             try {
@@ -284,10 +435,95 @@ public class LightNetworkBuffer extends CachedWorldData {
                 continue;
             }
             source.setString("sTypeId", sourceNode.getProvider().getIdentifier());
-            sourceTag.setTag("source", source);
-            sourceList.appendTag(sourceTag);
+            out.add(new Tuple<>(pos, source));
+        }
+        return out;
+    }
+
+    @Override
+    public boolean useDirectoryStorage() {
+        return Config.lightNetworkRegionStorage;
+    }
+
+    @Override
+    public void readFromDirectory(File directory) throws IOException {
+        resetData();
+        LightNetworkRegionStorage storage = new LightNetworkRegionStorage(directory);
+        this.regionStorage = storage;
+
+        //Loads the regions containing sources right away.
+        for (Tuple<BlockPos, NBTTagCompound> source : storage.readSources()) {
+            loadSource(source.key, source.value);
+        }
+
+        if(!useDirectoryStorage()) {
+            //Switched back to the single file. Load everything, it'll be written there on the next save.
+            for (long key : storage.getRegionsOnDisk()) {
+                ensureRegionLoaded(LightNetworkRegionStorage.regionX(key) << LightNetworkRegionStorage.REGION_SHIFT,
+                        LightNetworkRegionStorage.regionZ(key) << LightNetworkRegionStorage.REGION_SHIFT);
+            }
+            this.regionStorage = null;
+            markDirty();
         }
-        nbt.setTag("sources", sourceList);
+    }
+
+    @Override
+    public void writeToDirectory(File directory) throws IOException {
+        cleanupQueuedChunks();
+
+        LightNetworkRegionStorage storage = this.regionStorage;
+        Set<Long> toWrite;
+        if(storage == null || !storage.getDirectory().equals(directory)) {
+            //Everything is in memory - either new or read from the single file. Write all of it.
+            storage = new LightNetworkRegionStorage(directory);
+            toWrite = new HashSet<>(storage.getRegionsOnDisk());
+            for (ChunkPos pos : chunkSortedData.keySet()) {
+                toWrite.add(LightNetworkRegionStorage.regionKeyForChunk(pos.x, pos.z));
+            }
+            synchronized (regionLock) {
+                this.loadedRegions.addAll(toWrite);
+                this.regionStorage = storage;
+            }
+        } else if(allRegionsDirty) {
+            toWrite = new HashSet<>(loadedRegions);
+        } else {
+            toWrite = new HashSet<>(dirtyRegions);
+        }
+        dirtyRegions.clear();
+        allRegionsDirty = false;
+
+        Map<Long, List<Tuple<BlockPos, IPrismTransmissionNode>>> regionNodes = new HashMap<>();
+        for (Map.Entry<ChunkPos, ChunkNetworkData> entry : chunkSortedData.entrySet()) {
+            long key = LightNetworkRegionStorage.regionKeyForChunk(entry.getKey().x, entry.getKey().z);
+            if(!toWrite.contains(key)) continue;
+            List<Tuple<BlockPos, IPrismTransmissionNode>> nodes = regionNodes.computeIfAbsent(key, k -> new LinkedList<>());
+            for (ChunkSectionNetworkData secData : entry.getValue().sections.values()) {
+                for (Map.Entry<BlockPos, IPrismTransmissionNode> node : secData.nodes.entrySet()) {
+                    nodes.add(new Tuple<>(node.getKey(), node.getValue()));
+                }
+            }
+        }
+        for (long key : toWrite) {
+            List<Tuple<BlockPos, IPrismTransmissionNode>> nodes = regionNodes.get(key);
+            if(nodes == null || nodes.isEmpty()) {
+                storage.deleteRegion(key);
+            } else {
+                storage.writeRegion(key, LightNetworkRegionStorage.encodeRegion(nodes));
+            }
+        }
+        storage.writeSources(LightNetworkRegionStorage.encodeSources(writeSources()));
+    }
+
+    //Marks the region containing that position to be written on the next save.
+    public void markDirty(BlockPos pos) {
+        dirtyRegions.add(LightNetworkRegionStorage.regionKeyForChunk(pos.getX() >> 4, pos.getZ() >> 4));
+        markDirty();
+    }
+
+    //For changes that can't be attributed to a position.
+    public void markAllDirty() {
+        allRegionsDirty = true;
+        markDirty();
     }
 
     //Network changing
@@ -302,13 +538,16 @@ public class LightNetworkBuffer extends CachedWorldData {
 
         IIndependentStarlightSource newSource = addIndependentSource(pos, source);
         if(newSource != null) {
-            Map<BlockPos, IIndependentStarlightSource> copyTr = Collections.unmodifiableMap(new HashMap<>(starlightSources));
-            Thread tr = new Thread(() -> threadedUpdateSourceProximity(copyTr));
-            tr.setName("StarlightNetwork-UpdateThread");
-            tr.start();
+            updateSourceProximity();
         }
 
-        markDirty();
+        markDirty(pos);
+    }
+
+    //Only the latest state matters, so pending updates of this buffer are merged into one.
+    private void updateSourceProximity() {
+        Map<BlockPos, IIndependentStarlightSource> copyTr = Collections.unmodifiableMap(new HashMap<>(starlightSources));
+        StarlightNetworkExecutor.getInstance().submit(this, () -> threadedUpdateSourceProximity(copyTr));
     }
 
     private void threadedUpdateSourceProximity(Map<BlockPos, IIndependentStarlightSource> copyTr) {
@@ -331,7 +570,7 @@ public class LightNetworkBuffer extends CachedWorldData {
         }
         data.addTransmissionTile(pos, transmission);
 
-        markDirty();
+        markDirty(pos);
     }
 
     public void removeSource(BlockPos pos) {
@@ -339,16 +578,16 @@ public class LightNetworkBuffer extends CachedWorldData {
         ChunkNetworkData data = getChunkData(chPos);
         if(data == null) return; //Uuuuhm. what happened here.
         data.removeSourceTile(pos);
+        if(linkIndex != null) {
+            linkIndex.remove(pos);
+        }
 
         removeIndependentSource(pos);
 
-        Map<BlockPos, IIndependentStarlightSource> copyTr = Collections.unmodifiableMap(new HashMap<>(starlightSources));
-        Thread tr = new Thread(() -> threadedUpdateSourceProximity(copyTr));
-        tr.setName("StarlightNetwork-UpdateThread");
-        tr.start();
+        updateSourceProximity();
 
         checkIntegrity(chPos);
-        markDirty();
+        markDirty(pos);
     }
 
     public void removeTransmission(BlockPos pos) {
@@ -356,9 +595,12 @@ public class LightNetworkBuffer extends CachedWorldData {
         ChunkNetworkData data = getChunkData(chPos);
         if(data == null) return; //Not that i'm sad, it's just... uhm..
         data.removeTransmissionTile(pos);
+        if(linkIndex != null) {
+            linkIndex.remove(pos);
+        }
 
         checkIntegrity(chPos);
-        markDirty();
+        markDirty(pos);
     }
 
     private void checkIntegrity(ChunkPos chPos) {
@@ -375,6 +617,7 @@ public class LightNetworkBuffer extends CachedWorldData {
     @Nullable
     private IIndependentStarlightSource addIndependentSource(BlockPos pos, IStarlightSource source) {
         this.cachedSourceTuples = null;
+        this.cachedSourceChunks = null;
 
         IPrismTransmissionNode node = source.getNode();
         if(node instanceof ITransmissionSource) {
@@ -388,6 +631,7 @@ public class LightNetworkBuffer extends CachedWorldData {
     private void removeIndependentSource(BlockPos pos) {
         this.starlightSources.remove(pos);
         this.cachedSourceTuples = null;
+        this.cachedSourceChunks = null;
     }
 
     public static class ChunkNetworkData {
@@ -486,6 +730,12 @@ public class LightNetworkBuffer extends CachedWorldData {
             section.addTransmissionTile(pos, transmission);
         }
 
+        private void addLoadedNode(BlockPos pos, IPrismTransmissionNode node) {
+            int yLevel = (pos.getY() & 255) >> 4;
+            ChunkSectionNetworkData section = getOrCreateSection(yLevel);
+            section.putNode(pos, node);
+        }
+
     }
 
     public static class ChunkSectionNetworkData {
@@ -603,6 +853,10 @@ public class LightNetworkBuffer extends CachedWorldData {
             nodes.put(pos, transmission.provideTransmissionNode(pos));
         }
 
+        private void putNode(BlockPos pos, IPrismTransmissionNode node) {
+            nodes.put(pos, node);
+        }
+
     }
 
 }
@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.data.world.data;
+
+import hellfirepvp.astralsorcery.AstralSorcery;
+import hellfirepvp.astralsorcery.common.data.world.WorldDataWriter;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.starlight.transmission.registry.TransmissionClassRegistry;
+import hellfirepvp.astralsorcery.common.util.data.Tuple;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: LightNetworkRegionStorage
+ * Created by HellFirePvP
+ * Date: 18.10.2026 / 23:05
+ */
+//Stores the light network of a dimension in one file per region of 32x32 chunks, plus one file for all sources.
+//Region layout (gzipped): magic, version, identifier table, then per node: packed position, identifier index, node nbt.
+public class LightNetworkRegionStorage {
+
+    public static final int REGION_SHIFT = 5;
+
+    private static final int REGION_MAGIC = 0x41534E52;
+    private static final int SOURCES_MAGIC = 0x41534E53;
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final String SOURCES_FILE = "sources.bin";
+    private static final Pattern REGION_FILE = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.bin");
+
+    private final File directory;
+    private final Set<Long> regionsOnDisk = ConcurrentHashMap.newKeySet();
+    //Checksum of what's currently in each file, so unchanged regions aren't written again.
+    private final Map<Long, Long> fileChecksums = new ConcurrentHashMap<>();
+    private long sourcesChecksum = -1;
+
+    public LightNetworkRegionStorage(File directory) {
+        this.directory = directory;
+        File[] files = directory.listFiles();
+        if(files != null) {
+            for (File f : files) {
+                Matcher m = REGION_FILE.matcher(f.getName());
+                if(m.matches()) {
+                    try {
+                        regionsOnDisk.add(regionKey(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+                    } catch (NumberFormatException ignored) {}
+                }
+            }
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public static long regionKey(int regionX, int regionZ) {
+        return (((long) regionX) << 32) | (regionZ & 0xFFFFFFFFL);
+    }
+
+    public static long regionKeyForChunk(int chX, int chZ) {
+        return regionKey(chX >> REGION_SHIFT, chZ >> REGION_SHIFT);
+    }
+
+    public static int regionX(long regionKey) {
+        return (int) (regionKey >> 32);
+    }
+
+    public static int regionZ(long regionKey) {
+        return (int) regionKey;
+    }
+
+    public boolean hasRegion(long regionKey) {
+        return regionsOnDisk.contains(regionKey);
+    }
+
+    public Collection<Long> getRegionsOnDisk() {
+        return Collections.unmodifiableSet(regionsOnDisk);
+    }
+
+    private File getRegionFile(long regionKey) {
+        return new File(directory, "r." + regionX(regionKey) + "." + regionZ(regionKey) + ".bin");
+    }
+
+    public List<Tuple<BlockPos, IPrismTransmissionNode>> readRegion(long regionKey) throws IOException {
+        byte[] data = readCompressed(getRegionFile(regionKey));
+        fileChecksums.put(regionKey, checksum(data));
+
+        List<Tuple<BlockPos, IPrismTransmissionNode>> out = new LinkedList<>();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if(in.readInt() != REGION_MAGIC) {
+            throw new IOException("Not a light network region file: " + getRegionFile(regionKey).getName());
+        }
+        byte version = in.readByte();
+        if(version != FORMAT_VERSION) {
+            throw new IOException("Unknown light network region format version " + version);
+        }
+        String[] identifiers = new String[in.readShort()];
+        for (int i = 0; i < identifiers.length; i++) {
+            identifiers[i] = in.readUTF();
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = BlockPos.fromLong(in.readLong());
+            String identifier = identifiers[in.readShort()];
+            NBTTagCompound tag = CompressedStreamTools.read(in);
+            TransmissionClassRegistry.TransmissionProvider provider = TransmissionClassRegistry.getProvider(identifier);
+            if(provider == null) {
+                AstralSorcery.log.warn("Couldn't load node tile at " + pos + " - invalid identifier: " + identifier);
+                continue;
+            }
+            IPrismTransmissionNode node = provider.provideEmptyNode();
+            node.readFromNBT(tag);
+            out.add(new Tuple<>(pos, node));
+        }
+        return out;
+    }
+
+    public static byte[] encodeRegion(Collection<Tuple<BlockPos, IPrismTransmissionNode>> nodes) {
+        List<String> identifiers = new ArrayList<>();
+        Map<String, Integer> identifierIndex = new HashMap<>();
+        List<Tuple<BlockPos, NBTTagCompound>> written = new ArrayList<>(nodes.size());
+        List<Integer> writtenIds = new ArrayList<>(nodes.size());
+        for (Tuple<BlockPos, IPrismTransmissionNode> node : nodes) {
+            try {
+                NBTTagCompound tag = new NBTTagCompound();
+                node.value.writeToNBT(tag);
+                String identifier = node.value.getProvider().getIdentifier();
+                Integer index = identifierIndex.get(identifier);
+                if(index == null) {
+                    index = identifiers.size();
+                    identifiers.add(identifier);
+                    identifierIndex.put(identifier, index);
+                }
+                written.add(new Tuple<>(node.key, tag));
+                writtenIds.add(index);
+            } catch (Exception exc) {
+                AstralSorcery.log.warn("Couldn't write node data for network node at " + node.key + "!");
+                AstralSorcery.log.warn("This is a major problem. To be perfectly save, consider making a backup, then break or mcedit the tileentity out and place a proper/new one...");
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(REGION_MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeShort(identifiers.size());
+            for (String identifier : identifiers) {
+                out.writeUTF(identifier);
+            }
+            out.writeInt(written.size());
+            for (int i = 0; i < written.size(); i++) {
+                Tuple<BlockPos, NBTTagCompound> node = written.get(i);
+                out.writeLong(node.key.toLong());
+                out.writeShort(writtenIds.get(i));
+                CompressedStreamTools.write(node.value, out);
+            }
+        } catch (IOException exc) {
+            throw new IllegalStateException("Writing to memory failed?", exc);
+        }
+        return bytes.toByteArray();
+    }
+
+    //Returns false if the file already contains exactly that data.
+    public boolean writeRegion(long regionKey, byte[] data) {
+        long checksum = checksum(data);
+        Long prev = fileChecksums.get(regionKey);
+        if(prev != null && prev == checksum && regionsOnDisk.contains(regionKey)) {
+            return false;
+        }
+        writeCompressed(getRegionFile(regionKey), data);
+        regionsOnDisk.add(regionKey);
+        fileChecksums.put(regionKey, checksum);
+        return true;
+    }
+
+    public void deleteRegion(long regionKey) {
+        if(regionsOnDisk.remove(regionKey)) {
+            WorldDataWriter.getInstance().delete(getRegionFile(regionKey));
+        }
+        fileChecksums.remove(regionKey);
+    }
+
+    //Each source's data has to contain its type identifier already.
+    public List<Tuple<BlockPos, NBTTagCompound>> readSources() throws IOException {
+        File f = new File(directory, SOURCES_FILE);
+        List<Tuple<BlockPos, NBTTagCompound>> out = new LinkedList<>();
+        if(!f.exists()) return out;
+
+        byte[] data = readCompressed(f);
+        sourcesChecksum = checksum(data);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if(in.readInt() != SOURCES_MAGIC) {
+            throw new IOException("Not a light network source file: " + f.getName());
+        }
+        byte version = in.readByte();
+        if(version != FORMAT_VERSION) {
+            throw new IOException("Unknown light network source format version " + version);
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = BlockPos.fromLong(in.readLong());
+            out.add(new Tuple<>(pos, CompressedStreamTools.read(in)));
+        }
+        return out;
+    }
+
+    public static byte[] encodeSources(Collection<Tuple<BlockPos, NBTTagCompound>> sources) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(SOURCES_MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(sources.size());
+            for (Tuple<BlockPos, NBTTagCompound> source : sources) {
+                out.writeLong(source.key.toLong());
+                CompressedStreamTools.write(source.value, out);
+            }
+        } catch (IOException exc) {
+            throw new IllegalStateException("Writing to memory failed?", exc);
+        }
+        return bytes.toByteArray();
+    }
+
+    public boolean writeSources(byte[] data) {
+        long checksum = checksum(data);
+        if(checksum == sourcesChecksum) {
+            return false;
+        }
+        writeCompressed(new File(directory, SOURCES_FILE), data);
+        sourcesChecksum = checksum;
+        return true;
+    }
+
+    private static long checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    private static byte[] readCompressed(File f) throws IOException {
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                out.write(buf, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    //'data' is handed over to the writer thread and must not be modified anymore.
+    private void writeCompressed(File f, byte[] data) {
+        WorldDataWriter.getInstance().write(f, null, out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            gzip.write(data);
+            gzip.finish();
+        });
+    }
+
+}
@@ -8,9 +8,14 @@
 
 package hellfirepvp.astralsorcery.common.data.world.data;
 
+import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.data.world.CachedWorldData;
+import hellfirepvp.astralsorcery.common.data.world.IDirectoryStoredData;
 import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
+import hellfirepvp.astralsorcery.common.data.world.WorldDataWriter;
+import hellfirepvp.astralsorcery.common.util.data.PositionGridIndex;
 import hellfirepvp.astralsorcery.common.util.nbt.NBTHelper;
+import it.unimi.dsi.fastutil.longs.LongList;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.math.BlockPos;
@@ -18,10 +23,12 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants;
 
 import javax.annotation.Nullable;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.io.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -30,28 +37,40 @@ import java.util.Map;
  * Created by HellFirePvP
  * Date: 17.04.2017 / 09:06
  */
-public class StructureGenBuffer extends CachedWorldData {
+//Generated structures are indexed per type in a grid of 512x512 block cells for the distance queries of worldgen and the sextant.
+//Stored as one file per region of 8192x8192 blocks; a save only writes the regions that got new structures.
+public class StructureGenBuffer extends CachedWorldData implements IDirectoryStoredData {
 
-    private Map<StructureType, List<BlockPos>> generatedStructures = new HashMap<>();
+    private static final int CELL_SHIFT = 9;
+    private static final int REGION_SHIFT = 13;
+
+    private static final int REGION_MAGIC = 0x41535347;
+    private static final byte FORMAT_VERSION = 1;
+    private static final Pattern REGION_FILE = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.bin");
+
+    private Map<StructureType, PositionGridIndex> generatedStructures = new HashMap<>();
+
+    private Set<Long> dirtyRegions = new HashSet<>();
+    //The directory that's known to be in sync with the data apart from the dirty regions.
+    private File syncedDirectory = null;
 
     public StructureGenBuffer() {
         super(WorldCacheManager.SaveKey.STRUCTURE_GEN);
         for (StructureType type : StructureType.values()) {
-            generatedStructures.put(type, new LinkedList<>());
+            generatedStructures.put(type, new PositionGridIndex(CELL_SHIFT));
         }
     }
 
     public void markStructureGeneration(BlockPos pos, StructureType type) {
         generatedStructures.get(type).add(pos);
+        dirtyRegions.add(regionKey(pos.getX() >> REGION_SHIFT, pos.getZ() >> REGION_SHIFT));
         markDirty();
     }
 
+    //If the type has to keep its distance to other structures, the distance to any of those within half the ideal distance.
+    //Otherwise the distance to the closest structure of the same type.
     public double getDstToClosest(StructureType type, double idealDistance, BlockPos dstTo) {
-        double closest = Double.MAX_VALUE;
         double halfDst = idealDistance / 2.0D;
-        int x = dstTo.getX();
-        int y = dstTo.getY();
-        int z = dstTo.getZ();
 
         if (type.needsDistanceToAnyStructure()) {
             for (StructureType tt : StructureType.values()) {
@@ -59,46 +78,32 @@ public class StructureGenBuffer extends CachedWorldData {
                         tt.equals(type)) {
                     continue;
                 }
-                for (BlockPos position : generatedStructures.get(type)) {
-                    double dst = position.getDistance(x, y, z);
-                    if (dst <= halfDst) {
-                        return dst; //Fast fail on close structures
-                    }
+                double dst = generatedStructures.get(tt).getDistanceToAnyWithin(dstTo, halfDst);
+                if (dst != -1) {
+                    return dst; //Fast fail on close structures
                 }
             }
         }
 
-        for (BlockPos position : generatedStructures.get(type)) {
-            double dst = position.getDistance(x, y, z);
-            if(dst < closest) {
-                closest = dst;
-            }
-        }
-        return closest;
+        return generatedStructures.get(type).getDistanceToClosest(dstTo);
     }
 
     @Nullable
     public BlockPos getClosest(StructureType type, BlockPos dstTo) {
-        double closest = Double.MAX_VALUE;
-        BlockPos closestPos = null;
-        int x = dstTo.getX();
-        int y = dstTo.getY();
-        int z = dstTo.getZ();
-        for (BlockPos position : generatedStructures.get(type)) {
-            double dst = position.getDistance(x, y, z);
-            if(dst < closest) {
-                closest = dst;
-                closestPos = position;
-            }
-        }
-        return closestPos;
+        return generatedStructures.get(type).getClosest(dstTo);
     }
 
-    @Override
-    public void readFromNBT(NBTTagCompound compound) {
+    private void resetData() {
         for (StructureType type : StructureType.values()) {
             generatedStructures.get(type).clear();
         }
+        dirtyRegions.clear();
+        syncedDirectory = null;
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound compound) {
+        resetData();
 
         for (StructureType type : StructureType.values()) {
             NBTTagList list = compound.getTagList(type.name().toLowerCase(), Constants.NBT.TAG_COMPOUND);
@@ -114,13 +119,153 @@ public class StructureGenBuffer extends CachedWorldData {
     public void writeToNBT(NBTTagCompound compound) {
         for (StructureType type : StructureType.values()) {
             NBTTagList list = new NBTTagList();
-            for (BlockPos pos : generatedStructures.get(type)) {
+            for (BlockPos pos : generatedStructures.get(type).getPositions()) {
                 NBTTagCompound tag = new NBTTagCompound();
                 NBTHelper.writeBlockPosToNBT(pos, tag);
                 list.appendTag(tag);
             }
             compound.setTag(type.name().toLowerCase(), list);
         }
+        syncedDirectory = null;
+    }
+
+    @Override
+    public boolean useDirectoryStorage() {
+        return true;
+    }
+
+    @Override
+    public void readFromDirectory(File directory) throws IOException {
+        resetData();
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                if (!REGION_FILE.matcher(f.getName()).matches()) continue;
+                try {
+                    readRegion(f);
+                } catch (IOException exc) {
+                    AstralSorcery.log.warn("Couldn't load generated structures from " + f.getName() + " - skipping them!");
+                    exc.printStackTrace();
+                }
+            }
+        }
+        syncedDirectory = directory;
+    }
+
+    private void readRegion(File f) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(f))))) {
+            if (in.readInt() != REGION_MAGIC) {
+                throw new IOException("Not a structure region file: " + f.getName());
+            }
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unknown structure region format version " + version);
+            }
+            int types = in.readShort();
+            for (int i = 0; i < types; i++) {
+                String typeName = in.readUTF();
+                int count = in.readInt();
+                PositionGridIndex index = null;
+                try {
+                    index = generatedStructures.get(StructureType.valueOf(typeName));
+                } catch (IllegalArgumentException exc) {
+                    AstralSorcery.log.warn("Skipping generated structures of unknown type " + typeName + " in " + f.getName());
+                }
+                for (int j = 0; j < count; j++) {
+                    long pos = in.readLong();
+                    if (index != null) {
+                        index.add(BlockPos.fromLong(pos));
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void writeToDirectory(File directory) throws IOException {
+        WorldDataWriter writer = WorldDataWriter.getInstance();
+        Set<Long> toWrite;
+        if (!directory.equals(syncedDirectory)) {
+            //Everything is new to that directory. Write all of it and remove what isn't there anymore.
+            toWrite = new HashSet<>();
+            for (PositionGridIndex index : generatedStructures.values()) {
+                for (BlockPos pos : index.getPositions()) {
+                    toWrite.add(regionKey(pos.getX() >> REGION_SHIFT, pos.getZ() >> REGION_SHIFT));
+                }
+            }
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File f : files) {
+                    Matcher m = REGION_FILE.matcher(f.getName());
+                    if (m.matches() && !toWrite.contains(regionKey(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))))) {
+                        writer.delete(f);
+                    }
+                }
+            }
+        } else {
+            toWrite = new HashSet<>(dirtyRegions);
+        }
+
+        for (long key : toWrite) {
+            byte[] data = encodeRegion(regionX(key), regionZ(key));
+            File f = new File(directory, "r." + regionX(key) + "." + regionZ(key) + ".bin");
+            writer.write(f, null, out -> {
+                GZIPOutputStream gzip = new GZIPOutputStream(out);
+                gzip.write(data);
+                gzip.finish();
+            });
+        }
+        dirtyRegions.clear();
+        syncedDirectory = directory;
+    }
+
+    private byte[] encodeRegion(int regionX, int regionZ) {
+        int cellsPerRegion = 1 << (REGION_SHIFT - CELL_SHIFT);
+        int cX0 = regionX * cellsPerRegion, cZ0 = regionZ * cellsPerRegion;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(REGION_MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeShort(StructureType.values().length);
+            for (StructureType type : StructureType.values()) {
+                PositionGridIndex index = generatedStructures.get(type);
+                List<LongList> cells = new ArrayList<>();
+                int count = 0;
+                for (int cX = cX0; cX < cX0 + cellsPerRegion; cX++) {
+                    for (int cZ = cZ0; cZ < cZ0 + cellsPerRegion; cZ++) {
+                        LongList cell = index.getCell(cX, cZ);
+                        if (cell != null) {
+                            cells.add(cell);
+                            count += cell.size();
+                        }
+                    }
+                }
+                out.writeUTF(type.name());
+                out.writeInt(count);
+                for (LongList cell : cells) {
+                    for (int i = 0; i < cell.size(); i++) {
+                        out.writeLong(cell.getLong(i));
+                    }
+                }
+            }
+        } catch (IOException exc) {
+            throw new IllegalStateException("Writing to memory failed?", exc);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static long regionKey(int regionX, int regionZ) {
+        return (((long) regionX) << 32) | (regionZ & 0xFFFFFFFFL);
+    }
+
+    private static int regionX(long regionKey) {
+        return (int) (regionKey >> 32);
+    }
+
+    private static int regionZ(long regionKey) {
+        return (int) regionKey;
     }
 
     @Override
@@ -12,14 +12,19 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.data.world.CachedWorldData;
+import hellfirepvp.astralsorcery.common.data.world.IDirectoryStoredData;
 import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
+import hellfirepvp.astralsorcery.common.data.world.WorldDataWriter;
 import hellfirepvp.astralsorcery.common.structure.array.PatternBlockArray;
 import hellfirepvp.astralsorcery.common.structure.change.ChangeSubscriber;
+import hellfirepvp.astralsorcery.common.structure.change.StructureIntegrityObserver;
 import hellfirepvp.astralsorcery.common.structure.StructureMatcher;
 import hellfirepvp.astralsorcery.common.structure.StructureMatcherRegistry;
 import hellfirepvp.astralsorcery.common.structure.match.StructureMatcherPatternArray;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.nbt.NBTHelper;
+import hellfirepvp.astralsorcery.common.world.util.BlockChangeDispatcher;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.ResourceLocation;
@@ -31,9 +36,10 @@ import net.minecraftforge.common.util.Constants;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.io.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -42,17 +48,73 @@ import java.util.Map;
  * Created by HellFirePvP
  * Date: 02.12.2018 / 00:59
  */
-public class StructureMatchingBuffer extends CachedWorldData {
+//Stored as one small file per subscriber, so a save only writes the subscribers that actually changed.
+public class StructureMatchingBuffer extends CachedWorldData implements IDirectoryStoredData {
+
+    private static final Pattern SUBSCRIBER_FILE = Pattern.compile("s\\.(-?\\d+)\\.(-?\\d+)\\.(-?\\d+)\\.dat");
 
     private Map<ChunkPos, List<ChangeSubscriber<?>>> subscribers = Maps.newHashMap();
     private Map<BlockPos, ChangeSubscriber<?>> requestSubscribers = Maps.newHashMap();
 
+    //Subscribers with block changes that still need to be evaluated at the end of the tick.
+    private Set<ChangeSubscriber<?>> pendingEvaluation = new LinkedHashSet<>();
+
+    private Set<BlockPos> dirtySubscribers = new HashSet<>();
+    private Set<BlockPos> removedSubscribers = new HashSet<>();
+    //The directory that's known to be in sync with the data apart from the dirty and removed subscribers.
+    private File syncedDirectory = null;
+
+    //Chunks with subscribers are registered as interest with the BlockChangeDispatcher once the world is known.
+    private int dimId = 0;
+    private boolean interestRegistered = false;
+
     public StructureMatchingBuffer() {
         super(WorldCacheManager.SaveKey.STRUCTURE_MATCH);
     }
 
     @Override
-    public void updateTick(World world) {}
+    public void updateTick(World world) {
+        if (pendingEvaluation.isEmpty()) return;
+
+        List<ChangeSubscriber<?>> pending = new ArrayList<>(pendingEvaluation);
+        pendingEvaluation.clear();
+        for (ChangeSubscriber<?> subscriber : pending) {
+            subscriber.matches(world);
+        }
+    }
+
+    @Override
+    public void onLoad(World world) {
+        this.dimId = world.provider.getDimension();
+        this.interestRegistered = true;
+        for (Map.Entry<ChunkPos, List<ChangeSubscriber<?>>> entry : this.subscribers.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                BlockChangeDispatcher.getInstance().addChunkInterest(StructureIntegrityObserver.INSTANCE, dimId, entry.getKey().x, entry.getKey().z);
+            }
+        }
+    }
+
+    private void addToChunks(ChangeSubscriber<?> subscriber) {
+        for (ChunkPos pos : subscriber.getObservableChunks()) {
+            List<ChangeSubscriber<?>> chunkSubscribers = this.subscribers.computeIfAbsent(pos, (chPos) -> Lists.newArrayList());
+            if (chunkSubscribers.isEmpty() && interestRegistered) {
+                BlockChangeDispatcher.getInstance().addChunkInterest(StructureIntegrityObserver.INSTANCE, dimId, pos.x, pos.z);
+            }
+            chunkSubscribers.add(subscriber);
+        }
+    }
+
+    private void removeFromChunks(ChangeSubscriber<?> subscriber) {
+        for (ChunkPos pos : subscriber.getObservableChunks()) {
+            List<ChangeSubscriber<?>> chunkSubscribers = this.subscribers.get(pos);
+            if (chunkSubscribers != null && chunkSubscribers.remove(subscriber) && chunkSubscribers.isEmpty()) {
+                this.subscribers.remove(pos);
+                if (interestRegistered) {
+                    BlockChangeDispatcher.getInstance().removeChunkInterest(StructureIntegrityObserver.INSTANCE, dimId, pos.x, pos.z);
+                }
+            }
+        }
+    }
 
     @Nonnull
     public ChangeSubscriber<StructureMatcherPatternArray> observeAndInitializePattern(IBlockAccess world,
@@ -71,33 +133,41 @@ public class StructureMatchingBuffer extends CachedWorldData {
                     + matcher.getRegistryName().toString());
             AstralSorcery.log.warn("It will NOT persist! Register your matchers!");
         }
+        removeSubscriber(requester);
         ChangeSubscriber<T> subscriber = new ChangeSubscriber<>(requester, matcher);
         this.requestSubscribers.put(requester, subscriber);
-        for (ChunkPos pos : subscriber.getObservableChunks()) {
-            this.subscribers.computeIfAbsent(pos, (chPos) -> Lists.newArrayList()).add(subscriber);
-        }
+        addToChunks(subscriber);
 
-        markDirty();
+        markSubscriberDirty(requester);
         return subscriber;
     }
 
     public boolean removeSubscriber(BlockPos pos) {
-        if (requestSubscribers.remove(pos) != null) {
-            ChunkPos chunk = new ChunkPos(pos);
-            List<ChangeSubscriber<?>> chunkSubscribers = subscribers
-                    .computeIfAbsent(chunk, ch -> Lists.newArrayList());
-            chunkSubscribers.clear();
-            for (ChangeSubscriber<?> subscr : requestSubscribers.values()) {
-                if (subscr.getObservableChunks().contains(chunk)) {
-                    chunkSubscribers.add(subscr);
-                }
-            }
-
+        ChangeSubscriber<?> removed = requestSubscribers.remove(pos);
+        if (removed != null) {
+            removeFromChunks(removed);
+            pendingEvaluation.remove(removed);
+            dirtySubscribers.remove(pos);
+            removedSubscribers.add(pos);
+            markDirty();
             return true;
         }
         return false;
     }
 
+    //The subscriber is evaluated once at the end of the tick, no matter how many changes it got.
+    public void queueEvaluation(ChangeSubscriber<?> subscriber) {
+        if (requestSubscribers.get(subscriber.getRequester()) == subscriber) {
+            pendingEvaluation.add(subscriber);
+        }
+    }
+
+    public void markSubscriberDirty(BlockPos requester) {
+        removedSubscribers.remove(requester);
+        dirtySubscribers.add(requester);
+        markDirty();
+    }
+
     @Nullable
     public ChangeSubscriber<?> getSubscriber(BlockPos pos) {
         return this.requestSubscribers.get(pos);
@@ -108,32 +178,25 @@ public class StructureMatchingBuffer extends CachedWorldData {
         return this.subscribers.getOrDefault(pos, Collections.emptyList());
     }
 
-    @Override
-    public void readFromNBT(NBTTagCompound compound) {
+    private void resetData() {
+        if (interestRegistered) {
+            BlockChangeDispatcher.getInstance().clearChunkInterest(StructureIntegrityObserver.INSTANCE, dimId);
+        }
         this.subscribers.clear();
         this.requestSubscribers.clear();
+        this.pendingEvaluation.clear();
+        this.dirtySubscribers.clear();
+        this.removedSubscribers.clear();
+        this.syncedDirectory = null;
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound compound) {
+        resetData();
 
         NBTTagList subscriberList = compound.getTagList("subscribers", Constants.NBT.TAG_COMPOUND);
         for (int i = 0; i < subscriberList.tagCount(); i++) {
-            NBTTagCompound subscriberTag = subscriberList.getCompoundTagAt(i);
-
-            BlockPos requester = NBTHelper.readBlockPosFromNBT(subscriberTag);
-            ResourceLocation matchIdentifier = new ResourceLocation(subscriberTag.getString("identifier"));
-            StructureMatcher match = StructureMatcherRegistry.INSTANCE.provideNewMatcher(matchIdentifier);
-            if (match == null) {
-                AstralSorcery.log.warn("[Astral Sorcery] Unknown StructureMatcher: " +
-                        matchIdentifier.toString() + "! Skipping...");
-                continue;
-            }
-
-            ChangeSubscriber<?> subscriber = new ChangeSubscriber<>(requester, match);
-            subscriber.readFromNBT(subscriberTag.getCompoundTag("matchData"));
-
-            this.requestSubscribers.put(subscriber.getRequester(), subscriber);
-            for (ChunkPos chPos : subscriber.getObservableChunks()) {
-                this.subscribers.computeIfAbsent(chPos, pos -> Lists.newArrayList())
-                        .add(subscriber);
-            }
+            loadSubscriber(subscriberList.getCompoundTagAt(i));
         }
     }
 
@@ -142,16 +205,103 @@ public class StructureMatchingBuffer extends CachedWorldData {
         NBTTagList subscriberList = new NBTTagList();
 
         for (ChangeSubscriber<?> sub : this.requestSubscribers.values()) {
-            NBTTagCompound subscriber = new NBTTagCompound();
-            NBTHelper.writeBlockPosToNBT(sub.getRequester(), subscriber);
-            subscriber.setString("identifier", sub.getMatcher().getRegistryName().toString());
+            subscriberList.appendTag(writeSubscriber(sub));
+        }
+
+        compound.setTag("subscribers", subscriberList);
+        this.syncedDirectory = null;
+    }
+
+    @Override
+    public boolean useDirectoryStorage() {
+        return true;
+    }
+
+    @Override
+    public void readFromDirectory(File directory) throws IOException {
+        resetData();
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                if (!SUBSCRIBER_FILE.matcher(f.getName()).matches()) continue;
+                try (InputStream in = new FileInputStream(f)) {
+                    loadSubscriber(CompressedStreamTools.readCompressed(in));
+                } catch (IOException exc) {
+                    AstralSorcery.log.warn("Couldn't load structure subscriber from " + f.getName() + " - skipping it!");
+                    exc.printStackTrace();
+                }
+            }
+        }
+        this.dirtySubscribers.clear();
+        this.syncedDirectory = directory;
+    }
 
-            NBTHelper.setAsSubTag(subscriber, "matchData", sub::writeToNBT);
+    @Override
+    public void writeToDirectory(File directory) throws IOException {
+        WorldDataWriter writer = WorldDataWriter.getInstance();
+        Collection<BlockPos> toWrite;
+        if (!directory.equals(this.syncedDirectory)) {
+            //Everything is new to that directory. Write all of it and remove what isn't there anymore.
+            toWrite = this.requestSubscribers.keySet();
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File f : files) {
+                    Matcher m = SUBSCRIBER_FILE.matcher(f.getName());
+                    if (m.matches()) {
+                        BlockPos pos = new BlockPos(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)));
+                        if (!this.requestSubscribers.containsKey(pos)) {
+                            writer.delete(f);
+                        }
+                    }
+                }
+            }
+        } else {
+            toWrite = this.dirtySubscribers;
+            for (BlockPos pos : this.removedSubscribers) {
+                writer.delete(getSubscriberFile(directory, pos));
+            }
+        }
 
-            subscriberList.appendTag(subscriber);
+        for (BlockPos pos : toWrite) {
+            ChangeSubscriber<?> sub = this.requestSubscribers.get(pos);
+            if (sub == null) continue;
+            NBTTagCompound tag = writeSubscriber(sub);
+            writer.write(getSubscriberFile(directory, pos), null, out -> CompressedStreamTools.writeCompressed(tag, out));
         }
+        this.dirtySubscribers.clear();
+        this.removedSubscribers.clear();
+        this.syncedDirectory = directory;
+    }
 
-        compound.setTag("subscribers", subscriberList);
+    private static File getSubscriberFile(File directory, BlockPos pos) {
+        return new File(directory, "s." + pos.getX() + "." + pos.getY() + "." + pos.getZ() + ".dat");
+    }
+
+    private void loadSubscriber(NBTTagCompound subscriberTag) {
+        BlockPos requester = NBTHelper.readBlockPosFromNBT(subscriberTag);
+        ResourceLocation matchIdentifier = new ResourceLocation(subscriberTag.getString("identifier"));
+        StructureMatcher match = StructureMatcherRegistry.INSTANCE.provideNewMatcher(matchIdentifier);
+        if (match == null) {
+            AstralSorcery.log.warn("[Astral Sorcery] Unknown StructureMatcher: " +
+                    matchIdentifier.toString() + "! Skipping...");
+            return;
+        }
+
+        ChangeSubscriber<?> subscriber = new ChangeSubscriber<>(requester, match);
+        subscriber.readFromNBT(subscriberTag.getCompoundTag("matchData"));
+
+        this.requestSubscribers.put(subscriber.getRequester(), subscriber);
+        addToChunks(subscriber);
+    }
+
+    private NBTTagCompound writeSubscriber(ChangeSubscriber<?> sub) {
+        NBTTagCompound subscriber = new NBTTagCompound();
+        NBTHelper.writeBlockPosToNBT(sub.getRequester(), subscriber);
+        subscriber.setString("identifier", sub.getMatcher().getRegistryName().toString());
+
+        NBTHelper.setAsSubTag(subscriber, "matchData", sub::writeToNBT);
+        return subscriber;
     }
 
 }
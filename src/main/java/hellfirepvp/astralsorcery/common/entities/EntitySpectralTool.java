@@ -15,6 +15,7 @@ import hellfirepvp.astralsorcery.common.CommonProxy;
 import hellfirepvp.astralsorcery.common.constellation.IConstellation;
 import hellfirepvp.astralsorcery.common.constellation.cape.impl.CapeEffectPelotrio;
 import hellfirepvp.astralsorcery.common.util.DamageUtil;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.EntityUtils;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
@@ -260,7 +261,8 @@ public class EntitySpectralTool extends EntityFlying implements EntityTechnicalA
                         );
                         return validStateLog != null;
                     case ATTACK_MONSTER:
-                        java.util.List<EntityLivingBase> eList = this.parentEntity.world.getEntitiesWithinAABB(
+                        java.util.List<EntityLivingBase> eList = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(
+                                this.parentEntity.world,
                                 EntityLivingBase.class,
                                 new AxisAlignedBB(-8, -8, -8, 8, 8, 8).offset(this.parentEntity.getPosition()),
                                 e -> e != null && !e.isDead && e.isCreatureType(EnumCreatureType.MONSTER, false));
@@ -360,7 +362,8 @@ public class EntitySpectralTool extends EntityFlying implements EntityTechnicalA
                         this.designatedAttackTarget = null;
                         resetTimer = true;
                     } else {
-                        java.util.List<EntityLivingBase> eList = this.parentEntity.world.getEntitiesWithinAABB(
+                        java.util.List<EntityLivingBase> eList = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(
+                                this.parentEntity.world,
                                 EntityLivingBase.class,
                                 new AxisAlignedBB(-8, -8, -8, 8, 8, 8).offset(this.parentEntity.getPosition()),
                                 e -> e != null && !e.isDead && e.isCreatureType(EnumCreatureType.MONSTER, false));
@@ -437,7 +440,8 @@ public class EntitySpectralTool extends EntityFlying implements EntityTechnicalA
                     }
                     break;
                 case ATTACK_MONSTER:
-                    java.util.List<EntityLivingBase> eList = this.parentEntity.world.getEntitiesWithinAABB(
+                    java.util.List<EntityLivingBase> eList = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(
+                            this.parentEntity.world,
                             EntityLivingBase.class,
                             new AxisAlignedBB(-8, -8, -8, 8, 8, 8).offset(this.parentEntity.getPosition()),
                             e -> e != null && !e.isDead && e.isCreatureType(EnumCreatureType.MONSTER, false));
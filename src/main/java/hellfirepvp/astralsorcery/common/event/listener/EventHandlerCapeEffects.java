@@ -25,6 +25,7 @@ import hellfirepvp.astralsorcery.common.network.packet.client.PktElytraCapeState
 import hellfirepvp.astralsorcery.common.network.packet.server.PktParticleEvent;
 import hellfirepvp.astralsorcery.common.util.CropHelper;
 import hellfirepvp.astralsorcery.common.util.DamageUtil;
+import hellfirepvp.astralsorcery.common.util.EntityQueryCache;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
 import hellfirepvp.astralsorcery.core.ASMCallHook;
@@ -301,7 +302,7 @@ public class EventHandlerCapeEffects implements ITickHandler {
                 AxisAlignedBB bb = new AxisAlignedBB(-range, -range, -range, range, range, range);
                 bb = bb.offset(pl.posX, pl.posY, pl.posZ);
                 Predicate<Entity> pr = EntitySelectors.NOT_SPECTATING.and(EntitySelectors.IS_ALIVE);
-                List<EntityPlayer> players = w.getEntitiesWithinAABB(EntityPlayer.class, bb, pr::test);
+                List<EntityPlayer> players = EntityQueryCache.INSTANCE.getEntitiesWithinAABB(w, EntityPlayer.class, bb, pr::test);
                 for (EntityPlayer player : players) {
                     if(rand.nextFloat() <= cd.getFeedChancePerCycle()) {
                         player.heal(cd.getHealPerCycle());
@@ -28,10 +28,9 @@ import hellfirepvp.astralsorcery.common.network.packet.server.PktParticleEvent;
 import hellfirepvp.astralsorcery.common.registry.RegistryPotions;
 import hellfirepvp.astralsorcery.common.util.EntityUtils;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
-import hellfirepvp.astralsorcery.common.util.data.TickTokenizedMap;
+import hellfirepvp.astralsorcery.common.util.data.SpawnDenyRegionMap;
 import hellfirepvp.astralsorcery.common.util.data.TimeoutList;
 import hellfirepvp.astralsorcery.common.util.data.Vector3;
-import hellfirepvp.astralsorcery.common.util.data.WorldBlockPos;
 import net.minecraft.block.Block;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.*;
@@ -79,7 +78,7 @@ public class EventHandlerEntity {
     private static final Color discidiaWandColor = new Color(0x880100);
 
     public static int spawnSkipId = -1;
-    public static TickTokenizedMap<WorldBlockPos, TickTokenizedMap.SimpleTickToken<Double>> spawnDenyRegions = new TickTokenizedMap<>(TickEvent.Type.SERVER);
+    public static SpawnDenyRegionMap spawnDenyRegions = new SpawnDenyRegionMap();
     public static TimeoutList<EntityPlayer> invulnerabilityCooldown = new TimeoutList<>(null, TickEvent.Type.SERVER);
     public static TimeoutList<EntityPlayer> ritualFlight = new TimeoutList<>(player -> {
         if(player instanceof EntityPlayerMP && ((EntityPlayerMP) player).interactionManager.getGameType().isSurvivalOrAdventure()) {
@@ -318,16 +317,9 @@ public class EventHandlerEntity {
             return;
         }
 
-        Vector3 at = Vector3.atEntityCorner(toTest);
         boolean mayDeny = Config.doesMobSpawnDenyDenyEverything || toTest.isCreatureType(EnumCreatureType.MONSTER, false);
-        if (mayDeny) {
-            for (Map.Entry<WorldBlockPos, TickTokenizedMap.SimpleTickToken<Double>> entry : spawnDenyRegions.entrySet()) {
-                if (!entry.getKey().getWorld().equals(toTest.getEntityWorld())) continue;
-                if (at.distance(entry.getKey()) <= entry.getValue().getValue()) {
-                    event.setResult(Event.Result.DENY);
-                    return;
-                }
-            }
+        if (mayDeny && spawnDenyRegions.isDenied(toTest.getEntityWorld(), toTest.posX, toTest.posY, toTest.posZ)) {
+            event.setResult(Event.Result.DENY);
         }
     }
 
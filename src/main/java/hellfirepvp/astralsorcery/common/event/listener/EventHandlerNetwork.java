@@ -13,6 +13,7 @@ import hellfirepvp.astralsorcery.common.auxiliary.CelestialGatewaySystem;
 import hellfirepvp.astralsorcery.common.constellation.charge.PlayerChargeHandler;
 import hellfirepvp.astralsorcery.common.data.SyncDataHolder;
 import hellfirepvp.astralsorcery.common.data.research.ResearchManager;
+import hellfirepvp.astralsorcery.common.item.tool.sextant.SextantSearchService;
 import hellfirepvp.astralsorcery.common.network.PacketChannel;
 import hellfirepvp.astralsorcery.common.network.packet.server.PktFinalizeLogin;
 import net.minecraft.entity.player.EntityPlayer;
@@ -44,12 +45,25 @@ public class EventHandlerNetwork {
         });
     }
 
+    @SubscribeEvent
+    public void onDimensionChange(PlayerEvent.PlayerChangedDimensionEvent e) {
+        SyncDataHolder.syncDimensionalDataTo(e.player);
+        SextantSearchService.getInstance().cancel(e.player);
+    }
+
+    @SubscribeEvent
+    public void onRespawn(PlayerEvent.PlayerRespawnEvent e) {
+        //Leaving the end through the portal respawns the player instead of changing the dimension.
+        SyncDataHolder.syncDimensionalDataTo(e.player);
+    }
+
     @SubscribeEvent
     public void onLogout(PlayerEvent.PlayerLoggedOutEvent e) {
         EntityPlayer player = e.player;
 
         PlayerChargeHandler.INSTANCE.informDisconnect(player);
         EventHandlerEntity.attackStack.remove(e.player.getEntityId());
+        SextantSearchService.getInstance().cancel(player);
         //ResearchManager.logoutResetClient(player);
     }
 
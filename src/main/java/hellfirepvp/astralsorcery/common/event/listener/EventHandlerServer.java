@@ -8,12 +8,10 @@
 
 package hellfirepvp.astralsorcery.common.event.listener;
 
-import hellfirepvp.astralsorcery.common.base.RockCrystalHandler;
-import hellfirepvp.astralsorcery.common.block.BlockCustomOre;
 import hellfirepvp.astralsorcery.common.block.BlockMachine;
 import hellfirepvp.astralsorcery.common.data.config.Config;
 import hellfirepvp.astralsorcery.common.data.research.ResearchManager;
-import hellfirepvp.astralsorcery.common.event.BlockModifyEvent;
+import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
 import hellfirepvp.astralsorcery.common.item.base.ISpecialInteractItem;
 import hellfirepvp.astralsorcery.common.item.knowledge.ItemFragmentCapsule;
 import hellfirepvp.astralsorcery.common.item.knowledge.ItemKnowledgeFragment;
@@ -26,7 +24,6 @@ import hellfirepvp.astralsorcery.common.network.PacketChannel;
 import hellfirepvp.astralsorcery.common.network.packet.server.PktCraftingTableFix;
 import hellfirepvp.astralsorcery.common.network.packet.server.PktParticleEvent;
 import hellfirepvp.astralsorcery.common.registry.RegistryPotions;
-import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
 import hellfirepvp.astralsorcery.common.tile.TileFakeTree;
 import hellfirepvp.astralsorcery.common.util.ItemUtils;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
@@ -43,7 +40,6 @@ import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.init.Blocks;
 import net.minecraft.init.Enchantments;
 import net.minecraft.init.MobEffects;
 import net.minecraft.inventory.ContainerWorkbench;
@@ -66,8 +62,6 @@ import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.FMLCommonHandler;
-import net.minecraftforge.fml.common.Loader;
-import net.minecraftforge.fml.common.LoaderState;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent;
@@ -253,51 +247,20 @@ public class EventHandlerServer {
 
     @SubscribeEvent
     public void onLoad(WorldEvent.Load event) {
-        event.getWorld().addEventListener(new WorldEventNotifier());
+        World world = event.getWorld();
+        world.addEventListener(new WorldEventNotifier());
+        if (!world.isRemote) {
+            //Both register the chunks they need block changes for while loading.
+            WorldCacheManager.getOrLoadData(world, WorldCacheManager.SaveKey.LIGHT_NETWORK);
+            WorldCacheManager.getOrLoadData(world, WorldCacheManager.SaveKey.STRUCTURE_MATCH);
+        }
 
-        GameRules rules = event.getWorld().getGameRules();
+        GameRules rules = world.getGameRules();
         if (!rules.hasRule(MiscUtils.GAMERULE_SKIP_SKYLIGHT_CHECK)) {
             rules.addGameRule(MiscUtils.GAMERULE_SKIP_SKYLIGHT_CHECK, "false", GameRules.ValueType.BOOLEAN_VALUE);
         }
     }
 
-    @SubscribeEvent
-    public void onChange(BlockModifyEvent event) {
-        if (event.getWorld().isRemote ||
-                !event.getChunk().isTerrainPopulated()) return;
-        if (!Loader.instance().hasReachedState(LoaderState.SERVER_ABOUT_TO_START)) {
-            return; //Thanks BuildCraft.
-        }
-        BlockPos at = event.getPos();
-        WorldNetworkHandler.getNetworkHandler(event.getWorld()).informBlockChange(at);
-        if (event.getNewBlock().equals(Blocks.CRAFTING_TABLE)) {
-            if (!event.getOldBlock().equals(Blocks.CRAFTING_TABLE)) {
-                WorldNetworkHandler.getNetworkHandler(event.getWorld()).attemptAutoLinkTo(at);
-            }
-        }
-        if (event.getOldBlock().equals(Blocks.CRAFTING_TABLE)) {
-            if (!event.getNewBlock().equals(Blocks.CRAFTING_TABLE)) {
-                WorldNetworkHandler.getNetworkHandler(event.getWorld()).removeAutoLinkTo(at);
-            }
-        }
-        if (event.getNewBlock().equals(BlocksAS.blockAltar)) {
-            if (!event.getOldBlock().equals(BlocksAS.blockAltar)) {
-                WorldNetworkHandler.getNetworkHandler(event.getWorld()).attemptAutoLinkTo(at);
-            }
-        }
-        if (event.getOldBlock().equals(BlocksAS.blockAltar)) {
-            if (!event.getNewBlock().equals(BlocksAS.blockAltar)) {
-                WorldNetworkHandler.getNetworkHandler(event.getWorld()).removeAutoLinkTo(at);
-            }
-        }
-        if (event.getOldBlock().equals(BlocksAS.customOre)) {
-            IBlockState oldState = event.getOldState();
-            if (oldState.getValue(BlockCustomOre.ORE_TYPE).equals(BlockCustomOre.OreType.ROCK_CRYSTAL)) {
-                RockCrystalHandler.INSTANCE.removeOre(event.getWorld(), event.getPos(), true);
-            }
-        }
-    }
-
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public void onBreak(BlockEvent.BreakEvent event) {
         if (event.getWorld().isRemote) return;
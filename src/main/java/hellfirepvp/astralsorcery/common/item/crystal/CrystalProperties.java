@@ -8,6 +8,7 @@
 
 package hellfirepvp.astralsorcery.common.item.crystal;
 
+import com.google.common.collect.MapMaker;
 import hellfirepvp.astralsorcery.common.data.research.EnumGatedKnowledge;
 import hellfirepvp.astralsorcery.common.data.research.ProgressionTier;
 import hellfirepvp.astralsorcery.common.data.research.ResearchManager;
@@ -24,6 +25,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
@@ -44,6 +46,10 @@ public class CrystalProperties {
     private static final CrystalProperties MAXED_ROCK_PROPERTIES = new CrystalProperties(MAX_SIZE_ROCK, 100, 100, 0, -1);
     private static final CrystalProperties MAXED_CELESTIAL_PROPERTIES = new CrystalProperties(MAX_SIZE_CELESTIAL, 100, 100, 0, -1);
 
+    //Decoded properties by the identity of their item's 'crystalProperties' tag.
+    //applyCrystalProperties always stores a new tag, so a tag that's cached never changes; copied stacks simply miss.
+    private static final Map<NBTTagCompound, CrystalProperties> decodedProperties = new MapMaker().weakKeys().makeMap();
+
     protected int size; //(theoretically) 0 to X
     protected int purity; //0 to 100 where 100 being completely pure.
     protected int collectiveCapability; //0 to 100 where 100 being best collection rate.
@@ -239,12 +245,17 @@ public class CrystalProperties {
         NBTTagCompound cmp = NBTHelper.getPersistentData(stack);
         if (!cmp.hasKey("crystalProperties")) return null;
         NBTTagCompound prop = cmp.getCompoundTag("crystalProperties");
-        Integer size = prop.getInteger("size");
-        Integer purity = prop.getInteger("purity");
-        Integer colCap = prop.getInteger("collectiveCapability");
-        Integer fract = prop.getInteger("fract");
-        Integer sizeOvr = NBTHelper.getInteger(prop, "sizeOverride", -1);
-        return new CrystalProperties(size, purity, colCap, fract, sizeOvr);
+        CrystalProperties decoded = decodedProperties.get(prop);
+        if (decoded == null) {
+            int size = prop.getInteger("size");
+            int purity = prop.getInteger("purity");
+            int colCap = prop.getInteger("collectiveCapability");
+            int fract = prop.getInteger("fract");
+            int sizeOvr = NBTHelper.getInteger(prop, "sizeOverride", -1);
+            decoded = new CrystalProperties(size, purity, colCap, fract, sizeOvr);
+            decodedProperties.put(prop, decoded);
+        }
+        return decoded;
     }
 
     @Override
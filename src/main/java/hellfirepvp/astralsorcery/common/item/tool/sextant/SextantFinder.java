@@ -135,6 +135,11 @@ public class SextantFinder {
         @Nullable
         public abstract BlockPos searchFor(WorldServer world, BlockPos searchPos);
 
+        //If false, searchFor is cheap and is run directly on the server thread instead of a search worker.
+        public boolean searchOffThread() {
+            return true;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -212,6 +217,12 @@ public class SextantFinder {
         public BlockPos searchFor(WorldServer world, BlockPos searchPos) {
             return StructureFinder.tryFindClosestAstralSorceryStructure(world, searchPos, structureType);
         }
+
+        //Just an index lookup; and the buffer is written to by worldgen on the server thread.
+        @Override
+        public boolean searchOffThread() {
+            return false;
+        }
     }
 
     public static class Structure extends ASTargetObject {
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.item.tool.sextant;
+
+import hellfirepvp.astralsorcery.AstralSorcery;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: SextantSearchService
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 12:58
+ */
+//Runs sextant target searches on a small shared pool of worker threads and hands the results back on the server thread.
+//Results are cached per dimension, region and target for a while, as the closest target barely changes while moving around within a region.
+//Players asking for the same target in the same region share a single search, and a player may wait on any number of searches at once.
+//The lookups the sextant's selection screen does for display are dropped once the screen is closed;
+//everything a player waits on is dropped when changing dimension or logging out.
+//Everything except the search itself happens on the server thread.
+public class SextantSearchService {
+
+    private static final SextantSearchService instance = new SextantSearchService();
+
+    private static final int REGION_SHIFT = 8;
+    private static final long CACHE_DURATION_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_CACHED_RESULTS = 512;
+
+    private final ExecutorService workers;
+
+    private final Map<SearchKey, CachedResult> resultCache = new LinkedHashMap<SearchKey, CachedResult>(64, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SearchKey, CachedResult> eldest) {
+            return size() > MAX_CACHED_RESULTS;
+        }
+    };
+    private final Map<SearchKey, Search> runningSearches = new HashMap<>();
+    private final Map<UUID, Set<Search>> playerSearches = new HashMap<>();
+
+    private SextantSearchService() {
+        AtomicInteger threadIndex = new AtomicInteger(0);
+        int threads = MathHelper.clamp(Runtime.getRuntime().availableProcessors() / 2, 1, 2);
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread tr = new Thread(r, "AstralSorcery-SextantSearch-" + threadIndex.incrementAndGet());
+            tr.setDaemon(true);
+            return tr;
+        });
+    }
+
+    public static SextantSearchService getInstance() {
+        return instance;
+    }
+
+    //'onResult' is called on the server thread, possibly right away. The result may be null if nothing was found.
+    //Display lookups are dropped when the player closes the sextant's selection screen.
+    public void search(EntityPlayerMP player, SextantFinder.TargetObject target, boolean displayLookup, Consumer<BlockPos> onResult) {
+        WorldServer world = player.getServerWorld();
+        BlockPos searchPos = player.getPosition();
+
+        if(!target.searchOffThread()) {
+            onResult.accept(target.searchFor(world, searchPos));
+            return;
+        }
+
+        SearchKey key = new SearchKey(world.provider.getDimension(),
+                searchPos.getX() >> REGION_SHIFT, searchPos.getZ() >> REGION_SHIFT, target.getRegistryName());
+        CachedResult cached = resultCache.get(key);
+        if(cached != null) {
+            if(!cached.isExpired()) {
+                onResult.accept(cached.result);
+                return;
+            }
+            resultCache.remove(key);
+        }
+
+        UUID playerUUID = player.getUniqueID();
+        Search search = runningSearches.get(key);
+        if(search == null) {
+            search = startSearch(key, world, searchPos, target);
+        }
+        if(displayLookup) {
+            //The screen asks again every now and then; only the latest answer is of interest.
+            search.waiting.removeIf(w -> w.displayLookup && w.playerUUID.equals(playerUUID));
+        }
+        search.waiting.add(new Waiting(playerUUID, displayLookup, onResult));
+        playerSearches.computeIfAbsent(playerUUID, uuid -> new HashSet<>()).add(search);
+    }
+
+    public void cancelDisplayLookups(EntityPlayer player) {
+        cancel(player, true);
+    }
+
+    public void cancel(EntityPlayer player) {
+        cancel(player, false);
+    }
+
+    private void cancel(EntityPlayer player, boolean displayLookupsOnly) {
+        UUID playerUUID = player.getUniqueID();
+        Set<Search> searches = playerSearches.get(playerUUID);
+        if(searches == null) {
+            return;
+        }
+        Iterator<Search> iterator = searches.iterator();
+        while (iterator.hasNext()) {
+            Search search = iterator.next();
+            search.waiting.removeIf(w -> w.playerUUID.equals(playerUUID) && (!displayLookupsOnly || w.displayLookup));
+            if(search.waiting.isEmpty()) {
+                runningSearches.remove(search.key, search);
+                search.task.cancel(true);
+            }
+            if(search.waiting.stream().noneMatch(w -> w.playerUUID.equals(playerUUID))) {
+                iterator.remove();
+            }
+        }
+        if(searches.isEmpty()) {
+            playerSearches.remove(playerUUID);
+        }
+    }
+
+    public void clear() {
+        for (Search search : runningSearches.values()) {
+            search.task.cancel(true);
+        }
+        runningSearches.clear();
+        playerSearches.clear();
+        resultCache.clear();
+    }
+
+    private Search startSearch(SearchKey key, WorldServer world, BlockPos searchPos, SextantFinder.TargetObject target) {
+        Search search = new Search(key);
+        MinecraftServer server = world.getMinecraftServer();
+        search.task = workers.submit(() -> {
+            BlockPos result;
+            try {
+                result = target.searchFor(world, searchPos);
+            } catch (Exception exc) {
+                AstralSorcery.log.warn("Sextant search for " + target.getRegistryName() + " around " + searchPos + " failed!");
+                exc.printStackTrace();
+                server.addScheduledTask(() -> finish(search, null, false));
+                return;
+            }
+            server.addScheduledTask(() -> finish(search, result, true));
+        });
+        runningSearches.put(key, search);
+        return search;
+    }
+
+    private void finish(Search search, @Nullable BlockPos result, boolean successful) {
+        if(successful) {
+            resultCache.put(search.key, new CachedResult(result));
+        }
+        if(!runningSearches.remove(search.key, search)) {
+            return; //Cancelled or cleared in the meantime
+        }
+        for (Waiting waiting : search.waiting) {
+            Set<Search> searches = playerSearches.get(waiting.playerUUID);
+            if(searches != null && searches.remove(search) && searches.isEmpty()) {
+                playerSearches.remove(waiting.playerUUID);
+            }
+            waiting.onResult.accept(result);
+        }
+    }
+
+    private static class Search {
+
+        private final SearchKey key;
+        private final List<Waiting> waiting = new ArrayList<>();
+        private Future<?> task;
+
+        private Search(SearchKey key) {
+            this.key = key;
+        }
+
+    }
+
+    private static class Waiting {
+
+        private final UUID playerUUID;
+        private final boolean displayLookup;
+        private final Consumer<BlockPos> onResult;
+
+        private Waiting(UUID playerUUID, boolean displayLookup, Consumer<BlockPos> onResult) {
+            this.playerUUID = playerUUID;
+            this.displayLookup = displayLookup;
+            this.onResult = onResult;
+        }
+
+    }
+
+    private static class CachedResult {
+
+        @Nullable
+        private final BlockPos result;
+        private final long expiry;
+
+        private CachedResult(@Nullable BlockPos result) {
+            this.result = result;
+            this.expiry = System.currentTimeMillis() + CACHE_DURATION_MS;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiry;
+        }
+
+    }
+
+    private static class SearchKey {
+
+        private final int dimId;
+        private final int regionX, regionZ;
+        private final String target;
+
+        private SearchKey(int dimId, int regionX, int regionZ, String target) {
+            this.dimId = dimId;
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SearchKey that = (SearchKey) o;
+            return dimId == that.dimId && regionX == that.regionX && regionZ == that.regionZ && target.equals(that.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimId, regionX, regionZ, target);
+        }
+
+    }
+
+}
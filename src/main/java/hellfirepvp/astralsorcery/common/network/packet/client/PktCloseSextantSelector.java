@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.network.packet.client;
+
+import hellfirepvp.astralsorcery.common.item.tool.sextant.SextantSearchService;
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: PktCloseSextantSelector
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 15:21
+ */
+public class PktCloseSextantSelector implements IMessageHandler<PktCloseSextantSelector, IMessage>, IMessage {
+
+    public PktCloseSextantSelector() {}
+
+    @Override
+    public void fromBytes(ByteBuf buf) {}
+
+    @Override
+    public void toBytes(ByteBuf buf) {}
+
+    @Override
+    public IMessage onMessage(PktCloseSextantSelector message, MessageContext ctx) {
+        FMLCommonHandler.instance().getMinecraftServerInstance().addScheduledTask(() ->
+                SextantSearchService.getInstance().cancelDisplayLookups(ctx.getServerHandler().player));
+        return null;
+    }
+
+}
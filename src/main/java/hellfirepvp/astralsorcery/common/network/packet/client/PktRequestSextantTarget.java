@@ -11,6 +11,7 @@ package hellfirepvp.astralsorcery.common.network.packet.client;
 import hellfirepvp.astralsorcery.client.util.UISextantCache;
 import hellfirepvp.astralsorcery.common.data.research.ResearchManager;
 import hellfirepvp.astralsorcery.common.item.tool.sextant.SextantFinder;
+import hellfirepvp.astralsorcery.common.item.tool.sextant.SextantSearchService;
 import hellfirepvp.astralsorcery.common.lib.ItemsAS;
 import hellfirepvp.astralsorcery.common.network.PacketChannel;
 import hellfirepvp.astralsorcery.common.network.packet.ClientReplyPacket;
@@ -23,7 +24,6 @@ import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
@@ -32,12 +32,6 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import javax.annotation.Nullable;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -93,22 +87,11 @@ public class PktRequestSextantTarget implements IMessageHandler<PktRequestSextan
                         return;
                     }
 
-                    ExecutorService exec = Executors.newSingleThreadExecutor();
-                    try {
-                        exec.invokeAll(Collections.singletonList(
-                                () -> {
-                                    BlockPos result = to.searchFor((WorldServer) player.world, player.getPosition());
-
-                                    PktRequestSextantTarget target = new PktRequestSextantTarget(to, result, player.world.provider.getDimension());
-                                    PacketChannel.CHANNEL.sendTo(target, player);
-                                    return null;
-                                }
-                        ), 5, TimeUnit.SECONDS);
-                    } catch (InterruptedException ignored) {
-                        // No-Op, drop the task if it fails.
-                    } finally {
-                        exec.shutdown();
-                    }
+                    int dimension = player.world.provider.getDimension();
+                    SextantSearchService.getInstance().search(player, to, true, (result) -> {
+                        PktRequestSextantTarget target = new PktRequestSextantTarget(to, result, dimension);
+                        PacketChannel.CHANNEL.sendTo(target, player);
+                    });
                 }
             });
         } else {
@@ -12,13 +12,12 @@ import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.data.research.ResearchManager;
 import hellfirepvp.astralsorcery.common.item.tool.sextant.ItemSextant;
 import hellfirepvp.astralsorcery.common.item.tool.sextant.SextantFinder;
+import hellfirepvp.astralsorcery.common.item.tool.sextant.SextantSearchService;
 import hellfirepvp.astralsorcery.common.util.ByteBufUtils;
 import io.netty.buffer.ByteBuf;
-import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumHand;
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
@@ -66,23 +65,19 @@ public class PktSetSextantTarget implements IMessage, IMessageHandler<PktSetSext
             if(held.isEmpty() || !(held.getItem() instanceof ItemSextant)) {
                 return;
             }
-            EntityPlayer player = ctx.getServerHandler().player;
-            Thread tr = new Thread(() -> {
-                //May be null; In that case, tell that to the client as well so it won't ask the server any longer.
-                BlockPos result = target.searchFor((WorldServer) player.world, player.getPosition());
+            EntityPlayerMP player = ctx.getServerHandler().player;
+            int dimension = player.world.provider.getDimension();
+            SextantSearchService.getInstance().search(player, target, false, (result) -> {
+                //May be null; In that case, there's nothing to point the sextant at.
                 if (result != null) {
-                    FMLCommonHandler.instance().getMinecraftServerInstance().addScheduledTask(() -> {
-                        if (ResearchManager.useSextantTarget(target, player)) {
-                            ItemSextant.setTarget(held, target);
-                            ItemSextant.setCurrentTargetInformation(held, result, player.world.provider.getDimension());
-                        } else {
-                            AstralSorcery.log.warn("Could not set used sextant target for player " + player.getDisplayName() + " - missing progress!");
-                        }
-                    });
+                    if (ResearchManager.useSextantTarget(target, player)) {
+                        ItemSextant.setTarget(held, target);
+                        ItemSextant.setCurrentTargetInformation(held, result, dimension);
+                    } else {
+                        AstralSorcery.log.warn("Could not set used sextant target for player " + player.getDisplayName() + " - missing progress!");
+                    }
                 }
             });
-            tr.setName("SextantTargetFinder-Applying ThreadId=" + tr.getId());
-            tr.start();
         });
         return null;
     }
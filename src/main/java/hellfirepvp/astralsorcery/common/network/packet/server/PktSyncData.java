@@ -10,6 +10,8 @@ package hellfirepvp.astralsorcery.common.network.packet.server;
 
 import hellfirepvp.astralsorcery.AstralSorcery;
 import hellfirepvp.astralsorcery.common.data.AbstractData;
+import hellfirepvp.astralsorcery.common.data.AbstractDimensionalData;
+import hellfirepvp.astralsorcery.common.data.AbstractGlobalData;
 import hellfirepvp.astralsorcery.common.data.SyncDataHolder;
 import hellfirepvp.astralsorcery.common.util.ByteBufUtils;
 import io.netty.buffer.ByteBuf;
@@ -34,16 +36,26 @@ import java.util.Map;
 public class PktSyncData implements IMessage, IMessageHandler<PktSyncData, IMessage> {
 
     private Map<String, AbstractData> data = new HashMap<>();
+    private Map<String, AbstractGlobalData> globalData = new HashMap<>();
+    private Map<String, AbstractDimensionalData> dimensionalData = new HashMap<>();
     private boolean shouldSyncAll = false;
+    private int dimension = 0; //The dimension dimensional data is written for
 
     public PktSyncData() {
     }
 
-    public PktSyncData(Map<String, AbstractData> dataToSend, boolean shouldSyncAll) {
-        this.data = dataToSend;
+    public PktSyncData(Map<String, AbstractGlobalData> dataToSend, boolean shouldSyncAll) {
+        this.globalData = dataToSend;
         this.shouldSyncAll = shouldSyncAll;
     }
 
+    public PktSyncData(Map<String, AbstractGlobalData> globalData, Map<String, AbstractDimensionalData> dimensionalData, boolean shouldSyncAll, int dimension) {
+        this.globalData = globalData;
+        this.dimensionalData = dimensionalData;
+        this.shouldSyncAll = shouldSyncAll;
+        this.dimension = dimension;
+    }
+
     @Override
     public void fromBytes(ByteBuf buf) {
         PacketBuffer pb = new PacketBuffer(buf);
@@ -78,23 +90,36 @@ public class PktSyncData implements IMessage, IMessageHandler<PktSyncData, IMess
     @Override
     public void toBytes(ByteBuf buf) {
         PacketBuffer pb = new PacketBuffer(buf);
-        pb.writeInt(data.size());
+        pb.writeInt(globalData.size() + dimensionalData.size());
 
-        for (String key : data.keySet()) {
-            AbstractData dat = data.get(key);
+        for (String key : globalData.keySet()) {
+            AbstractGlobalData dat = globalData.get(key);
             NBTTagCompound cmp = new NBTTagCompound();
             if (shouldSyncAll) {
                 dat.writeAllDataToPacket(cmp);
             } else {
                 dat.writeToPacket(cmp);
             }
+            writeData(pb, key, dat, cmp);
+        }
+        for (String key : dimensionalData.keySet()) {
+            AbstractDimensionalData dat = dimensionalData.get(key);
+            NBTTagCompound cmp = new NBTTagCompound();
+            if (shouldSyncAll) {
+                dat.writeAllDataToPacket(dimension, cmp);
+            } else {
+                dat.writeToPacket(dimension, cmp);
+            }
+            writeData(pb, key, dat, cmp);
+        }
+    }
 
-            ByteBufUtils.writeString(pb, key);
+    private void writeData(PacketBuffer pb, String key, AbstractData dat, NBTTagCompound cmp) {
+        ByteBufUtils.writeString(pb, key);
 
-            byte providerId = dat.getProviderID();
-            pb.writeByte(providerId);
-            pb.writeCompoundTag(cmp);
-        }
+        byte providerId = dat.getProviderID();
+        pb.writeByte(providerId);
+        pb.writeCompoundTag(cmp);
     }
 
     @Override
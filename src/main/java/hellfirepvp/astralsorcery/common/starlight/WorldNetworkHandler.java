@@ -53,44 +53,62 @@ public class WorldNetworkHandler {
     }
 
     public void informBlockChange(BlockPos at) {
-        List<LightNetworkBuffer.ChunkSectionNetworkData> relatedData = getAffectedChunkSections(at);
-        if(relatedData.isEmpty()) return; //lucky. nothing to do.
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(getWorld());
+        if(handle != null) {
+            handle.informBlockChange(at);
+        }
+        Collection<BlockPos> nodePositions = buffer.getLinkIndex(this).getNodesAround(at);
+        if(nodePositions.isEmpty()) return; //lucky. nothing to do.
 
-        for (LightNetworkBuffer.ChunkSectionNetworkData data : relatedData) {
-            if(data == null) continue;
-            Collection<IPrismTransmissionNode> transmissionNodes = data.getAllTransmissionNodes();
-            for (IPrismTransmissionNode node : transmissionNodes) {
-                if(node.notifyBlockChange(getWorld(), at)) {
-                    if(handle != null) {
-                        handle.notifyTransmissionNodeChange(node);
-                    }
+        for (BlockPos nodePos : nodePositions) {
+            IPrismTransmissionNode node = getTransmissionNode(nodePos);
+            if(node != null && node.notifyBlockChange(getWorld(), at)) {
+                if(handle != null) {
+                    handle.notifyTransmissionNodeChange(node);
                 }
+                informReachabilityChange(node);
+            }
+        }
+    }
+
+    //Has to be called whenever links of a node got blocked or became clear again.
+    public void informReachabilityChange(IPrismTransmissionNode node) {
+        for (NodeConnection<IPrismTransmissionNode> next : node.queryNext(this)) {
+            IPrismTransmissionNode nextNode = next.getNode();
+            if(nextNode != null) {
+                nextNode.notifySourceReachabilityChange(getWorld(), node.getLocationPos(), next.canConnect());
             }
         }
     }
 
+    //Has to be called whenever the links of a node get changed.
+    public void informLinkChange(IPrismTransmissionNode node) {
+        buffer.getLinkIndex(this).update(node, this);
+    }
+
     public void attemptAutoLinkTo(BlockPos at) {
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(world);
-        for (Tuple<BlockPos, IIndependentStarlightSource> source : getAllSources()) {
-            if(!source.value.providesAutoLink()) continue;
+        for (BlockPos sourcePos : buffer.getSourcePositionsAround(at)) {
+            IIndependentStarlightSource source = getSourceAt(sourcePos);
+            if(source == null || !source.providesAutoLink()) continue;
 
-            if(source.key.distanceSq(at) <= 256) {
-                IPrismTransmissionNode node = getTransmissionNode(source.key);
+            if(sourcePos.distanceSq(at) <= 256) {
+                IPrismTransmissionNode node = getTransmissionNode(sourcePos);
                 if(node == null) {
                     AstralSorcery.log.warn("Didn't find a TransmissionNode at a position that's supposed to be a source!");
-                    AstralSorcery.log.warn("Details: Dim=" + getWorld().provider.getDimension() + " at " + source.key);
+                    AstralSorcery.log.warn("Details: Dim=" + getWorld().provider.getDimension() + " at " + sourcePos);
                     continue;
                 }
                 if(!(node instanceof ITransmissionSource)) {
                     AstralSorcery.log.warn("Found TransmissionNode that isn't a source at a source position!");
-                    AstralSorcery.log.warn("Details: Dim=" + getWorld().provider.getDimension() + " at " + source.key);
+                    AstralSorcery.log.warn("Details: Dim=" + getWorld().provider.getDimension() + " at " + sourcePos);
                     continue;
                 }
                 ITransmissionSource sourceNode = (ITransmissionSource) node;
                 if(sourceNode.getLocationPos().getY() <= at.getY()) continue;
                 sourceNode.notifyLink(getWorld(), at);
-                markDirty();
+                informLinkChange(sourceNode);
+                markDirty(sourcePos);
 
                 if(handle != null) {
                     handle.notifyTransmissionNodeChange(sourceNode);
@@ -101,24 +119,26 @@ public class WorldNetworkHandler {
 
     public void removeAutoLinkTo(BlockPos at) {
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(world);
-        for (Tuple<BlockPos, IIndependentStarlightSource> source : getAllSources()) {
-            if(!source.value.providesAutoLink()) continue;
+        for (BlockPos sourcePos : buffer.getSourcePositionsAround(at)) {
+            IIndependentStarlightSource source = getSourceAt(sourcePos);
+            if(source == null || !source.providesAutoLink()) continue;
 
-            if(source.key.distanceSq(at) <= 256) {
-                IPrismTransmissionNode node = getTransmissionNode(source.key);
+            if(sourcePos.distanceSq(at) <= 256) {
+                IPrismTransmissionNode node = getTransmissionNode(sourcePos);
                 if(node == null) {
                     AstralSorcery.log.warn("Didn't find a TransmissionNode at a position that's supposed to be a source!");
-                    AstralSorcery.log.warn("Details: Dim=" + getWorld().provider.getDimension() + " at " + source.key);
+                    AstralSorcery.log.warn("Details: Dim=" + getWorld().provider.getDimension() + " at " + sourcePos);
                     continue;
                 }
                 if(!(node instanceof ITransmissionSource)) {
                     AstralSorcery.log.warn("Found TransmissionNode that isn't a source at a source position!");
-                    AstralSorcery.log.warn("Details: Dim=" + getWorld().provider.getDimension() + " at " + source.key);
+                    AstralSorcery.log.warn("Details: Dim=" + getWorld().provider.getDimension() + " at " + sourcePos);
                     continue;
                 }
                 ITransmissionSource sourceNode = (ITransmissionSource) node;
                 if(sourceNode.notifyUnlink(getWorld(), at)) {
-                    markDirty();
+                    informLinkChange(sourceNode);
+                    markDirty(sourcePos);
                     if(handle != null) {
                         handle.notifyTransmissionNodeChange(sourceNode);
                     }
@@ -138,7 +158,11 @@ public class WorldNetworkHandler {
     }
 
     public void markDirty() {
-        buffer.markDirty();
+        buffer.markAllDirty();
+    }
+
+    public void markDirty(BlockPos changedAt) {
+        buffer.markDirty(changedAt);
     }
 
     @Nullable
@@ -166,12 +190,20 @@ public class WorldNetworkHandler {
 
     public void addNewSourceTile(IStarlightSource source) {
         buffer.addSource(source, source.getTrPos());
+        IPrismTransmissionNode node = source.getNode();
+        if(node != null) {
+            informLinkChange(node);
+        }
 
         linkNextToThisSources(source);
     }
 
     public void addTransmissionTile(IStarlightTransmission transmission) {
         buffer.addTransmission(transmission, transmission.getTrPos());
+        IPrismTransmissionNode node = transmission.getNode();
+        if(node != null) {
+            informLinkChange(node);
+        }
 
         linkNextToThisSources(transmission);
     }
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.block.network.IBlockStarlightRecipient;
+import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionReceiver;
+import hellfirepvp.astralsorcery.common.util.MiscUtils;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: DistributionPlan
+ * Created by HellFirePvP
+ * Date: 18.10.2026 / 21:37
+ */
+//Flattened form of a TransmissionChain for a single source, so handing out starlight every tick is just a walk over arrays.
+//Only valid as long as the chain, the loaded chunks and the endpoint blocks don't change.
+public class DistributionPlan {
+
+    private final IWeakConstellation type;
+    private final boolean active;
+
+    private final ITransmissionReceiver[] receivers;
+    private final float[] receiverMultipliers;
+    private final boolean[] receiverLoaded;
+
+    private final BlockPos[] blockPositions;
+    private final float[] blockMultipliers;
+    //Exactly one of the two is set for each block endpoint.
+    private final IBlockStarlightRecipient[] blockRecipients;
+    private final StarlightNetworkRegistry.IStarlightBlockHandler[] blockHandlers;
+
+    private final IPrismTransmissionNode[] transmissionUpdates;
+
+    private DistributionPlan(@Nullable IWeakConstellation type, boolean active,
+                             ITransmissionReceiver[] receivers, float[] receiverMultipliers, boolean[] receiverLoaded,
+                             BlockPos[] blockPositions, float[] blockMultipliers,
+                             IBlockStarlightRecipient[] blockRecipients, StarlightNetworkRegistry.IStarlightBlockHandler[] blockHandlers,
+                             IPrismTransmissionNode[] transmissionUpdates) {
+        this.type = type;
+        this.active = active;
+        this.receivers = receivers;
+        this.receiverMultipliers = receiverMultipliers;
+        this.receiverLoaded = receiverLoaded;
+        this.blockPositions = blockPositions;
+        this.blockMultipliers = blockMultipliers;
+        this.blockRecipients = blockRecipients;
+        this.blockHandlers = blockHandlers;
+        this.transmissionUpdates = transmissionUpdates;
+    }
+
+    //'active' is false if none of the chunks of the chain are loaded; the source doesn't produce anything then.
+    public static DistributionPlan compile(World world, TransmissionChain chain, @Nullable IWeakConstellation type, boolean active) {
+        Map<BlockPos, Float> lossMultipliers = chain.getLossMultipliers();
+
+        Collection<ITransmissionReceiver> endpoints = chain.getEndpointsNodes();
+        ITransmissionReceiver[] receivers = new ITransmissionReceiver[endpoints.size()];
+        float[] receiverMultipliers = new float[endpoints.size()];
+        boolean[] receiverLoaded = new boolean[endpoints.size()];
+        int receiverCount = 0;
+        for (ITransmissionReceiver rec : endpoints) {
+            BlockPos pos = rec.getLocationPos();
+            Float multiplier = lossMultipliers.get(pos);
+            if(multiplier == null) continue;
+            receivers[receiverCount] = rec;
+            receiverMultipliers[receiverCount] = multiplier;
+            receiverLoaded[receiverCount] = MiscUtils.isChunkLoaded(world, pos);
+            receiverCount++;
+        }
+
+        Collection<BlockPos> unchecked = chain.getUncheckedEndpointsBlock();
+        BlockPos[] blockPositions = new BlockPos[unchecked.size()];
+        float[] blockMultipliers = new float[unchecked.size()];
+        IBlockStarlightRecipient[] blockRecipients = new IBlockStarlightRecipient[unchecked.size()];
+        StarlightNetworkRegistry.IStarlightBlockHandler[] blockHandlers = new StarlightNetworkRegistry.IStarlightBlockHandler[unchecked.size()];
+        int blockCount = 0;
+        List<BlockPos> resolved = new LinkedList<>();
+        for (BlockPos pos : unchecked) {
+            Float multiplier = lossMultipliers.get(pos);
+            if(multiplier == null || !MiscUtils.isChunkLoaded(world, pos)) continue; //Re-compiled once the chunk loads.
+            IBlockState state = world.getBlockState(pos);
+            Block b = state.getBlock();
+            if(b instanceof IBlockStarlightRecipient) {
+                blockRecipients[blockCount] = (IBlockStarlightRecipient) b;
+            } else {
+                StarlightNetworkRegistry.IStarlightBlockHandler handle = StarlightNetworkRegistry.getStarlightHandler(world, pos, state, type);
+                if(handle == null) {
+                    resolved.add(pos);
+                    continue;
+                }
+                blockHandlers[blockCount] = handle;
+            }
+            blockPositions[blockCount] = pos;
+            blockMultipliers[blockCount] = multiplier;
+            blockCount++;
+        }
+        for (BlockPos pos : resolved) {
+            chain.updatePosAsResolved(world, pos);
+        }
+
+        Collection<IPrismTransmissionNode> updates = chain.getTransmissionUpdateList();
+        return new DistributionPlan(type, active,
+                Arrays.copyOf(receivers, receiverCount), Arrays.copyOf(receiverMultipliers, receiverCount), Arrays.copyOf(receiverLoaded, receiverCount),
+                Arrays.copyOf(blockPositions, blockCount), Arrays.copyOf(blockMultipliers, blockCount),
+                Arrays.copyOf(blockRecipients, blockCount), Arrays.copyOf(blockHandlers, blockCount),
+                updates.toArray(new IPrismTransmissionNode[updates.size()]));
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public boolean isCompiledFor(@Nullable IWeakConstellation type) {
+        return this.type == type;
+    }
+
+    public void distribute(World world, Random rand, double starlight) {
+        for (int i = 0; i < receivers.length; i++) {
+            receivers[i].onStarlightReceive(world, receiverLoaded[i], type, starlight * receiverMultipliers[i]);
+        }
+
+        if(starlight > 0.1D) {
+            for (IPrismTransmissionNode node : transmissionUpdates) {
+                node.onTransmissionTick(world);
+            }
+        }
+
+        for (int i = 0; i < blockPositions.length; i++) {
+            IBlockStarlightRecipient recipient = blockRecipients[i];
+            if(recipient != null) {
+                recipient.receiveStarlight(world, rand, blockPositions[i], type, starlight * blockMultipliers[i]);
+            } else {
+                blockHandlers[i].receiveStarlight(world, rand, blockPositions[i], type, starlight * blockMultipliers[i]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
+import hellfirepvp.astralsorcery.common.world.util.BlockChangeDispatcher;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: LinkSectionIndex
+ * Created by HellFirePvP
+ * Date: 18.10.2026 / 22:24
+ */
+//Maps each 16x16x16 section to the nodes that sit in it or have a link passing through its area,
+//so a block change only has to ask the nodes that could actually be affected by it.
+//Links are registered with the sections of their bounding box, the node filters out the rest exactly.
+//Every chunk that has an indexed section is registered as interest with the BlockChangeDispatcher.
+public class LinkSectionIndex {
+
+    private final int dimId;
+    private final Long2ObjectMap<Set<BlockPos>> sectionNodes = new Long2ObjectOpenHashMap<>();
+    private final Map<BlockPos, long[]> nodeSections = new HashMap<>();
+
+    public LinkSectionIndex(int dimId) {
+        this.dimId = dimId;
+    }
+
+    //(Re-)registers the node with its current links.
+    public void update(IPrismTransmissionNode node, WorldNetworkHandler handler) {
+        BlockPos pos = node.getLocationPos();
+        remove(pos);
+
+        int sX = pos.getX() >> 4, sY = pos.getY() >> 4, sZ = pos.getZ() >> 4;
+        LongSet sections = new LongOpenHashSet();
+        sections.add(sectionKey(sX, sY, sZ));
+        for (NodeConnection<IPrismTransmissionNode> connection : node.queryNext(handler)) {
+            BlockPos to = connection.getTo();
+            int tX = to.getX() >> 4, tY = to.getY() >> 4, tZ = to.getZ() >> 4;
+            for (int xx = Math.min(sX, tX); xx <= Math.max(sX, tX); xx++) {
+                for (int yy = Math.min(sY, tY); yy <= Math.max(sY, tY); yy++) {
+                    for (int zz = Math.min(sZ, tZ); zz <= Math.max(sZ, tZ); zz++) {
+                        sections.add(sectionKey(xx, yy, zz));
+                    }
+                }
+            }
+        }
+
+        long[] keys = sections.toLongArray();
+        for (long key : keys) {
+            Set<BlockPos> nodes = sectionNodes.get(key);
+            if(nodes == null) {
+                nodes = new HashSet<>();
+                sectionNodes.put(key, nodes);
+                BlockChangeDispatcher.getInstance().addChunkInterest(StarlightNetworkChangeListener.INSTANCE, dimId, sectionX(key), sectionZ(key));
+            }
+            nodes.add(pos);
+        }
+        nodeSections.put(pos, keys);
+    }
+
+    public void remove(BlockPos pos) {
+        long[] keys = nodeSections.remove(pos);
+        if(keys == null) return;
+        for (long key : keys) {
+            Set<BlockPos> nodes = sectionNodes.get(key);
+            if(nodes != null) {
+                nodes.remove(pos);
+                if(nodes.isEmpty()) {
+                    sectionNodes.remove(key);
+                    BlockChangeDispatcher.getInstance().removeChunkInterest(StarlightNetworkChangeListener.INSTANCE, dimId, sectionX(key), sectionZ(key));
+                }
+            }
+        }
+    }
+
+    //Positions of all nodes that might be interested in a block change at that position.
+    //Returns a copy, as notifying those nodes may relink them and thus update this index.
+    public Collection<BlockPos> getNodesAround(BlockPos at) {
+        if(sectionNodes.isEmpty()) return Collections.emptySet();
+        Set<BlockPos> nodes = sectionNodes.get(sectionKey(at.getX() >> 4, at.getY() >> 4, at.getZ() >> 4));
+        return nodes == null ? Collections.emptySet() : new ArrayList<>(nodes);
+    }
+
+    public void clear() {
+        BlockChangeDispatcher.getInstance().clearChunkInterest(StarlightNetworkChangeListener.INSTANCE, dimId);
+        sectionNodes.clear();
+        nodeSections.clear();
+    }
+
+    private static long sectionKey(int sX, int sY, int sZ) {
+        return (((long) sX & 0x3FFFFFL) << 42) | (((long) sY & 0xFFFFFL) << 22) | ((long) sZ & 0x3FFFFFL);
+    }
+
+    private static int sectionX(long sectionKey) {
+        return (int) (sectionKey >> 42);
+    }
+
+    private static int sectionZ(long sectionKey) {
+        return (int) (sectionKey << 42 >> 42);
+    }
+
+}
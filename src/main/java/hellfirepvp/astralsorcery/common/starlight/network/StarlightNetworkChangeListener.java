@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.lib.BlocksAS;
+import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.world.util.IBlockChangeListener;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: StarlightNetworkChangeListener
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 09:41
+ */
+//Chunk interest is registered by the LinkSectionIndex for every chunk a node or link is in.
+//Crafting tables and altars are watched everywhere for auto-linking.
+public class StarlightNetworkChangeListener implements IBlockChangeListener {
+
+    public static final StarlightNetworkChangeListener INSTANCE = new StarlightNetworkChangeListener();
+
+    private StarlightNetworkChangeListener() {}
+
+    @Override
+    public void onBlockChange(World world, Chunk chunk, BlockPos pos, IBlockState oldState, IBlockState newState) {
+        WorldNetworkHandler handler = WorldNetworkHandler.getNetworkHandler(world);
+        handler.informBlockChange(pos);
+
+        Block oldBlock = oldState.getBlock();
+        Block newBlock = newState.getBlock();
+        if(oldBlock != newBlock) {
+            if(isAutoLinkTarget(oldBlock)) {
+                handler.removeAutoLinkTo(pos);
+            }
+            if(isAutoLinkTarget(newBlock)) {
+                handler.attemptAutoLinkTo(pos);
+            }
+        }
+    }
+
+    @Override
+    public boolean watchesBlock(Block block) {
+        return isAutoLinkTarget(block);
+    }
+
+    private boolean isAutoLinkTarget(Block block) {
+        return block == Blocks.CRAFTING_TABLE || block == BlocksAS.blockAltar;
+    }
+
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.AstralSorcery;
+import hellfirepvp.astralsorcery.common.auxiliary.tick.ITickHandler;
+import hellfirepvp.astralsorcery.common.data.config.Config;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nullable;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: StarlightNetworkExecutor
+ * Created by HellFirePvP
+ * Date: 18.10.2026 / 20:14
+ */
+//Shared worker threads for all starlight network calculations of all worlds.
+public class StarlightNetworkExecutor implements ITickHandler {
+
+    private static final StarlightNetworkExecutor instance = new StarlightNetworkExecutor();
+
+    private final Object lock = new Object();
+    private ThreadPoolExecutor executor = null;
+    private Map<Object, NetworkTask<?>> queuedTasks = new HashMap<>();
+    private final Queue<Runnable> serverThreadCallbacks = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong completedTasks = new AtomicLong(0);
+    private final AtomicLong coalescedTasks = new AtomicLong(0);
+    private final AtomicLong totalLatencyNanos = new AtomicLong(0);
+    private final AtomicLong maxLatencyNanos = new AtomicLong(0);
+
+    private StarlightNetworkExecutor() {}
+
+    public static StarlightNetworkExecutor getInstance() {
+        return instance;
+    }
+
+    //Runs 'work' on one of the network threads.
+    //If work for the same key is still waiting to be executed, it's replaced and only the newer one runs.
+    //If it's already running, it's run again once finished and the outdated result is discarded.
+    //'onServerThread' is called with the result during the next server tick.
+    public <T> void submit(Object key, Supplier<T> work, @Nullable Consumer<T> onServerThread) {
+        synchronized (lock) {
+            NetworkTask<?> queued = queuedTasks.get(key);
+            if(queued != null) {
+                ((NetworkTask<T>) queued).replace(work, onServerThread);
+                coalescedTasks.incrementAndGet();
+                return;
+            }
+            NetworkTask<T> task = new NetworkTask<>(key, work, onServerThread);
+            queuedTasks.put(key, task);
+            getExecutor().execute(task);
+        }
+    }
+
+    public void submit(Object key, Runnable work) {
+        submit(key, () -> {
+            work.run();
+            return null;
+        }, null);
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        if(executor == null) {
+            AtomicInteger threadCount = new AtomicInteger(0);
+            int threads = Math.max(1, Config.starlightNetworkThreads);
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread tr = new Thread(r, "StarlightNetwork-Worker-" + threadCount.incrementAndGet());
+                tr.setDaemon(true);
+                return tr;
+            });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    @Override
+    public void tick(TickEvent.Type type, Object... context) {
+        Runnable callback;
+        while ((callback = serverThreadCallbacks.poll()) != null) {
+            callback.run();
+        }
+    }
+
+    //Drops everything that hasn't been started yet. Work that's already running finishes but its results are discarded.
+    public void clear() {
+        synchronized (lock) {
+            if(executor != null) {
+                executor.getQueue().clear();
+            }
+            queuedTasks.clear();
+        }
+        serverThreadCallbacks.clear();
+    }
+
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return executor == null ? 0 : executor.getQueue().size();
+        }
+    }
+
+    public int getRunningTasks() {
+        synchronized (lock) {
+            return executor == null ? 0 : executor.getActiveCount();
+        }
+    }
+
+    public int getPendingCallbacks() {
+        return serverThreadCallbacks.size();
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    public long getCoalescedTasks() {
+        return coalescedTasks.get();
+    }
+
+    //Time from submitting to finishing the calculation, averaged over all tasks so far.
+    public double getAverageLatencyMs() {
+        long completed = completedTasks.get();
+        return completed == 0 ? 0 : (totalLatencyNanos.get() / (double) completed) / 1_000_000D;
+    }
+
+    public double getMaxLatencyMs() {
+        return maxLatencyNanos.get() / 1_000_000D;
+    }
+
+    @Override
+    public EnumSet<TickEvent.Type> getHandledTypes() {
+        return EnumSet.of(TickEvent.Type.SERVER);
+    }
+
+    @Override
+    public boolean canFire(TickEvent.Phase phase) {
+        return phase == TickEvent.Phase.END;
+    }
+
+    @Override
+    public String getName() {
+        return "Starlight Network Executor";
+    }
+
+    private class NetworkTask<T> implements Runnable {
+
+        private final Object key;
+        private Supplier<T> work;
+        private Consumer<T> onServerThread;
+        private final long queuedAt = System.nanoTime();
+        private boolean running = false, rerun = false;
+
+        private NetworkTask(Object key, Supplier<T> work, @Nullable Consumer<T> onServerThread) {
+            this.key = key;
+            this.work = work;
+            this.onServerThread = onServerThread;
+        }
+
+        //Only called while holding the lock.
+        private void replace(Supplier<T> work, @Nullable Consumer<T> onServerThread) {
+            this.work = work;
+            this.onServerThread = onServerThread;
+            if(this.running) {
+                this.rerun = true;
+            }
+        }
+
+        @Override
+        public void run() {
+            Supplier<T> work;
+            Consumer<T> callback;
+            synchronized (lock) {
+                if(queuedTasks.get(key) != this) return; //Cleared in the meantime
+                this.running = true;
+                work = this.work;
+                callback = this.onServerThread;
+            }
+
+            T result = null;
+            boolean success = true;
+            try {
+                result = work.get();
+            } catch (Exception exc) {
+                success = false;
+                AstralSorcery.log.warn("Failed to execute starlight network calculation!");
+                exc.printStackTrace();
+            }
+
+            synchronized (lock) {
+                this.running = false;
+                if(queuedTasks.get(key) != this) return;
+                if(this.rerun) {
+                    this.rerun = false;
+                    getExecutor().execute(this);
+                    return;
+                }
+                queuedTasks.remove(key);
+            }
+
+            long latency = System.nanoTime() - queuedAt;
+            completedTasks.incrementAndGet();
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            if(success && callback != null) {
+                T finalResult = result;
+                serverThreadCallbacks.add(() -> callback.accept(finalResult));
+            }
+        }
+    }
+
+}
@@ -8,24 +8,17 @@
 
 package hellfirepvp.astralsorcery.common.starlight.network;
 
-import hellfirepvp.astralsorcery.common.block.network.IBlockStarlightRecipient;
 import hellfirepvp.astralsorcery.common.data.DataLightBlockEndpoints;
-import hellfirepvp.astralsorcery.common.data.DataLightConnections;
 import hellfirepvp.astralsorcery.common.data.SyncDataHolder;
-import hellfirepvp.astralsorcery.common.item.crystal.CrystalProperties;
 import hellfirepvp.astralsorcery.common.starlight.IIndependentStarlightSource;
 import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
 import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
 import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionReceiver;
-import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
-import hellfirepvp.astralsorcery.common.util.CrystalCalculations;
-import hellfirepvp.astralsorcery.common.util.MiscUtils;
-import net.minecraft.block.Block;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 /**
@@ -37,166 +30,325 @@ import java.util.*;
  */
 public class TransmissionChain {
 
-    private List<ChunkPos> involvedChunks = new LinkedList<>();
-    private List<LightConnection> foundConnections = new LinkedList<>();
+    private static final float MIN_TRANSFER = 0.001F; //No. we don't transfer a part less than 0.1% of the starlight.
+
+    private Map<ChunkPos, Integer> involvedChunks = new HashMap<>(); //Chunk -> amount of positions in it
+    private Set<LightConnection> foundConnections = new LinkedHashSet<>();
+    private Map<BlockPos, List<LightConnection>> nodeConnections = new HashMap<>();
     private Map<BlockPos, Float> remainMultiplierMap = new HashMap<>();
 
-    private List<BlockPos> uncheckedEndpointsBlock = new LinkedList<>(); //Might be IBlockSLRecipient or just a normal block.
-    private List<BlockPos> resolvedNormalBlockPositions = new LinkedList<>();
-    private List<ITransmissionReceiver> endpointsNodes = new LinkedList<>(); //Safe to assume those are endpoints
-    private List<IPrismTransmissionNode> transmissionUpdateList = new LinkedList<>();
+    private Set<BlockPos> uncheckedEndpointsBlock = new LinkedHashSet<>(); //Might be IBlockSLRecipient or just a normal block.
+    private Set<BlockPos> resolvedNormalBlockPositions = new LinkedHashSet<>();
+    private Map<BlockPos, ITransmissionReceiver> endpointsNodes = new LinkedHashMap<>(); //Safe to assume those are endpoints
+    private Map<BlockPos, IPrismTransmissionNode> transmissionUpdateList = new LinkedHashMap<>();
+
+    //If the network behind this source contains a cycle, starlight distribution depends on the path it took.
+    //Such chains can't be updated partially and are always rebuilt from scratch.
+    private boolean cyclic = false;
 
-    private final WorldNetworkHandler handler;
+    private final BlockPos sourcePos;
     private final IPrismTransmissionNode sourceNode;
 
-    private TransmissionChain(WorldNetworkHandler netHandler, IPrismTransmissionNode sourceNode) {
-        this.handler = netHandler;
+    private TransmissionChain(BlockPos sourcePos, IPrismTransmissionNode sourceNode) {
+        this.sourcePos = sourcePos;
         this.sourceNode = sourceNode;
     }
 
+    //Called on the server thread. The links are resolved here; the thread building the chain only reads a snapshot of them.
     public static void threadedBuildTransmissionChain(TransmissionWorldHandler handle, IIndependentStarlightSource source, WorldNetworkHandler netHandler, BlockPos sourcePos) {
-        Thread tr = new Thread(() -> {
-            TransmissionChain chain = buildFromSource(netHandler, sourcePos);
-            handle.threadTransmissionChainCallback(chain, source, netHandler, sourcePos);
-            DataLightConnections connections = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS);
-            connections.updateNewConnectionsThreaded(netHandler.getWorld().provider.getDimension(), chain.getFoundConnections());
-            DataLightBlockEndpoints endpoints = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS);
-            endpoints.updateNewEndpoints(netHandler.getWorld().provider.getDimension(), chain.resolvedNormalBlockPositions);
-        });
-        tr.setName("TrChainCalculationThread");
-        tr.start();
+        TransmissionGraph snapshot = handle.snapshotGraph(netHandler, sourcePos);
+        StarlightNetworkExecutor.getInstance().submit(source,
+                () -> buildFromSource(netHandler, snapshot, sourcePos),
+                chain -> handle.threadTransmissionChainCallback(chain, source, netHandler, sourcePos));
     }
 
-    private static TransmissionChain buildFromSource(WorldNetworkHandler netHandler, BlockPos at) {
-        TransmissionChain chain = new TransmissionChain(netHandler, null);
-
-        IPrismTransmissionNode node = netHandler.getTransmissionNode(at);
+    //Package-private for the benchmarks.
+    //'graph' has to be a snapshot containing everything reachable from the source.
+    static TransmissionChain buildFromSource(WorldNetworkHandler netHandler, TransmissionGraph graph, BlockPos at) {
+        IPrismTransmissionNode node = graph.resolve(netHandler, at, null).getNode();
+        TransmissionChain chain = new TransmissionChain(at, node);
         if(node != null) { //Well otherwise we don't need to do anything huh...
-            chain = new TransmissionChain(netHandler, node);
-            chain.recBuildChain(node, 1F, new LinkedList<>());
+            if(!chain.recalculate(netHandler, graph, Collections.singleton(at), new ChainDelta())) {
+                chain.cyclic = true;
+                Map<BlockPos, Float> multipliers = new HashMap<>();
+                chain.recBuildChain(netHandler, graph, at, 1F, new HashSet<>(), multipliers);
+                ChainDelta delta = new ChainDelta();
+                chain.applyState(graph.resolve(netHandler, at, null), null, delta);
+                for (Map.Entry<BlockPos, Float> entry : multipliers.entrySet()) {
+                    chain.applyState(graph.resolve(netHandler, entry.getKey(), null), entry.getValue(), delta);
+                }
+            }
         }
-
-        chain.calculateInvolvedChunks();
-        chain.resolveLoadedEndpoints(netHandler.getWorld());
+        chain.resolveLoadedEndpoints(netHandler, graph, chain.uncheckedEndpointsBlock, null);
         return chain;
     }
 
-    private void resolveLoadedEndpoints(World world) {
-        Iterator<BlockPos> iterator = uncheckedEndpointsBlock.iterator();
-        while (iterator.hasNext()) {
-            BlockPos pos = iterator.next();
-            if (MiscUtils.isChunkLoaded(world, new ChunkPos(pos))) {
-                IBlockState state = world.getBlockState(pos);
-                Block b = state.getBlock();
-                if (b instanceof IBlockStarlightRecipient) continue;
-                if (!resolvedNormalBlockPositions.contains(pos)) {
-                    resolvedNormalBlockPositions.add(pos);
+    //Updates this chain after the links of the given positions changed.
+    //Only positions downstream of the changed positions are looked at again.
+    //Returns false if the change can't be applied partially and the chain has to be rebuilt completely.
+    boolean update(WorldNetworkHandler netHandler, TransmissionGraph graph, Collection<BlockPos> changed, ChainDelta delta) {
+        if(cyclic || sourceNode == null) return false;
+        if(!recalculate(netHandler, graph, changed, delta)) {
+            return false;
+        }
+        resolveLoadedEndpoints(netHandler, graph, delta.addedPositions, delta.addedResolvedPositions);
+        return true;
+    }
+
+    private boolean recalculate(WorldNetworkHandler netHandler, TransmissionGraph graph, Collection<BlockPos> changed, ChainDelta delta) {
+        List<TransmissionGraph.GraphNode> order = collectOrdered(netHandler, graph, changed);
+        if(order == null) {
+            return false;
+        }
+        for (TransmissionGraph.GraphNode node : order) {
+            Float multiplier = null;
+            if(!node.getPos().equals(sourcePos)) {
+                multiplier = collectMultiplier(graph, node.getPos());
+            }
+            applyState(node, multiplier, delta);
+        }
+        return true;
+    }
+
+    //Collects everything reachable from the given positions, sorted so that each position
+    //comes after all positions that transmit starlight to it. null if there's a cycle in there.
+    @Nullable
+    private List<TransmissionGraph.GraphNode> collectOrdered(WorldNetworkHandler netHandler, TransmissionGraph graph, Collection<BlockPos> from) {
+        Map<BlockPos, TransmissionGraph.GraphNode> affected = new HashMap<>();
+        Deque<BlockPos> toVisit = new ArrayDeque<>(from);
+        while (!toVisit.isEmpty()) {
+            BlockPos pos = toVisit.poll();
+            if(affected.containsKey(pos)) continue;
+
+            //Nodes that got replaced/removed since we last saw them also changed their links.
+            TransmissionGraph.GraphNode node = graph.resolve(netHandler, pos, toVisit);
+            affected.put(pos, node);
+            if(node.isForwarding()) {
+                for (TransmissionGraph.Edge edge : node.getNext()) {
+                    if(edge.canConnect() && !affected.containsKey(edge.getTo())) {
+                        toVisit.add(edge.getTo());
+                    }
                 }
-                //iterator.remove();
             }
         }
+
+        Map<BlockPos, Integer> pending = new HashMap<>();
+        Deque<TransmissionGraph.GraphNode> ready = new ArrayDeque<>();
+        for (TransmissionGraph.GraphNode node : affected.values()) {
+            int count = 0;
+            for (BlockPos in : graph.getIncoming(node.getPos())) {
+                if(affected.containsKey(in)) count++;
+            }
+            if(count == 0) {
+                ready.add(node);
+            } else {
+                pending.put(node.getPos(), count);
+            }
+        }
+
+        List<TransmissionGraph.GraphNode> order = new ArrayList<>(affected.size());
+        while (!ready.isEmpty()) {
+            TransmissionGraph.GraphNode node = ready.poll();
+            order.add(node);
+            for (TransmissionGraph.Edge edge : node.getNext()) {
+                if(!edge.canConnect()) continue;
+                Integer count = pending.get(edge.getTo());
+                if(count == null) continue;
+                if(count <= 1) {
+                    pending.remove(edge.getTo());
+                    ready.add(affected.get(edge.getTo()));
+                } else {
+                    pending.put(edge.getTo(), count - 1);
+                }
+            }
+        }
+        return pending.isEmpty() ? order : null;
     }
 
-    protected void updatePosAsResolved(World world, BlockPos pos) {
-        if(uncheckedEndpointsBlock.contains(pos) && !resolvedNormalBlockPositions.contains(pos)) {
-            resolvedNormalBlockPositions.add(pos);
-            DataLightBlockEndpoints endpoints = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS);
-            endpoints.updateNewEndpoint(world.provider.getDimension(), pos);
+    @Nullable
+    private Float collectMultiplier(TransmissionGraph graph, BlockPos pos) {
+        boolean reached = false;
+        float multiplier = 0F;
+        for (BlockPos from : graph.getIncoming(pos)) {
+            float fromMultiplier;
+            if(from.equals(sourcePos)) {
+                fromMultiplier = 1F;
+            } else {
+                Float known = remainMultiplierMap.get(from);
+                if(known == null || known <= MIN_TRANSFER) continue;
+                fromMultiplier = known;
+            }
+            TransmissionGraph.GraphNode fromNode = graph.getNode(from);
+            if(fromNode == null || !fromNode.isForwarding()) continue;
+            multiplier += fromMultiplier * fromNode.getShareMultiplier();
+            reached = true;
         }
+        return reached ? multiplier : null;
     }
 
-    private void recBuildChain(IPrismTransmissionNode node, float lossMultiplier, LinkedList<BlockPos> prevPath) {
-        if(lossMultiplier <= 0.001F) return; //No. we don't transfer a part less than 0.1% of the starlight.
+    //Path based distribution. Only used for networks containing cycles:
+    //cyclic starlight transmission to a cyclic node means 100% loss.
+    private void recBuildChain(WorldNetworkHandler netHandler, TransmissionGraph graph, BlockPos at, float lossMultiplier, Set<BlockPos> prevPath, Map<BlockPos, Float> out) {
+        if(lossMultiplier <= MIN_TRANSFER) return;
+
+        TransmissionGraph.GraphNode node = graph.resolve(netHandler, at, null);
+        if(!node.isForwarding()) return;
+        float nextLoss = lossMultiplier * node.getShareMultiplier();
+        prevPath.add(at);
+
+        for (TransmissionGraph.Edge edge : node.getNext()) {
+            BlockPos nextPos = edge.getTo();
+            if(edge.canConnect() && !prevPath.contains(nextPos)) {
+                out.merge(nextPos, nextLoss, Float::sum); //This never exceeds 1F
+                recBuildChain(netHandler, graph, nextPos, nextLoss, prevPath, out);
+            }
+        }
 
-        CrystalProperties properties = node.getTransmissionProperties();
-        float lossPerc = CrystalCalculations.getThroughputMultiplier(properties);
-        lossPerc *= node.getAdditionalTransmissionLossMultiplier();
-        List<NodeConnection<IPrismTransmissionNode>> next = node.queryNext(handler);
-        float nextLoss = (lossMultiplier * lossPerc) / ((float) next.size());
-        prevPath.push(node.getLocationPos());
+        prevPath.remove(at);
+    }
 
-        if(node.needsTransmissionUpdate() && !transmissionUpdateList.contains(node)) {
-            transmissionUpdateList.add(node);
+    //Sets the state of the given position in this chain. 'multiplier' is null if starlight doesn't reach it (anymore).
+    private void applyState(TransmissionGraph.GraphNode graphNode, @Nullable Float multiplier, ChainDelta delta) {
+        BlockPos pos = graphNode.getPos();
+        IPrismTransmissionNode node = graphNode.getNode();
+        boolean isSource = pos.equals(sourcePos);
+
+        if(!isSource) {
+            Float prev = multiplier == null ? remainMultiplierMap.remove(pos) : remainMultiplierMap.put(pos, multiplier);
+            if(prev == null && multiplier != null) {
+                delta.addedPositions.add(pos);
+                ChunkPos ch = new ChunkPos(pos);
+                if(involvedChunks.merge(ch, 1, Integer::sum) == 1) {
+                    delta.addedChunks.add(ch);
+                }
+            } else if(prev != null && multiplier == null) {
+                delta.removedPositions.add(pos);
+                ChunkPos ch = new ChunkPos(pos);
+                Integer count = involvedChunks.get(ch);
+                if(count == null || count <= 1) {
+                    involvedChunks.remove(ch);
+                    delta.removedChunks.add(ch);
+                } else {
+                    involvedChunks.put(ch, count - 1);
+                }
+            }
         }
 
-        for (NodeConnection<IPrismTransmissionNode> nextNode : next) {
-            IPrismTransmissionNode trNode = nextNode.getNode();
-            if(nextNode.canConnect()) {
-                BlockPos nextPos = nextNode.getTo();
-                addIfNonExistentConnection(node.getLocationPos(), nextPos);
-                if(!prevPath.contains(nextPos)) { //Saves us from cycles. cyclic starlight transmission to a cyclic node means 100% loss.
+        if(multiplier != null && node instanceof ITransmissionReceiver) { //Tile endpoint
+            endpointsNodes.put(pos, (ITransmissionReceiver) node);
+        } else {
+            endpointsNodes.remove(pos);
+        }
 
-                    Float currentLoss = remainMultiplierMap.get(nextPos);
-                    if (currentLoss != null) {
-                        remainMultiplierMap.put(nextPos, currentLoss + nextLoss); //This never exceeds 1F
-                    } else {
-                        remainMultiplierMap.put(nextPos, nextLoss);
-                    }
+        if(multiplier != null && node == null) { //BlockPos endpoint - Check for IBlockStarlightRecipient is missing here, bc chunk is/might be unloaded.
+            uncheckedEndpointsBlock.add(pos);
+        } else {
+            uncheckedEndpointsBlock.remove(pos);
+            if(resolvedNormalBlockPositions.remove(pos)) {
+                delta.removedResolvedPositions.add(pos);
+            }
+        }
 
-                    if(trNode != null) {
-                        if(trNode instanceof ITransmissionReceiver) { //Tile endpoint
-                            if(!this.endpointsNodes.contains(trNode))
-                                this.endpointsNodes.add((ITransmissionReceiver) trNode);
-                        } else {
-                            recBuildChain(trNode, nextLoss, prevPath);
-                        }
-                    } else { //BlockPos endpoint - Check for IBlockStarlightRecipient is missing here, bc chunk is/might be unloaded.
-                        if(!this.uncheckedEndpointsBlock.contains(nextPos))
-                            this.uncheckedEndpointsBlock.add(nextPos);
-                    }
+        boolean transmits = graphNode.isForwarding() && (isSource || (multiplier != null && multiplier > MIN_TRANSFER));
+        if(transmits && node.needsTransmissionUpdate()) {
+            transmissionUpdateList.put(pos, node);
+        } else {
+            transmissionUpdateList.remove(pos);
+        }
+
+        //For rendering purposes.
+        List<LightConnection> connections = new LinkedList<>();
+        if(transmits) {
+            for (TransmissionGraph.Edge edge : graphNode.getNext()) {
+                if(edge.canConnect()) {
+                    connections.add(new LightConnection(pos, edge.getTo()));
                 }
             }
         }
+        List<LightConnection> prevConnections = connections.isEmpty() ? nodeConnections.remove(pos) : nodeConnections.put(pos, connections);
+        if(prevConnections != null) {
+            for (LightConnection prev : prevConnections) {
+                if(!connections.contains(prev)) {
+                    foundConnections.remove(prev);
+                    delta.removedConnections.add(prev);
+                }
+            }
+        }
+        for (LightConnection con : connections) {
+            if(foundConnections.add(con)) {
+                delta.addedConnections.add(con);
+            }
+        }
+    }
 
-        prevPath.pop();
+    private void resolveLoadedEndpoints(WorldNetworkHandler netHandler, TransmissionGraph graph, Collection<BlockPos> positions, @Nullable Collection<BlockPos> resolvedOut) {
+        for (BlockPos pos : positions) {
+            if (!uncheckedEndpointsBlock.contains(pos)) continue;
+            if (graph.isLoadedPlainBlock(netHandler, pos)) {
+                if (resolvedNormalBlockPositions.add(pos) && resolvedOut != null) {
+                    resolvedOut.add(pos);
+                }
+            }
+        }
     }
 
-    //After calculating everything...
-    private void calculateInvolvedChunks() {
-        for (BlockPos nodePos : remainMultiplierMap.keySet()) {
-            ChunkPos ch = new ChunkPos(nodePos);
-            if(!involvedChunks.contains(ch)) involvedChunks.add(ch);
+    protected void updatePosAsResolved(World world, BlockPos pos) {
+        if(uncheckedEndpointsBlock.contains(pos) && resolvedNormalBlockPositions.add(pos)) {
+            DataLightBlockEndpoints endpoints = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS);
+            endpoints.updateNewEndpoint(world.provider.getDimension(), pos);
         }
     }
 
-    public List<BlockPos> getResolvedNormalBlockPositions() {
+    public Collection<BlockPos> getResolvedNormalBlockPositions() {
         return resolvedNormalBlockPositions;
     }
 
-    public IPrismTransmissionNode getSourceNode() {
-        return sourceNode;
+    public BlockPos getSourcePos() {
+        return sourcePos;
     }
 
-    //For rendering purposes.
-    private void addIfNonExistentConnection(BlockPos start, BlockPos end) {
-        LightConnection newCon = new LightConnection(start, end);
-        if(!foundConnections.contains(newCon)) foundConnections.add(newCon);
+    public IPrismTransmissionNode getSourceNode() {
+        return sourceNode;
     }
 
-    public List<IPrismTransmissionNode> getTransmissionUpdateList() {
-        return transmissionUpdateList;
+    public Collection<IPrismTransmissionNode> getTransmissionUpdateList() {
+        return transmissionUpdateList.values();
     }
 
-    public List<ChunkPos> getInvolvedChunks() {
-        return involvedChunks;
+    public Collection<ChunkPos> getInvolvedChunks() {
+        return involvedChunks.keySet();
     }
 
     public Map<BlockPos, Float> getLossMultipliers() {
         return remainMultiplierMap;
     }
 
-    public List<LightConnection> getFoundConnections() {
+    public Collection<LightConnection> getFoundConnections() {
         return foundConnections;
     }
 
-    public List<ITransmissionReceiver> getEndpointsNodes() {
-        return endpointsNodes;
+    public Collection<ITransmissionReceiver> getEndpointsNodes() {
+        return endpointsNodes.values();
     }
 
-    public List<BlockPos> getUncheckedEndpointsBlock() {
+    public Collection<BlockPos> getUncheckedEndpointsBlock() {
         return uncheckedEndpointsBlock;
     }
 
+    //Everything that changed in a chain during a partial update.
+    static class ChainDelta {
+
+        final List<BlockPos> addedPositions = new LinkedList<>();
+        final List<BlockPos> removedPositions = new LinkedList<>();
+        final List<ChunkPos> addedChunks = new LinkedList<>();
+        final List<ChunkPos> removedChunks = new LinkedList<>();
+        final List<LightConnection> addedConnections = new LinkedList<>();
+        final List<LightConnection> removedConnections = new LinkedList<>();
+        final List<BlockPos> addedResolvedPositions = new LinkedList<>();
+        final List<BlockPos> removedResolvedPositions = new LinkedList<>();
+
+    }
+
     public static class LightConnection {
 
         private final BlockPos start, end;
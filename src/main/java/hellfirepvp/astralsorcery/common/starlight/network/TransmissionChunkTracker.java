@@ -8,6 +8,8 @@
 
 package hellfirepvp.astralsorcery.common.starlight.network;
 
+import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
+import hellfirepvp.astralsorcery.common.data.world.data.LightNetworkBuffer;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.event.world.ChunkEvent;
@@ -36,7 +38,13 @@ public class TransmissionChunkTracker {
         TransmissionWorldHandler handle = StarlightTransmissionHandler.getInstance().getWorldHandler(event.getWorld());
         if(handle != null) {
             Chunk ch = event.getChunk();
-            handle.informChunkLoad(new ChunkPos(ch.x, ch.z));
+            ChunkPos pos = new ChunkPos(ch.x, ch.z);
+            if(!event.getWorld().isRemote) {
+                LightNetworkBuffer buffer = WorldCacheManager.getOrLoadData(event.getWorld(), WorldCacheManager.SaveKey.LIGHT_NETWORK);
+                buffer.ensureLoadedAround(pos);
+                buffer.getLinkIndex(buffer.getNetworkHandler(event.getWorld())); //Index freshly loaded regions right away.
+            }
+            handle.informChunkLoad(pos);
         }
     }
 
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.starlight.network;
+
+import hellfirepvp.astralsorcery.common.block.network.IBlockStarlightRecipient;
+import hellfirepvp.astralsorcery.common.item.crystal.CrystalProperties;
+import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
+import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
+import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionReceiver;
+import hellfirepvp.astralsorcery.common.starlight.transmission.NodeConnection;
+import hellfirepvp.astralsorcery.common.util.CrystalCalculations;
+import hellfirepvp.astralsorcery.common.util.MiscUtils;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: TransmissionGraph
+ * Created by HellFirePvP
+ * Date: 18.10.2026 / 18:02
+ */
+//Persistent, per-dimension mirror of the links between transmission nodes.
+//Nodes are only re-queried if they are notified as changed, so the transmission chains
+//built on top of this can walk the network without calling queryNext/getTransmissionNode
+//for every single node again.
+//Positions without a transmission node are only kept while something links to them.
+//Snapshots of a part of it can be handed to other threads; those never query the network or the world themselves.
+public class TransmissionGraph {
+
+    private static final List<Edge> NO_EDGES = Collections.emptyList();
+
+    private final Map<BlockPos, GraphNode> nodes = new HashMap<>();
+    //Connectable edges only. Kept separate from the nodes since plain blocks can receive starlight as well.
+    private final Map<BlockPos, Set<BlockPos>> incoming = new HashMap<>();
+    private final boolean snapshot;
+    //Snapshots only: positions without a node that were loaded and not an IBlockStarlightRecipient when the snapshot was taken.
+    private final Set<BlockPos> loadedPlainBlocks = new HashSet<>();
+
+    public TransmissionGraph() {
+        this(false);
+    }
+
+    private TransmissionGraph(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Nullable
+    public GraphNode getNode(BlockPos pos) {
+        return nodes.get(pos);
+    }
+
+    //Returns the node at that position, registering it if it wasn't mirrored yet or got replaced.
+    //The returned node may not have a transmission node if the position is a plain block endpoint.
+    //If the node had to be refreshed, all positions whose connectivity changed are added to 'changedOut'.
+    //Snapshots only return what they contain; positions they don't know are treated as plain blocks.
+    public GraphNode resolve(WorldNetworkHandler handler, BlockPos pos, @Nullable Collection<BlockPos> changedOut) {
+        GraphNode node = nodes.get(pos);
+        if(snapshot) {
+            return node != null ? node : new GraphNode(pos, null, NO_EDGES, 0F);
+        }
+        IPrismTransmissionNode trNode = handler.getTransmissionNode(pos);
+        if(node == null || node.node != trNode) {
+            List<Edge> prevEdges = node == null ? NO_EDGES : node.next;
+            node = refresh(handler, pos, trNode);
+            if(changedOut != null) {
+                collectChanges(prevEdges, node.next, changedOut);
+            }
+        }
+        return node;
+    }
+
+    //true if the position is a plain block in a loaded chunk, which starlight can be resolved to right away.
+    //Snapshots answer this from what the world looked like when they were taken.
+    public boolean isLoadedPlainBlock(WorldNetworkHandler handler, BlockPos pos) {
+        if(snapshot) {
+            return loadedPlainBlocks.contains(pos);
+        }
+        World world = handler.getWorld();
+        return MiscUtils.isChunkLoaded(world, new ChunkPos(pos)) && !(world.getBlockState(pos).getBlock() instanceof IBlockStarlightRecipient);
+    }
+
+    //Has to be called on the server thread. Resolves everything reachable from the given position
+    //and copies it into a snapshot that can be read from any thread.
+    //Positions of nodes that got replaced and had to be refreshed are added to 'replacedOut'.
+    public TransmissionGraph snapshotReachable(WorldNetworkHandler handler, BlockPos from, Collection<BlockPos> replacedOut) {
+        TransmissionGraph out = new TransmissionGraph(true);
+        Deque<BlockPos> toVisit = new ArrayDeque<>();
+        toVisit.add(from);
+        while (!toVisit.isEmpty()) {
+            BlockPos pos = toVisit.poll();
+            if(out.nodes.containsKey(pos)) continue;
+
+            GraphNode prev = nodes.get(pos);
+            GraphNode node = resolve(handler, pos, null);
+            if(prev != null && prev != node) {
+                replacedOut.add(pos);
+            }
+            out.nodes.put(pos, node);
+            if(node.node == null && isLoadedPlainBlock(handler, pos)) {
+                out.loadedPlainBlocks.add(pos);
+            }
+            if(node.isForwarding()) {
+                for (Edge edge : node.next) {
+                    if(edge.canConnect && !out.nodes.containsKey(edge.to)) {
+                        toVisit.add(edge.to);
+                    }
+                }
+            }
+        }
+        for (BlockPos pos : out.nodes.keySet()) {
+            Set<BlockPos> in = incoming.get(pos);
+            if(in != null) {
+                out.incoming.put(pos, new HashSet<>(in));
+            }
+        }
+        return out;
+    }
+
+    //Re-queries the links of the node at that position and returns the positions the node
+    //previously or now links to whose connectivity has changed.
+    public Set<BlockPos> update(WorldNetworkHandler handler, BlockPos pos) {
+        GraphNode prev = nodes.get(pos);
+        List<Edge> prevEdges = prev == null ? NO_EDGES : prev.next;
+        GraphNode now = refresh(handler, pos, handler.getTransmissionNode(pos));
+
+        Set<BlockPos> changed = new HashSet<>();
+        collectChanges(prevEdges, now.next, changed);
+        return changed;
+    }
+
+    private void collectChanges(List<Edge> prevEdges, List<Edge> newEdges, Collection<BlockPos> out) {
+        for (Edge e : prevEdges) {
+            if(!newEdges.contains(e)) out.add(e.to);
+        }
+        for (Edge e : newEdges) {
+            if(!prevEdges.contains(e)) out.add(e.to);
+        }
+    }
+
+    private GraphNode refresh(WorldNetworkHandler handler, BlockPos pos, @Nullable IPrismTransmissionNode trNode) {
+        GraphNode prev = nodes.get(pos);
+        if(prev != null) {
+            for (Edge e : prev.next) {
+                if(e.canConnect) {
+                    unlinkIncoming(pos, e.to);
+                }
+            }
+        }
+
+        GraphNode node;
+        if(trNode == null) {
+            node = new GraphNode(pos, null, NO_EDGES, 0F);
+            if(!incoming.containsKey(pos)) {
+                nodes.remove(pos); //Nothing links here (anymore), no need to remember it.
+                return node;
+            }
+        } else {
+            List<Edge> edges;
+            if(trNode instanceof ITransmissionReceiver) {
+                edges = NO_EDGES;
+            } else {
+                List<NodeConnection<IPrismTransmissionNode>> next = trNode.queryNext(handler);
+                edges = new ArrayList<>(next.size());
+                for (NodeConnection<IPrismTransmissionNode> connection : next) {
+                    Edge e = new Edge(connection.getTo(), connection.canConnect());
+                    edges.add(e);
+                    if(e.canConnect) {
+                        incoming.computeIfAbsent(e.to, p -> new HashSet<>()).add(pos);
+                    }
+                }
+            }
+            CrystalProperties properties = trNode.getTransmissionProperties();
+            float loss = CrystalCalculations.getThroughputMultiplier(properties) * trNode.getAdditionalTransmissionLossMultiplier();
+            node = new GraphNode(pos, trNode, edges, loss);
+        }
+        nodes.put(pos, node);
+        return node;
+    }
+
+    private void unlinkIncoming(BlockPos from, BlockPos to) {
+        Set<BlockPos> in = incoming.get(to);
+        if(in != null) {
+            in.remove(from);
+            if(in.isEmpty()) {
+                incoming.remove(to);
+                GraphNode node = nodes.get(to);
+                if(node != null && node.node == null) {
+                    nodes.remove(to);
+                }
+            }
+        }
+    }
+
+    public Collection<BlockPos> getIncoming(BlockPos pos) {
+        Set<BlockPos> in = incoming.get(pos);
+        return in == null ? Collections.emptySet() : in;
+    }
+
+    public void clear() {
+        this.nodes.clear();
+        this.incoming.clear();
+    }
+
+    public static class GraphNode {
+
+        private final BlockPos pos;
+        private final IPrismTransmissionNode node;
+        private final List<Edge> next;
+        private final float lossMultiplier;
+
+        private GraphNode(BlockPos pos, @Nullable IPrismTransmissionNode node, List<Edge> next, float lossMultiplier) {
+            this.pos = pos;
+            this.node = node;
+            this.next = next;
+            this.lossMultiplier = lossMultiplier;
+        }
+
+        public BlockPos getPos() {
+            return pos;
+        }
+
+        @Nullable
+        public IPrismTransmissionNode getNode() {
+            return node;
+        }
+
+        public List<Edge> getNext() {
+            return next;
+        }
+
+        //Fraction of the incoming starlight each single link of this node carries on.
+        public float getShareMultiplier() {
+            return next.isEmpty() ? 0F : lossMultiplier / ((float) next.size());
+        }
+
+        //true if starlight arriving here is passed on to other positions.
+        public boolean isForwarding() {
+            return node != null && !(node instanceof ITransmissionReceiver);
+        }
+
+    }
+
+    public static class Edge {
+
+        private final BlockPos to;
+        private final boolean canConnect;
+
+        private Edge(BlockPos to, boolean canConnect) {
+            this.to = to;
+            this.canConnect = canConnect;
+        }
+
+        public BlockPos getTo() {
+            return to;
+        }
+
+        public boolean canConnect() {
+            return canConnect;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Edge edge = (Edge) o;
+            return canConnect == edge.canConnect && to.equals(edge.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * to.hashCode() + (canConnect ? 1 : 0);
+        }
+    }
+
+}
@@ -9,7 +9,6 @@
 package hellfirepvp.astralsorcery.common.starlight.network;
 
 import com.google.common.collect.ImmutableList;
-import hellfirepvp.astralsorcery.common.block.network.IBlockStarlightRecipient;
 import hellfirepvp.astralsorcery.common.constellation.IWeakConstellation;
 import hellfirepvp.astralsorcery.common.data.DataLightBlockEndpoints;
 import hellfirepvp.astralsorcery.common.data.DataLightConnections;
@@ -17,15 +16,13 @@ import hellfirepvp.astralsorcery.common.data.SyncDataHolder;
 import hellfirepvp.astralsorcery.common.starlight.IIndependentStarlightSource;
 import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
 import hellfirepvp.astralsorcery.common.starlight.transmission.IPrismTransmissionNode;
-import hellfirepvp.astralsorcery.common.starlight.transmission.ITransmissionReceiver;
 import hellfirepvp.astralsorcery.common.util.MiscUtils;
 import hellfirepvp.astralsorcery.common.util.data.Tuple;
-import net.minecraft.block.Block;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 /**
@@ -51,8 +48,18 @@ public class TransmissionWorldHandler {
 
     private Map<BlockPos, List<IIndependentStarlightSource>> posToSourceMap = new HashMap<>();
 
-    //Contains a list of source positions whose sources currently calculate their network.
-    private List<BlockPos> sourcePosBuilding = new LinkedList<>();
+    //Compiled from the chains. Dropped whenever the chain, its loaded chunks or one of its endpoint blocks changes.
+    private Map<IIndependentStarlightSource, DistributionPlan> distributionPlans = new HashMap<>();
+
+    //Contains the source positions whose sources currently calculate their network.
+    private Map<BlockPos, IIndependentStarlightSource> sourcePosBuilding = new HashMap<>();
+
+    //Link-state of all nodes in this world. Chains are updated from changes to this instead of being rebuilt.
+    private final TransmissionGraph graph = new TransmissionGraph();
+    //Positions of nodes whose links changed since the last tick.
+    private Set<BlockPos> changedNodePositions = new HashSet<>();
+    //Positions each source's chain needs to re-evaluate.
+    private Map<IIndependentStarlightSource, Set<BlockPos>> pendingChainUpdates = new HashMap<>();
 
     private final Object accessLock = new Object();
     private final World world;
@@ -64,68 +71,178 @@ public class TransmissionWorldHandler {
     public void tick() {
         WorldNetworkHandler handler = WorldNetworkHandler.getNetworkHandler(world);
 
+        synchronized (accessLock) {
+            updateChangedChains(handler);
+        }
+
         for (Tuple<BlockPos, IIndependentStarlightSource> sourceTuple : handler.getAllSources()) {
             BlockPos at = sourceTuple.key;
             IIndependentStarlightSource source = sourceTuple.value;
 
             synchronized (accessLock) {
                 if(!cachedSourceChain.containsKey(source)) {
-                    if(!sourcePosBuilding.contains(at)) {
-                        sourcePosBuilding.add(at);
+                    if(!sourcePosBuilding.containsKey(at)) {
+                        sourcePosBuilding.put(at, source);
                         buildSourceNetworkThreaded(source, handler, at);
                     }
                 }
 
-                List<ChunkPos> activeChunks = activeChunkMap.get(source);
-                if(activeChunks == null || activeChunks.isEmpty()) {
+                DistributionPlan plan = distributionPlans.get(source);
+                if(plan == null) {
+                    plan = compilePlan(source);
+                    if(plan == null) continue; //Not built yet
+                }
+                if(!plan.isActive()) {
                     continue; //Not producing anything.
                 }
 
-                TransmissionChain chain = cachedSourceChain.get(source);
                 double starlight = source.produceStarlightTick(world, at);
                 IWeakConstellation type = source.getStarlightType();
                 if (type == null) continue;
+                if(!plan.isCompiledFor(type)) {
+                    distributionPlans.remove(source);
+                    plan = compilePlan(source);
+                    if(plan == null) continue;
+                }
+                plan.distribute(world, rand, starlight);
+            }
+        }
+    }
 
-                Map<BlockPos, Float> lossMultipliers = chain.getLossMultipliers();
-                for (ITransmissionReceiver rec : chain.getEndpointsNodes()) {
-                    BlockPos pos = rec.getLocationPos();
-                    Float multiplier = lossMultipliers.get(pos);
-                    if (multiplier != null) {
-                        rec.onStarlightReceive(world, MiscUtils.isChunkLoaded(world, new ChunkPos(pos)), type, starlight * multiplier);
+    @Nullable
+    private DistributionPlan compilePlan(IIndependentStarlightSource source) {
+        TransmissionChain chain = cachedSourceChain.get(source);
+        IWeakConstellation type = source.getStarlightType();
+        if(chain == null) return null;
+        List<ChunkPos> activeChunks = activeChunkMap.get(source);
+        DistributionPlan plan = DistributionPlan.compile(world, chain, type, activeChunks != null && !activeChunks.isEmpty());
+        distributionPlans.put(source, plan);
+        return plan;
+    }
+
+    private void invalidatePlans(@Nullable Collection<IIndependentStarlightSource> sources) {
+        if(sources != null) {
+            for (IIndependentStarlightSource source : sources) {
+                distributionPlans.remove(source);
+            }
+        }
+    }
+
+    private void updateChangedChains(WorldNetworkHandler handler) {
+        if(!changedNodePositions.isEmpty()) {
+            synchronized (graph) {
+                for (BlockPos pos : changedNodePositions) {
+                    Set<BlockPos> changed = graph.update(handler, pos);
+                    changed.add(pos);
+
+                    List<IIndependentStarlightSource> sources = posToSourceMap.get(pos);
+                    if(sources != null) {
+                        for (IIndependentStarlightSource source : sources) {
+                            pendingChainUpdates.computeIfAbsent(source, s -> new HashSet<>()).addAll(changed);
+                        }
+                    }
+                    //We don't know yet what those will reach, so they'll have to re-check the changes once they're done.
+                    for (IIndependentStarlightSource source : sourcePosBuilding.values()) {
+                        pendingChainUpdates.computeIfAbsent(source, s -> new HashSet<>()).addAll(changed);
                     }
                 }
+            }
+            changedNodePositions.clear();
+        }
 
-                if(starlight > 0.1D) {
-                    for (IPrismTransmissionNode node : chain.getTransmissionUpdateList()) {
-                        node.onTransmissionTick(world);
-                    }
+        if(pendingChainUpdates.isEmpty()) return;
+        Map<IIndependentStarlightSource, Set<BlockPos>> pending = pendingChainUpdates;
+        pendingChainUpdates = new HashMap<>();
+        for (Map.Entry<IIndependentStarlightSource, Set<BlockPos>> entry : pending.entrySet()) {
+            IIndependentStarlightSource source = entry.getKey();
+            TransmissionChain chain = cachedSourceChain.get(source);
+            if(chain == null) {
+                if(sourcePosBuilding.containsValue(source)) {
+                    pendingChainUpdates.put(source, entry.getValue()); //Apply once it's built.
                 }
+                continue; //Otherwise it gets built from scratch anyway.
+            }
 
-                Iterator<BlockPos> iterator = chain.getUncheckedEndpointsBlock().iterator();
-                while (iterator.hasNext()) {
-                    BlockPos endPointPos = iterator.next();
-                    if (MiscUtils.isChunkLoaded(world, new ChunkPos(endPointPos))) {
-                        IBlockState endState = world.getBlockState(endPointPos);
-                        Block b = endState.getBlock();
-                        if (b instanceof IBlockStarlightRecipient) {
-                            Float multiplier = lossMultipliers.get(endPointPos);
-                            if (multiplier != null) {
-                                ((IBlockStarlightRecipient) b).receiveStarlight(world, rand, endPointPos, type, starlight * multiplier);
-                            }
-                        } else {
-                            StarlightNetworkRegistry.IStarlightBlockHandler handle = StarlightNetworkRegistry.getStarlightHandler(world, endPointPos, endState, type);
-                            if(handle != null) {
-                                Float multiplier = lossMultipliers.get(endPointPos);
-                                if (multiplier != null) {
-                                    handle.receiveStarlight(world, rand, endPointPos, type, starlight * multiplier);
-                                }
-                            } else {
-                                chain.updatePosAsResolved(world, endPointPos);
-                            }
-                        }
-                    }
+            if(handler.getSourceAt(chain.getSourcePos()) != source) {
+                breakSourceNetwork(source);
+                continue;
+            }
+
+            TransmissionChain.ChainDelta delta = new TransmissionChain.ChainDelta();
+            boolean updated;
+            synchronized (graph) {
+                updated = chain.update(handler, graph, entry.getValue(), delta);
+            }
+            if(updated) {
+                applyChainDelta(source, delta);
+            } else {
+                breakSourceNetwork(source);
+            }
+        }
+    }
+
+    private void applyChainDelta(IIndependentStarlightSource source, TransmissionChain.ChainDelta delta) {
+        distributionPlans.remove(source);
+        for (BlockPos pos : delta.removedPositions) {
+            List<IIndependentStarlightSource> sources = posToSourceMap.get(pos);
+            if(sources != null) {
+                sources.remove(source);
+                if(sources.isEmpty()) {
+                    posToSourceMap.remove(pos);
+                }
+            }
+        }
+        for (BlockPos pos : delta.addedPositions) {
+            posToSourceMap.computeIfAbsent(pos, p -> new LinkedList<>()).add(source);
+        }
+
+        for (ChunkPos chPos : delta.removedChunks) {
+            List<IIndependentStarlightSource> sources = involvedSourceMap.get(chPos);
+            if(sources != null) {
+                sources.remove(source);
+                if(sources.isEmpty()) {
+                    involvedSourceMap.remove(chPos);
                 }
             }
+            List<ChunkPos> activeChunks = activeChunkMap.get(source);
+            if(activeChunks != null) {
+                activeChunks.remove(chPos);
+                if(activeChunks.isEmpty()) {
+                    activeChunkMap.remove(source);
+                }
+            }
+        }
+        for (ChunkPos chPos : delta.addedChunks) {
+            involvedSourceMap.computeIfAbsent(chPos, p -> new LinkedList<>()).add(source);
+            if(MiscUtils.isChunkLoaded(world, chPos)) {
+                activeChunkMap.computeIfAbsent(source, s -> new LinkedList<>()).add(chPos);
+            }
+        }
+
+        int dimId = world.provider.getDimension();
+        if(!delta.removedConnections.isEmpty() || !delta.addedConnections.isEmpty()) {
+            DataLightConnections connections = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS);
+            connections.removeOldConnectionsThreaded(dimId, delta.removedConnections);
+            connections.updateNewConnectionsThreaded(dimId, delta.addedConnections);
+        }
+        if(!delta.removedResolvedPositions.isEmpty() || !delta.addedResolvedPositions.isEmpty()) {
+            DataLightBlockEndpoints endpoints = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS);
+            if(!delta.removedResolvedPositions.isEmpty()) {
+                endpoints.removeEndpoints(dimId, delta.removedResolvedPositions);
+            }
+            if(!delta.addedResolvedPositions.isEmpty()) {
+                endpoints.updateNewEndpoints(dimId, delta.addedResolvedPositions);
+            }
+        }
+    }
+
+    //Resolves the links reachable from that position and copies them for a chain built off-thread.
+    //Nodes that turned out to be replaced are handled like any other changed node next tick.
+    TransmissionGraph snapshotGraph(WorldNetworkHandler handler, BlockPos sourcePos) {
+        synchronized (accessLock) {
+            synchronized (graph) {
+                return graph.snapshotReachable(handler, sourcePos, changedNodePositions);
+            }
         }
     }
 
@@ -133,11 +250,16 @@ public class TransmissionWorldHandler {
         TransmissionChain.threadedBuildTransmissionChain(this, source, handler, sourcePos);
     }
 
+    //Called on the server thread once the chain is built.
     void threadTransmissionChainCallback(TransmissionChain chain, IIndependentStarlightSource source, WorldNetworkHandler handle, BlockPos sourcePos) {
+        if(StarlightTransmissionHandler.getInstance().getWorldHandler(world) != this) {
+            return; //World got unloaded in the meantime.
+        }
         synchronized (accessLock) {
             sourcePosBuilding.remove(sourcePos);
 
             cachedSourceChain.put(source, chain);
+            distributionPlans.remove(source);
             List<ChunkPos> activeChunks = new LinkedList<>();
             for (ChunkPos pos : chain.getInvolvedChunks()) {
                 List<IIndependentStarlightSource> sources = involvedSourceMap.get(pos);
@@ -167,6 +289,12 @@ public class TransmissionWorldHandler {
                 posToSourceMap.put(sourcePos, sources);
             }
             sources.add(source);
+
+            int dimId = world.provider.getDimension();
+            DataLightConnections connections = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS);
+            connections.updateNewConnectionsThreaded(dimId, chain.getFoundConnections());
+            DataLightBlockEndpoints endpoints = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS);
+            endpoints.updateNewEndpoints(dimId, chain.getResolvedNormalBlockPositions());
         }
     }
 
@@ -175,14 +303,10 @@ public class TransmissionWorldHandler {
     }
 
     //Fired if the node's state related to the network changes.
-    //Break all networks associated with that node to trigger recalculations as needed.
+    //The node's links are re-evaluated next tick and all chains passing through it get updated accordingly.
     public void notifyTransmissionNodeChange(IPrismTransmissionNode node) {
-        BlockPos pos = node.getLocationPos();
         synchronized (accessLock) {
-            List<IIndependentStarlightSource> sources = posToSourceMap.get(pos);
-            if(sources != null) {
-                new ArrayList<>(sources).forEach(this::breakSourceNetwork);
-            }
+            changedNodePositions.add(node.getLocationPos());
         }
     }
 
@@ -204,7 +328,9 @@ public class TransmissionWorldHandler {
                         }
                     }
                 }
-                for (BlockPos pos : knownChain.getLossMultipliers().keySet()) {
+                List<BlockPos> positions = new ArrayList<>(knownChain.getLossMultipliers().keySet());
+                positions.add(knownChain.getSourcePos());
+                for (BlockPos pos : positions) {
                     List<IIndependentStarlightSource> sources = posToSourceMap.get(pos);
                     if(sources != null) {
                         sources.remove(source);
@@ -213,25 +339,41 @@ public class TransmissionWorldHandler {
                         }
                     }
                 }
-                Thread tr = new Thread(() -> {
-                    DataLightConnections connections = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS);
-                    connections.removeOldConnectionsThreaded(world.provider.getDimension(), knownChain.getFoundConnections());
-                });
-                tr.start();
-                Thread t = new Thread(() -> {
-                    DataLightBlockEndpoints connections = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS);
-                    connections.removeEndpoints(world.provider.getDimension(), knownChain.getResolvedNormalBlockPositions());
-                });
-                t.start();
+                DataLightConnections connections = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS);
+                connections.removeOldConnectionsThreaded(world.provider.getDimension(), knownChain.getFoundConnections());
+                DataLightBlockEndpoints endpoints = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS);
+                endpoints.removeEndpoints(world.provider.getDimension(), knownChain.getResolvedNormalBlockPositions());
+            } else if(sourcePosBuilding.containsValue(source)) {
+                //Whatever is being calculated right now is outdated already.
+                BlockPos at = null;
+                for (Map.Entry<BlockPos, IIndependentStarlightSource> entry : sourcePosBuilding.entrySet()) {
+                    if(entry.getValue() == source) {
+                        at = entry.getKey();
+                        break;
+                    }
+                }
+                if(at != null) {
+                    buildSourceNetworkThreaded(source, WorldNetworkHandler.getNetworkHandler(world), at);
+                }
             }
             activeChunkMap.remove(source);
             cachedSourceChain.remove(source);
+            distributionPlans.remove(source);
+            pendingChainUpdates.remove(source);
+        }
+    }
+
+    //Endpoint blocks might start or stop accepting starlight.
+    public void informBlockChange(BlockPos pos) {
+        synchronized (accessLock) {
+            invalidatePlans(posToSourceMap.get(pos));
         }
     }
 
     public void informChunkUnload(ChunkPos pos) {
         synchronized (accessLock) {
             List<IIndependentStarlightSource> sources = involvedSourceMap.get(pos);
+            invalidatePlans(sources);
             if(sources != null) {
                 for (IIndependentStarlightSource source : sources) {
                     List<ChunkPos> activeChunks = activeChunkMap.get(source);
@@ -249,6 +391,7 @@ public class TransmissionWorldHandler {
     public void informChunkLoad(ChunkPos pos) {
         synchronized (accessLock) {
             List<IIndependentStarlightSource> sources = involvedSourceMap.get(pos);
+            invalidatePlans(sources);
             if(sources != null) {
                 for (IIndependentStarlightSource source : sources) {
                     TransmissionChain chain = cachedSourceChain.get(source);
@@ -274,8 +417,14 @@ public class TransmissionWorldHandler {
         synchronized (accessLock) {
             this.activeChunkMap.clear();
             this.cachedSourceChain.clear();
+            this.distributionPlans.clear();
             this.involvedSourceMap.clear();
             this.posToSourceMap.clear();
+            this.changedNodePositions.clear();
+            this.pendingChainUpdates.clear();
+            synchronized (graph) {
+                this.graph.clear();
+            }
             DataLightConnections connections = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_CONNECTIONS);
             connections.clearDimensionPositions(dimId);
             DataLightBlockEndpoints endpoints = SyncDataHolder.getDataServer(SyncDataHolder.DATA_LIGHT_BLOCK_ENDPOINTS);
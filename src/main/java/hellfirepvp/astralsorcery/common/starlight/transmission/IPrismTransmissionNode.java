@@ -9,6 +9,7 @@
 package hellfirepvp.astralsorcery.common.starlight.transmission;
 
 import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
+import hellfirepvp.astralsorcery.common.data.world.data.LightNetworkBuffer;
 import hellfirepvp.astralsorcery.common.item.crystal.CrystalProperties;
 import hellfirepvp.astralsorcery.common.starlight.WorldNetworkHandler;
 import hellfirepvp.astralsorcery.common.starlight.transmission.registry.TransmissionClassRegistry;
@@ -71,6 +72,10 @@ public interface IPrismTransmissionNode extends ILocatable {
     //The node at "source" should have THIS as its "next" or one of his "next"
     public void notifySourceUnlink(World world, BlockPos source);
 
+    //Fired to notify THIS that the link from the given "source" got blocked or became clear again
+    //The node at "source" should have THIS as its "next" or one of his "next"
+    default public void notifySourceReachabilityChange(World world, BlockPos source, boolean reachable) {}
+
     //Fired to check if a line from THIS to a NEXT is still valid after blockchanges
     //Return true, if and only if the state of this node in regards to the network has changed at all.
     public boolean notifyBlockChange(World world, BlockPos changed);
@@ -100,7 +105,8 @@ public interface IPrismTransmissionNode extends ILocatable {
     //which causes it to be recalculated and saved
     //whenever the world saves the next time.
     default public void markDirty(World world) {
-        WorldCacheManager.getOrLoadData(world, WorldCacheManager.SaveKey.LIGHT_NETWORK).markDirty();
+        LightNetworkBuffer buffer = WorldCacheManager.getOrLoadData(world, WorldCacheManager.SaveKey.LIGHT_NETWORK);
+        buffer.markDirty(getLocationPos());
     }
 
     //Get the provider of the node. Used to recreate the class at NBT read.
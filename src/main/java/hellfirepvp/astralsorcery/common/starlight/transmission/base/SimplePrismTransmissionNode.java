@@ -65,6 +65,7 @@ public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
             }
             if(anyChange) {
                 handle.notifyTransmissionNodeChange(this);
+                WorldNetworkHandler.getNetworkHandler(world).informReachabilityChange(this);
             }
         }
     }
@@ -92,7 +93,7 @@ public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
     public boolean notifyBlockChange(World world, BlockPos at) {
         boolean anyChange = false;
         for (PrismNext next : nextNodes.values()) {
-            if(next.notifyBlockPlace(world, thisPos, at)) anyChange = true;
+            if(next.notifyBlockPlace(world, at)) anyChange = true;
         }
         return anyChange;
     }
@@ -174,7 +175,6 @@ public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
 
         private final SimplePrismTransmissionNode parent;
         private boolean reachable = false;
-        private double distanceSq;
         private final BlockPos pos;
         private RaytraceAssist rayAssist = null;
 
@@ -187,13 +187,10 @@ public class SimplePrismTransmissionNode implements IPrismTransmissionNode {
             } else {
                 this.reachable = oldRayState;
             }
-            this.distanceSq = end.distanceSq(start.getX(), start.getY(), start.getZ());
         }
 
-        private boolean notifyBlockPlace(World world, BlockPos connect, BlockPos at) {
-            double dstStart = connect.distanceSq(at.getX(), at.getY(), at.getZ());
-            double dstEnd = pos.distanceSq(at.getX(), at.getY(), at.getZ());
-            if(dstStart > distanceSq || dstEnd > distanceSq) return false;
+        private boolean notifyBlockPlace(World world, BlockPos at) {
+            if(!rayAssist.isOnPath(at)) return false;
             boolean oldState = this.reachable;
             this.reachable = parent.ignoreBlockCollision || rayAssist.isClear(world);
             return this.reachable != oldState;
@@ -42,7 +42,6 @@ public class SimpleTransmissionNode implements ITransmissionNode {
 
     private boolean nextReachable = false;
     private BlockPos nextPos = null;
-    private double dstToNextSq = 0;
     private RaytraceAssist assistNext = null;
 
     private BlockPos thisPos;
@@ -66,6 +65,7 @@ public class SimpleTransmissionNode implements ITransmissionNode {
             this.nextReachable = ignoreBlockCollision || assistNext.isClear(world);
             if(nextReachable != oldState) {
                 handle.notifyTransmissionNodeChange(this);
+                WorldNetworkHandler.getNetworkHandler(world).informReachabilityChange(this);
             }
         }
     }
@@ -79,7 +79,6 @@ public class SimpleTransmissionNode implements ITransmissionNode {
         if(to.equals(nextPos)) { //cleanup
             this.nextPos = null;
             this.assistNext = null;
-            this.dstToNextSq = 0;
             this.nextReachable = false;
             return true;
         }
@@ -99,15 +98,12 @@ public class SimpleTransmissionNode implements ITransmissionNode {
         } else {
             this.nextReachable = oldRayState;
         }
-        this.dstToNextSq = pos.distanceSq(thisPos.getX(), thisPos.getY(), thisPos.getZ());
     }
 
     @Override
     public boolean notifyBlockChange(World world, BlockPos at) {
         if(nextPos == null) return false;
-        double dstStart = thisPos.distanceSq(at.getX(), at.getY(), at.getZ());
-        double dstEnd = nextPos.distanceSq(at.getX(), at.getY(), at.getZ());
-        if(dstStart > dstToNextSq || dstEnd > dstToNextSq) return false; //out of range
+        if(!assistNext.isOnPath(at)) return false; //Not in the way
         boolean oldState = this.nextReachable;
         this.nextReachable = ignoreBlockCollision || assistNext.isClear(world);
         return this.nextReachable != oldState;
@@ -80,7 +80,7 @@ public class ChangeSubscriber<T extends StructureMatcher> {
 
         this.isMatching = this.matcher.notifyChange(world, this.getRequester(), this.changeSet);
         this.changeSet.reset();
-        WorldCacheManager.getOrLoadData(world, WorldCacheManager.SaveKey.STRUCTURE_MATCH).markDirty();
+        ((StructureMatchingBuffer) WorldCacheManager.getOrLoadData(world, WorldCacheManager.SaveKey.STRUCTURE_MATCH)).markSubscriberDirty(this.getRequester());
 
         LogCategory.STRUCTURE_MATCH.info(() -> "Updating matched-state from " + (matchedBefore == null ? "<unmatched>" : matchedBefore.toString()) + " to " + this.isMatching);
 
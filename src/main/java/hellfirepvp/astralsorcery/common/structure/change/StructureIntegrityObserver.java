@@ -10,14 +10,14 @@ package hellfirepvp.astralsorcery.common.structure.change;
 
 import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
 import hellfirepvp.astralsorcery.common.data.world.data.StructureMatchingBuffer;
-import hellfirepvp.astralsorcery.common.event.BlockModifyEvent;
 import hellfirepvp.astralsorcery.common.structure.BlockStructureObserver;
 import hellfirepvp.astralsorcery.common.util.log.LogCategory;
+import hellfirepvp.astralsorcery.common.world.util.IBlockChangeListener;
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraft.world.chunk.Chunk;
 
 import java.util.List;
 
@@ -28,31 +28,23 @@ import java.util.List;
  * Created by HellFirePvP
  * Date: 02.12.2018 / 11:45
  */
-public class StructureIntegrityObserver {
+//Chunk interest is registered by the StructureMatchingBuffer for every chunk a subscriber observes.
+public class StructureIntegrityObserver implements IBlockChangeListener {
 
     public static final StructureIntegrityObserver INSTANCE = new StructureIntegrityObserver();
 
     private StructureIntegrityObserver() {}
 
-    @SubscribeEvent
-    public void onChange(BlockModifyEvent event) {
-        World world = event.getWorld();
-        if (world.isRemote || !event.getChunk().isTerrainPopulated()) {
-            return;
-        }
-
+    @Override
+    public void onBlockChange(World world, Chunk chunk, BlockPos pos, IBlockState oldS, IBlockState newS) {
         StructureMatchingBuffer buf = WorldCacheManager.getOrLoadData(world, WorldCacheManager.SaveKey.STRUCTURE_MATCH);
-        ChunkPos ch = event.getChunk().getPos();
-        BlockPos pos = event.getPos();
-        IBlockState oldS = event.getOldState();
-        IBlockState newS = event.getNewState();
 
-        List<ChangeSubscriber<?>> subscribers = buf.getSubscribers(ch);
+        List<ChangeSubscriber<?>> subscribers = buf.getSubscribers(chunk.getPos());
         for (ChangeSubscriber<?> subscriber : subscribers) {
             if (subscriber.observes(pos)) {
                 LogCategory.STRUCTURE_MATCH.info(() -> "Adding change at " + pos + " for " + subscriber.getRequester());
                 subscriber.addChange(pos, oldS, newS);
-                buf.markDirty();
+                buf.queueEvaluation(subscriber);
             }
         }
 
@@ -65,4 +57,9 @@ public class StructureIntegrityObserver {
         }
     }
 
+    @Override
+    public boolean watchesBlock(Block block) {
+        return block instanceof BlockStructureObserver;
+    }
+
 }
@@ -25,6 +25,7 @@ import hellfirepvp.astralsorcery.common.constellation.effect.ConstellationEffect
 import hellfirepvp.astralsorcery.common.constellation.effect.ConstellationEffectProperties;
 import hellfirepvp.astralsorcery.common.constellation.effect.ConstellationEffectRegistry;
 import hellfirepvp.astralsorcery.common.constellation.effect.ConstellationEffectStatus;
+import hellfirepvp.astralsorcery.common.constellation.effect.RitualScheduler;
 import hellfirepvp.astralsorcery.common.item.crystal.CrystalProperties;
 import hellfirepvp.astralsorcery.common.item.crystal.base.ItemTunedCrystalBase;
 import hellfirepvp.astralsorcery.common.lib.MultiBlockArrays;
@@ -60,6 +61,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.awt.*;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.List;
 
@@ -576,7 +578,7 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
         return uuid == null ? null : world.getPlayerEntityByUUID(uuid);
     }
 
-    public static class TransmissionReceiverRitualPedestal extends SimpleTransmissionReceiver {
+    public static class TransmissionReceiverRitualPedestal extends SimpleTransmissionReceiver implements RitualScheduler.ScheduledRitual {
 
         private static final int MAX_MIRROR_COUNT = 5;
 
@@ -608,8 +610,6 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
                 new BlockPos( 4, 2, -1)
         };
 
-        private int ticksTicking = 0;
-
         private boolean doesSeeSky, hasMultiblock;
         private BlockPos ritualLinkTo = null;
         private IWeakConstellation channeling;
@@ -622,8 +622,11 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
         //private TreeCaptureHelper.TreeWatcher tw = null;
         private ConstellationEffect ce;
         private Map<BlockPos, Boolean> offsetMirrors = new HashMap<>();
+        //Set when the mirrors' link states have to be looked up again from the network, rather than just following its link events.
+        private boolean mirrorStatesOutdated = true;
 
         private double collectionChannelBuffer = 0D;
+        private ScheduledEffect scheduledEffect = null;
         private boolean doesWorkBuffer = false;
         private float posDistribution = -1;
 
@@ -636,8 +639,6 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
 
         @Override
         public void update(World world) {
-            ticksTicking++;
-
             if(!this.crystal.isEmpty() && this.crystal.getItem() instanceof ItemTunedCrystalBase) {
                 CrystalProperties properties = CrystalProperties.getCrystalProperties(this.crystal);
                 IWeakConstellation tuned = ItemTunedCrystalBase.getMainConstellation(this.crystal);
@@ -662,38 +663,10 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
                     tw = null;
                 }*/
 
-                if(ticksTicking % 20 == 0) {
-                    WorldNetworkHandler handle = WorldNetworkHandler.getNetworkHandler(world);
-                    List<BlockPos> toNodes = getSources();
-                    for (BlockPos pos : new LinkedList<>(offsetMirrors.keySet())) {
-                        BlockPos act = pos.add(getLocationPos());
-                        if(!toNodes.contains(act)) {
-                            offsetMirrors.put(pos, false);
-                            continue;
-                        }
-
-                        IPrismTransmissionNode node = handle.getTransmissionNode(act);
-                        if(node == null) continue;
-
-                        boolean found = false;
-                        for (NodeConnection<IPrismTransmissionNode> n : node.queryNext(handle)) {
-                            if(n.getTo().equals(getLocationPos())) {
-                                offsetMirrors.put(pos, n.canConnect());
-                                found = true;
-                            }
-                        }
-                        if(!found) {
-                            offsetMirrors.put(pos, false);
-                        }
-                    }
-                }
-
-                if(ticksTicking % 60 == 0) {
-                    TileRitualPedestal pedestal = getTileAtPos(world, TileRitualPedestal.class);
-                    if(pedestal != null) {
-                        if(pedestal.offsetMirrorPositions.size() != offsetMirrors.size()) {
-                            updateMirrorPositions(world);
-                        }
+                if(mirrorStatesOutdated) {
+                    mirrorStatesOutdated = false;
+                    for (BlockPos offset : offsetMirrors.keySet()) {
+                        offsetMirrors.put(offset, isMirrorConnected(world, offset.add(getLocationPos())));
                     }
                 }
 
@@ -770,22 +743,47 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
             }
 
             executeTimes = MathHelper.floor(executeTimes * prop.getEffectAmplifier());
-            for (int i = 0; i <= executeTimes; i++) {
-                if(collectionChannelBuffer >= maxDrain) {
-                    collectionChannelBuffer -= maxDrain;
-                } else {
-                    collectionChannelBuffer = 0F;
-                }
+            collectionChannelBuffer = Math.max(0, collectionChannelBuffer - (executeTimes + 1) * maxDrain);
 
-                BlockPos to = getLocationPos();
-                if(ritualLinkTo != null) to = ritualLinkTo;
-                if(ce.playEffect(world, to, 1F, prop, trait)) {
-                    if(rand.nextFloat() < (addFractureChance * prop.getEffectAmplifier() / part)) {
-                        fractureCrystal(world);
-                    }
-                    markDirty(world);
+            //The effects themselves are played by the scheduler, within the time budget all rituals share.
+            TileRitualPedestal ped = getTileAtPos(world, TileRitualPedestal.class);
+            if(ped == null) {
+                this.scheduledEffect = null;
+                return;
+            }
+            this.scheduledEffect = new ScheduledEffect(ped, ce, prop, trait, addFractureChance * prop.getEffectAmplifier() / part);
+            RitualScheduler.getInstance().schedule(world, this, executeTimes + 1);
+        }
+
+        @Nullable
+        @Override
+        public IConstellation getRitualConstellation() {
+            return channeling;
+        }
+
+        @Override
+        public boolean runScheduledExecution(World world) {
+            ScheduledEffect effect = this.scheduledEffect;
+            if(effect == null || effect.effect != ce || !hasMultiblock || properties == null ||
+                    !MiscUtils.isChunkLoaded(world, getLocationPos())) {
+                return false;
+            }
+            //The pedestal that scheduled this got broken or replaced in the meantime.
+            TileRitualPedestal ped = effect.pedestal.get();
+            if(ped == null || ped.isInvalid() || getTileAtPos(world, TileRitualPedestal.class) != ped) {
+                this.scheduledEffect = null;
+                return false;
+            }
+
+            BlockPos to = getLocationPos();
+            if(ritualLinkTo != null) to = ritualLinkTo;
+            if(effect.effect.playEffect(world, to, 1F, effect.properties, effect.trait)) {
+                if(rand.nextFloat() < effect.fractureChance) {
+                    fractureCrystal(world);
                 }
+                markDirty(world);
             }
+            return true;
         }
 
         private void fractureCrystal(World world) {
@@ -906,7 +904,7 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
         }
 
         public void addMirrorPosition(World world, BlockPos offset) {
-            this.offsetMirrors.put(offset, false);
+            this.offsetMirrors.put(offset, isMirrorConnected(world, offset.add(getLocationPos())));
             updateMirrorPositions(world);
 
             markDirty(world);
@@ -924,6 +922,47 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
             return true;
         }
 
+        @Override
+        public void notifySourceLink(World world, BlockPos source) {
+            super.notifySourceLink(world, source);
+            //The source's link to this might not be set up yet.
+            if(offsetMirrors.containsKey(source.subtract(getLocationPos()))) {
+                mirrorStatesOutdated = true;
+            }
+        }
+
+        @Override
+        public void notifySourceUnlink(World world, BlockPos source) {
+            super.notifySourceUnlink(world, source);
+            BlockPos offset = source.subtract(getLocationPos());
+            if(offsetMirrors.containsKey(offset)) {
+                offsetMirrors.put(offset, false);
+            }
+        }
+
+        @Override
+        public void notifySourceReachabilityChange(World world, BlockPos source, boolean reachable) {
+            BlockPos offset = source.subtract(getLocationPos());
+            if(offsetMirrors.containsKey(offset)) {
+                offsetMirrors.put(offset, reachable && getSources().contains(source));
+            }
+        }
+
+        private boolean isMirrorConnected(World world, BlockPos mirrorPos) {
+            if(!getSources().contains(mirrorPos)) return false;
+
+            WorldNetworkHandler handle = WorldNetworkHandler.getNetworkHandler(world);
+            IPrismTransmissionNode node = handle.getTransmissionNode(mirrorPos);
+            if(node == null) return false;
+
+            for (NodeConnection<IPrismTransmissionNode> n : node.queryNext(handle)) {
+                if(n.getTo().equals(getLocationPos())) {
+                    return n.canConnect();
+                }
+            }
+            return false;
+        }
+
         public void updateMirrorPositions(World world) {
             TileRitualPedestal ped = getTileAtPos(world, TileRitualPedestal.class);
             if(ped != null) {
@@ -970,6 +1009,7 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
             for (int i = 0; i < listPos.tagCount(); i++) {
                 offsetMirrors.put(NBTHelper.readBlockPosFromNBT(listPos.getCompoundTagAt(i)), false);
             }
+            mirrorStatesOutdated = true;
 
             if(compound.hasKey("crystal")) {
                 this.crystal = new ItemStack(compound.getCompoundTag("crystal"));
@@ -1084,6 +1124,27 @@ public class TileRitualPedestal extends TileReceiverBase implements IMultiblockD
         public ItemStack getCrystal() {
             return crystal;
         }
+
+        //What the scheduler executes for this ritual; replaced with the current state every time executions are scheduled.
+        private static class ScheduledEffect {
+
+            private final WeakReference<TileRitualPedestal> pedestal;
+            private final ConstellationEffect effect;
+            private final ConstellationEffectProperties properties;
+            @Nullable
+            private final IMinorConstellation trait;
+            private final double fractureChance;
+
+            private ScheduledEffect(TileRitualPedestal pedestal, ConstellationEffect effect, ConstellationEffectProperties properties, @Nullable IMinorConstellation trait, double fractureChance) {
+                this.pedestal = new WeakReference<>(pedestal);
+                this.effect = effect;
+                this.properties = properties;
+                this.trait = trait;
+                this.fractureChance = fractureChance;
+            }
+
+        }
+
     }
 
     public static class PedestalReceiverProvider implements TransmissionClassRegistry.TransmissionProvider {
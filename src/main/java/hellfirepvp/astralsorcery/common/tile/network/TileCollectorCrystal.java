@@ -275,7 +275,7 @@ public class TileCollectorCrystal extends TileSourceBase implements IMultiblockD
             IIndependentStarlightSource source = handle.getSourceAt(getPos());
             if (source instanceof IndependentCrystalSource) {
                 ((IndependentCrystalSource) source).setEnhanced(enhanced);
-                handle.markDirty();
+                handle.markDirty(getPos());
             }
             markForUpdate();
         }
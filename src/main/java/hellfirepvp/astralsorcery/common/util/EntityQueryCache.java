@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.EntitySelectors;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: EntityQueryCache
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 15:03
+ */
+//Answers getEntitiesWithinAABB-style queries on the server from per-tick snapshots of the chunks' entity lists.
+//The first query for a class in a chunk collects that chunk's entities of that class; every further query that tick reuses them.
+//Entities are matched against their current bounding box, and dead ones are left out.
+//Entities spawning in a chunk drop that chunk's snapshot, so they're found right away.
+//Entities that moved into another chunk during the tick are still found where they were at the start of it,
+//which is covered by queries looking 2 blocks (World.MAX_ENTITY_RADIUS) further, like the world's own lookup does.
+//Such an entity may also be listed in the snapshots of both chunks, so each query returns every entity only once.
+//Same as the world's lookup, queries without a filter leave out spectators.
+//Client worlds are queried directly.
+public class EntityQueryCache {
+
+    public static final EntityQueryCache INSTANCE = new EntityQueryCache();
+
+    private final Map<World, WorldSnapshot> snapshots = new MapMaker().weakKeys().makeMap();
+
+    private EntityQueryCache() {}
+
+    public <T extends Entity> List<T> getEntitiesWithinAABB(World world, Class<? extends T> clazz, AxisAlignedBB box) {
+        return getEntitiesWithinAABB(world, clazz, box, EntitySelectors.NOT_SPECTATING);
+    }
+
+    public <T extends Entity> List<T> getEntitiesWithinAABB(World world, Class<? extends T> clazz, AxisAlignedBB box, @Nullable Predicate<? super T> filter) {
+        if(world.isRemote) {
+            return world.getEntitiesWithinAABB(clazz, box, filter);
+        }
+        WorldSnapshot snapshot = getSnapshot(world);
+
+        int minChX = MathHelper.floor((box.minX - World.MAX_ENTITY_RADIUS) / 16.0D);
+        int maxChX = MathHelper.floor((box.maxX + World.MAX_ENTITY_RADIUS) / 16.0D);
+        int minChZ = MathHelper.floor((box.minZ - World.MAX_ENTITY_RADIUS) / 16.0D);
+        int maxChZ = MathHelper.floor((box.maxZ + World.MAX_ENTITY_RADIUS) / 16.0D);
+        List<T> out = new ArrayList<>();
+        Set<Entity> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int chX = minChX; chX <= maxChX; chX++) {
+            for (int chZ = minChZ; chZ <= maxChZ; chZ++) {
+                List<Entity> entities = snapshot.getEntities(world, chX, chZ, clazz);
+                for (Entity e : entities) {
+                    if(e.isDead || !e.getEntityBoundingBox().intersects(box)) continue;
+                    T entity = (T) e;
+                    if((filter == null || filter.apply(entity)) && found.add(e)) {
+                        out.add(entity);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private WorldSnapshot getSnapshot(World world) {
+        WorldSnapshot snapshot = snapshots.get(world);
+        if(snapshot == null) {
+            snapshot = new WorldSnapshot();
+            snapshots.put(world, snapshot);
+        }
+        long tick = world.getTotalWorldTime();
+        if(snapshot.tick != tick) {
+            snapshot.tick = tick;
+            snapshot.chunks.clear();
+        }
+        return snapshot;
+    }
+
+    @SubscribeEvent
+    public void onJoin(EntityJoinWorldEvent event) {
+        World world = event.getWorld();
+        if(world.isRemote) return;
+
+        WorldSnapshot snapshot = snapshots.get(world);
+        if(snapshot != null) {
+            Entity entity = event.getEntity();
+            snapshot.chunks.remove(ChunkPos.asLong(MathHelper.floor(entity.posX / 16.0D), MathHelper.floor(entity.posZ / 16.0D)));
+        }
+    }
+
+    private static class WorldSnapshot {
+
+        private long tick = -1;
+        private final Long2ObjectMap<Map<Class<?>, List<Entity>>> chunks = new Long2ObjectOpenHashMap<>();
+
+        private List<Entity> getEntities(World world, int chX, int chZ, Class<? extends Entity> clazz) {
+            long key = ChunkPos.asLong(chX, chZ);
+            Map<Class<?>, List<Entity>> byClass = chunks.get(key);
+            if(byClass == null) {
+                byClass = new HashMap<>();
+                chunks.put(key, byClass);
+            }
+            List<Entity> entities = byClass.get(clazz);
+            if(entities == null) {
+                entities = collect(world, chX, chZ, clazz);
+                byClass.put(clazz, entities);
+            }
+            return entities;
+        }
+
+        private List<Entity> collect(World world, int chX, int chZ, Class<? extends Entity> clazz) {
+            Chunk ch = world.getChunkProvider().getLoadedChunk(chX, chZ);
+            if(ch == null) {
+                return Collections.emptyList();
+            }
+            List<Entity> entities = new ArrayList<>();
+            for (ClassInheritanceMultiMap<Entity> section : ch.getEntityLists()) {
+                for (Entity e : section.getByClass(clazz)) {
+                    entities.add(e);
+                }
+            }
+            return entities;
+        }
+
+    }
+
+}
@@ -124,10 +124,16 @@ public class MiscUtils {
             return true;
         }
 
-        if (!isChunkLoaded(world, at) && !loadChunk) {
-            return defaultValue;
+        //The chunk's heightmap already is a per-column sky cache that's kept up to date on every block change,
+        //so all that's left to avoid are repeated chunk lookups.
+        Chunk ch = world.getChunkProvider().getLoadedChunk(at.getX() >> 4, at.getZ() >> 4);
+        if (ch == null) {
+            if (!loadChunk) {
+                return defaultValue;
+            }
+            ch = world.getChunkFromBlockCoords(at);
         }
-        return world.canSeeSky(at);
+        return ch.canSeeSky(at);
     }
 
     public static <K, V, N> Map<K, N> remap(Map<K, V> map, Function<V, N> remapFct) {
@@ -214,6 +220,9 @@ public class MiscUtils {
     }
 
     public static boolean matchStateExact(@Nullable IBlockState state, @Nullable IBlockState stateToTest) {
+        if(state == stateToTest) {
+            return true; //States are unique instances.
+        }
         if(state == null) {
             return stateToTest == null;
         } else if (stateToTest == null) {
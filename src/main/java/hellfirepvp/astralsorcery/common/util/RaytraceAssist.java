@@ -20,6 +20,8 @@ import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -38,6 +40,7 @@ public class RaytraceAssist {
     private static final Map<Block, List<Integer>> passable = new HashMap<>();
 
     private static final double STEP_WIDTH = 0.05;
+    private static final double TIE_EPSILON = 1.0E-9;
     private static final Vector3 CENTRALIZE = new Vector3(0.5, 0.5, 0.5);
 
     private final Vector3 start, target;
@@ -50,6 +53,11 @@ public class RaytraceAssist {
 
     private BlockPos hit = null;
 
+    //Every block the line passes through, in traversal order, start and end included. Only depends on start and target.
+    private long[] path = null;
+    private long[] sortedPath = null;
+    private final BlockPos.MutableBlockPos traversePos = new BlockPos.MutableBlockPos();
+
     public RaytraceAssist(BlockPos start, BlockPos target) {
         this(new Vector3(start).add(CENTRALIZE), new Vector3(target).add(CENTRALIZE));
     }
@@ -73,6 +81,119 @@ public class RaytraceAssist {
     }
 
     public boolean isClear(World world) {
+        if(collectEntities) {
+            return isClearCollecting(world);
+        }
+
+        long[] path = getPath();
+        BlockPos.MutableBlockPos at = this.traversePos;
+        Chunk chunk = null;
+        int chunkX = 0, chunkZ = 0;
+        for (long packed : path) {
+            at.setPos(unpackX(packed), unpackY(packed), unpackZ(packed));
+            if(isStartEnd(at)) continue;
+
+            int cx = at.getX() >> 4;
+            int cz = at.getZ() >> 4;
+            if(chunk == null || cx != chunkX || cz != chunkZ) {
+                chunk = world.getChunkProvider().getLoadedChunk(cx, cz);
+                chunkX = cx;
+                chunkZ = cz;
+            }
+            if(chunk == null || chunk.isEmpty()) continue; //Not loaded
+
+            int y = at.getY();
+            if(y < 0 || y >= 256) continue;
+            ExtendedBlockStorage section = chunk.getBlockStorageArray()[y >> 4];
+            if(section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty()) continue; //Nothing but air
+
+            IBlockState state = section.get(at.getX() & 15, y & 15, at.getZ() & 15);
+            if(!state.getBlock().isAir(state, world, at) && !isAllowed(state)) {
+                hit = at.toImmutable();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //true if a block change at that position can change the result of isClear
+    public boolean isOnPath(BlockPos pos) {
+        if(isStartEnd(pos)) return false;
+        if(sortedPath == null) {
+            sortedPath = getPath().clone();
+            Arrays.sort(sortedPath);
+        }
+        return Arrays.binarySearch(sortedPath, pack(pos.getX(), pos.getY(), pos.getZ())) >= 0;
+    }
+
+    private long[] getPath() {
+        if(path == null) {
+            path = traverse();
+        }
+        return path;
+    }
+
+    //Exact voxel traversal (Amanatides & Woo) from start to target.
+    //Visits each block the line passes through exactly once; if the line passes exactly through an edge
+    //or corner, the blocks merely touching it are skipped, same as the previous sampling did.
+    private long[] traverse() {
+        double sx = start.getX(), sy = start.getY(), sz = start.getZ();
+        double dx = target.getX() - sx, dy = target.getY() - sy, dz = target.getZ() - sz;
+        int x = startPos.getX(), y = startPos.getY(), z = startPos.getZ();
+        int endX = targetPos.getX(), endY = targetPos.getY(), endZ = targetPos.getZ();
+
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+        int stepZ = dz > 0 ? 1 : (dz < 0 ? -1 : 0);
+        double tDeltaX = stepX == 0 ? Double.MAX_VALUE : 1D / Math.abs(dx);
+        double tDeltaY = stepY == 0 ? Double.MAX_VALUE : 1D / Math.abs(dy);
+        double tDeltaZ = stepZ == 0 ? Double.MAX_VALUE : 1D / Math.abs(dz);
+        double tMaxX = stepX == 0 ? Double.MAX_VALUE : (stepX > 0 ? (x + 1 - sx) : (sx - x)) * tDeltaX;
+        double tMaxY = stepY == 0 ? Double.MAX_VALUE : (stepY > 0 ? (y + 1 - sy) : (sy - y)) * tDeltaY;
+        double tMaxZ = stepZ == 0 ? Double.MAX_VALUE : (stepZ > 0 ? (z + 1 - sz) : (sz - z)) * tDeltaZ;
+
+        //Upper bound: every step moves at least one block closer to the target along one axis
+        long[] out = new long[Math.abs(endX - x) + Math.abs(endY - y) + Math.abs(endZ - z) + 1];
+        int count = 0;
+        out[count++] = pack(x, y, z);
+        while ((x != endX || y != endY || z != endZ) && count < out.length) {
+            double t = Math.min(tMaxX, Math.min(tMaxY, tMaxZ));
+            if(t > 1D) break;
+            if(tMaxX - t <= TIE_EPSILON) {
+                x += stepX;
+                tMaxX += tDeltaX;
+            }
+            if(tMaxY - t <= TIE_EPSILON) {
+                y += stepY;
+                tMaxY += tDeltaY;
+            }
+            if(tMaxZ - t <= TIE_EPSILON) {
+                z += stepZ;
+                tMaxZ += tDeltaZ;
+            }
+            out[count++] = pack(x, y, z);
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    private static long pack(int x, int y, int z) {
+        return (((long) x & 0x3FFFFFFL) << 38) | (((long) y & 0xFFFL) << 26) | ((long) z & 0x3FFFFFFL);
+    }
+
+    private static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    private static int unpackY(long packed) {
+        return (int) ((packed << 26) >> 52);
+    }
+
+    private static int unpackZ(long packed) {
+        return (int) ((packed << 38) >> 38);
+    }
+
+    //Entities are collected along sample points of the line, so this needs the stepwise search.
+    private boolean isClearCollecting(World world) {
         Vector3 aim = start.vectorFromHereTo(target);
         Vector3 stepAim = aim.clone().normalize().multiply(STEP_WIDTH);
         double distance = aim.length();
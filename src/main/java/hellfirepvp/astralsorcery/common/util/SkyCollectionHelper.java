@@ -9,7 +9,9 @@
 package hellfirepvp.astralsorcery.common.util;
 
 import hellfirepvp.astralsorcery.common.constellation.distribution.ConstellationSkyHandler;
+import it.unimi.dsi.fastutil.HashCommon;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -17,6 +19,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -25,54 +28,72 @@ import java.util.Random;
  * Created by HellFirePvP
  * Date: 15.01.2017 / 16:31
  */
+//Noise values only depend on x and z, and every chunk lies within a single 32x32 noise cell.
+//So the cell's corner noise is computed once per chunk and all 256 interpolated values of the chunk are cached.
+//The cache is direct-mapped and holds immutable entries, so lookups from any thread neither lock nor allocate.
 public class SkyCollectionHelper {
 
     private static final int accuracy = 32;
-    private static final Random sharedRand = new Random();
+
+    private static final int CHUNK_CACHE_SIZE = 1024;
+    //Beyond that, the float division placing the cell anchors isn't exact anymore; those positions aren't cached.
+    private static final int MAX_CACHED_COORD = 1 << 24;
+
+    private static final AtomicReferenceArray<ChunkNoise> chunkCache = new AtomicReferenceArray<>(CHUNK_CACHE_SIZE);
+    private static volatile NoiseSeed lastNoiseSeed = null;
 
     @SideOnly(Side.CLIENT)
     public static Optional<Float> getSkyNoiseDistributionClient(World world, BlockPos pos) {
         Optional<Long> testSeed = ConstellationSkyHandler.getInstance().getSeedIfPresent(world);
         if(!testSeed.isPresent()) return Optional.empty();
-        return Optional.of(getDistributionInternal(testSeed.get(), pos));
+        return Optional.of(getDistribution(testSeed.get(), pos));
     }
 
     public static float getSkyNoiseDistribution(World world, BlockPos pos) {
-        return getDistributionInternal(new Random(world.getSeed()).nextLong(), pos);
+        return getDistribution(getNoiseSeed(world.getSeed()), pos);
     }
 
-    private static float getDistributionInternal(long seed, BlockPos pos) {
-        BlockPos lowerAnchorPoint = new BlockPos(
-                        (int) Math.floor((float) pos.getX() / accuracy) * accuracy,
-                        0,
-                        (int) Math.floor((float) pos.getZ() / accuracy) * accuracy);
-        float layer0 = getNoiseDistribution(seed,
-                lowerAnchorPoint,
-                lowerAnchorPoint.add(accuracy, 0, 0),
-                lowerAnchorPoint.add(0, 0, accuracy),
-                lowerAnchorPoint.add(accuracy, 0, accuracy),
-                pos);
-        sharedRand.setSeed(seed);
-        long nextLayerSeed = sharedRand.nextLong();
-        float layer1 = getNoiseDistribution(nextLayerSeed,
-                lowerAnchorPoint,
-                lowerAnchorPoint.add(accuracy, 0, 0),
-                lowerAnchorPoint.add(0, 0, accuracy),
-                lowerAnchorPoint.add(accuracy, 0, accuracy),
-                pos);
-        return layer0 * layer1;
+    private static long getNoiseSeed(long worldSeed) {
+        NoiseSeed seed = lastNoiseSeed;
+        if(seed == null || seed.worldSeed != worldSeed) {
+            seed = new NoiseSeed(worldSeed, new Random(worldSeed).nextLong());
+            lastNoiseSeed = seed;
+        }
+        return seed.noiseSeed;
     }
 
-    private static float getNoiseDistribution(long seed, BlockPos lXlZ, BlockPos hXlZ, BlockPos lXhZ, BlockPos hXhZ, BlockPos exact) {
-        float nll = getNoise(seed, lXlZ.getX(), lXlZ.getZ());
-        float nhl = getNoise(seed, hXlZ.getX(), hXlZ.getZ());
-        float nlh = getNoise(seed, lXhZ.getX(), lXhZ.getZ());
-        float nhh = getNoise(seed, hXhZ.getX(), hXhZ.getZ());
+    private static float getDistribution(long seed, BlockPos pos) {
+        int x = pos.getX();
+        int z = pos.getZ();
+        if(x <= -MAX_CACHED_COORD || x >= MAX_CACHED_COORD || z <= -MAX_CACHED_COORD || z >= MAX_CACHED_COORD) {
+            return getDistributionInternal(seed, pos);
+        }
+        int chX = x >> 4;
+        int chZ = z >> 4;
+        int slot = (int) HashCommon.mix(ChunkPos.asLong(chX, chZ) ^ seed) & (CHUNK_CACHE_SIZE - 1);
+        ChunkNoise noise = chunkCache.get(slot);
+        if(noise == null || noise.seed != seed || noise.chX != chX || noise.chZ != chZ) {
+            noise = new ChunkNoise(seed, chX, chZ);
+            chunkCache.set(slot, noise);
+        }
+        return noise.values[(z & 15) << 4 | (x & 15)];
+    }
 
-        float xPart = Math.abs(((float) (exact.getX() - lXlZ.getX()) ) / accuracy);
-        float zPart = Math.abs(((float) (exact.getZ() - lXlZ.getZ()) ) / accuracy);
+    private static float getDistributionInternal(long seed, BlockPos pos) {
+        BlockPos lowerAnchorPoint = getAnchor(pos.getX(), pos.getZ());
+        Random rand = new Random();
+        CellNoise layer0 = new CellNoise(rand, seed, lowerAnchorPoint);
+        rand.setSeed(seed);
+        long nextLayerSeed = rand.nextLong();
+        CellNoise layer1 = new CellNoise(rand, nextLayerSeed, lowerAnchorPoint);
+        return layer0.interpolate(lowerAnchorPoint, pos.getX(), pos.getZ()) * layer1.interpolate(lowerAnchorPoint, pos.getX(), pos.getZ());
+    }
 
-        return cosInterpolate(cosInterpolate(nll, nhl, xPart), cosInterpolate(nlh, nhh, xPart), zPart);
+    private static BlockPos getAnchor(int x, int z) {
+        return new BlockPos(
+                (int) Math.floor((float) x / accuracy) * accuracy,
+                0,
+                (int) Math.floor((float) z / accuracy) * accuracy);
     }
 
     private static float cosInterpolate(float l, float h, float partial) {
@@ -80,8 +101,8 @@ public class SkyCollectionHelper {
         return(l * (1F - t2) + h * t2);
     }
 
-    private static float getNoise(long seed, int posX, int posZ) {
-        sharedRand.setSeed(
+    private static float getNoise(Random rand, long seed, int posX, int posZ) {
+        rand.setSeed(
                 simple_hash(new int[] {
                         (int) (seed),
                         (int) (seed >> 32),
@@ -89,8 +110,8 @@ public class SkyCollectionHelper {
                         posZ
                 }, 4)
         );
-        sharedRand.nextLong();
-        return sharedRand.nextFloat();
+        rand.nextLong();
+        return rand.nextFloat();
     }
 
     //General hash function with some parameters~
@@ -103,4 +124,66 @@ public class SkyCollectionHelper {
         return hash % 75327403;
     }
 
+    //The noise at the four corners of a cell.
+    private static class CellNoise {
+
+        private final float nll, nhl, nlh, nhh;
+
+        private CellNoise(Random rand, long seed, BlockPos lXlZ) {
+            this.nll = getNoise(rand, seed, lXlZ.getX(), lXlZ.getZ());
+            this.nhl = getNoise(rand, seed, lXlZ.getX() + accuracy, lXlZ.getZ());
+            this.nlh = getNoise(rand, seed, lXlZ.getX(), lXlZ.getZ() + accuracy);
+            this.nhh = getNoise(rand, seed, lXlZ.getX() + accuracy, lXlZ.getZ() + accuracy);
+        }
+
+        private float interpolate(BlockPos lXlZ, int x, int z) {
+            float xPart = Math.abs(((float) (x - lXlZ.getX()) ) / accuracy);
+            float zPart = Math.abs(((float) (z - lXlZ.getZ()) ) / accuracy);
+
+            return cosInterpolate(cosInterpolate(nll, nhl, xPart), cosInterpolate(nlh, nhh, xPart), zPart);
+        }
+
+    }
+
+    private static class ChunkNoise {
+
+        private final long seed;
+        private final int chX, chZ;
+        //Indexed by (z & 15) << 4 | (x & 15)
+        private final float[] values = new float[256];
+
+        private ChunkNoise(long seed, int chX, int chZ) {
+            this.seed = seed;
+            this.chX = chX;
+            this.chZ = chZ;
+
+            int minX = chX << 4;
+            int minZ = chZ << 4;
+            BlockPos lowerAnchorPoint = getAnchor(minX, minZ);
+            Random rand = new Random();
+            CellNoise layer0 = new CellNoise(rand, seed, lowerAnchorPoint);
+            rand.setSeed(seed);
+            CellNoise layer1 = new CellNoise(rand, rand.nextLong(), lowerAnchorPoint);
+            for (int zz = 0; zz < 16; zz++) {
+                for (int xx = 0; xx < 16; xx++) {
+                    values[zz << 4 | xx] = layer0.interpolate(lowerAnchorPoint, minX + xx, minZ + zz) *
+                            layer1.interpolate(lowerAnchorPoint, minX + xx, minZ + zz);
+                }
+            }
+        }
+
+    }
+
+    private static class NoiseSeed {
+
+        private final long worldSeed;
+        private final long noiseSeed;
+
+        private NoiseSeed(long worldSeed, long noiseSeed) {
+            this.worldSeed = worldSeed;
+            this.noiseSeed = noiseSeed;
+        }
+
+    }
+
 }
@@ -8,19 +8,21 @@
 
 package hellfirepvp.astralsorcery.common.util;
 
-import com.google.common.collect.Lists;
 import hellfirepvp.astralsorcery.common.data.world.WorldCacheManager;
+import hellfirepvp.astralsorcery.common.data.world.data.BiomeLocatorBuffer;
 import hellfirepvp.astralsorcery.common.data.world.data.StructureGenBuffer;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.biome.BiomeProvider;
 import net.minecraft.world.gen.IChunkGenerator;
 import net.minecraftforge.common.BiomeDictionary;
 
 import javax.annotation.Nullable;
-import java.util.List;
-import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -40,6 +42,8 @@ public class StructureFinder {
     public static final String STRUCT_ENDCITY = "EndCity";
     public static final String STRUCT_FORTRESS = "Fortress";
 
+    private static final int BIOME_SEARCH_RADIUS = 2048;
+
     private StructureFinder() {}
 
     @Nullable
@@ -61,18 +65,33 @@ public class StructureFinder {
 
     @Nullable
     public static BlockPos tryFindClosestBiomeType(WorldServer world, BlockPos playerPos, BiomeDictionary.Type biomeType) {
-        List<Biome> fitting = Lists.newArrayList(BiomeDictionary.getBiomes(biomeType));
+        Set<Biome> fitting = BiomeDictionary.getBiomes(biomeType);
         if(fitting.isEmpty()) {
             return null;
         }
-        BiomeProvider gen = world.getBiomeProvider();
-        for (int reach = 64; reach < 2112; reach += 128) {
-            BlockPos closest = gen.findBiomePosition(playerPos.getX(), playerPos.getZ(), reach, fitting, new Random(world.getSeed()));
-            if(closest != null) {
-                return closest;
-            }
+        BiomeLocatorBuffer locator = getBiomeLocator(world);
+        if(locator == null) {
+            return null;
+        }
+        return locator.findClosest(world, playerPos, fitting, BIOME_SEARCH_RADIUS);
+    }
+
+    //The world data cache may only be accessed on the server thread.
+    @Nullable
+    private static BiomeLocatorBuffer getBiomeLocator(WorldServer world) {
+        MinecraftServer server = world.getMinecraftServer();
+        if(server == null || server.isCallingFromMinecraftThread()) {
+            return WorldCacheManager.getOrLoadData(world, WorldCacheManager.SaveKey.BIOME_LOCATOR);
+        }
+        try {
+            return server.callFromMainThread(() -> WorldCacheManager.<BiomeLocatorBuffer>getOrLoadData(world, WorldCacheManager.SaveKey.BIOME_LOCATOR))
+                    .get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException exc) {
+            return null;
         }
-        return null;
     }
 
 }
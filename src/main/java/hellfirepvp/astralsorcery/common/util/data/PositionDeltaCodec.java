@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util.data;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: PositionDeltaCodec
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 01:02
+ */
+//Writes lists of positions as zigzag-varint offsets to the previous position.
+//Sorted positions of a network are mostly a few blocks apart, so most of them end up with 3-4 bytes instead of 8.
+public class PositionDeltaCodec {
+
+    private static final Comparator<BlockPos> POSITION_ORDER = Comparator.comparingLong(BlockPos::toLong);
+
+    public static void writePositions(PacketBuffer buf, Collection<BlockPos> positions) {
+        List<BlockPos> sorted = new ArrayList<>(positions);
+        sorted.sort(POSITION_ORDER);
+        buf.writeVarInt(sorted.size());
+        BlockPos prev = BlockPos.ORIGIN;
+        for (BlockPos pos : sorted) {
+            writeOffset(buf, prev, pos);
+            prev = pos;
+        }
+    }
+
+    public static List<BlockPos> readPositions(PacketBuffer buf) {
+        int size = buf.readVarInt();
+        List<BlockPos> out = new ArrayList<>(size);
+        BlockPos prev = BlockPos.ORIGIN;
+        for (int i = 0; i < size; i++) {
+            prev = readOffset(buf, prev);
+            out.add(prev);
+        }
+        return out;
+    }
+
+    //Starts are written relative to the previous start, ends relative to their own start.
+    public static void writeConnections(PacketBuffer buf, Collection<Tuple<BlockPos, BlockPos>> connections) {
+        List<Tuple<BlockPos, BlockPos>> sorted = new ArrayList<>(connections);
+        sorted.sort((c1, c2) -> POSITION_ORDER.compare(c1.key, c2.key));
+        buf.writeVarInt(sorted.size());
+        BlockPos prev = BlockPos.ORIGIN;
+        for (Tuple<BlockPos, BlockPos> connection : sorted) {
+            writeOffset(buf, prev, connection.key);
+            writeOffset(buf, connection.key, connection.value);
+            prev = connection.key;
+        }
+    }
+
+    public static List<Tuple<BlockPos, BlockPos>> readConnections(PacketBuffer buf) {
+        int size = buf.readVarInt();
+        List<Tuple<BlockPos, BlockPos>> out = new ArrayList<>(size);
+        BlockPos prev = BlockPos.ORIGIN;
+        for (int i = 0; i < size; i++) {
+            BlockPos start = readOffset(buf, prev);
+            out.add(new Tuple<>(start, readOffset(buf, start)));
+            prev = start;
+        }
+        return out;
+    }
+
+    private static void writeOffset(PacketBuffer buf, BlockPos from, BlockPos to) {
+        buf.writeVarInt(zigzag(to.getX() - from.getX()));
+        buf.writeVarInt(zigzag(to.getY() - from.getY()));
+        buf.writeVarInt(zigzag(to.getZ() - from.getZ()));
+    }
+
+    private static BlockPos readOffset(PacketBuffer buf, BlockPos from) {
+        int x = unzigzag(buf.readVarInt());
+        int y = unzigzag(buf.readVarInt());
+        int z = unzigzag(buf.readVarInt());
+        return from.add(x, y, z);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util.data;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.util.math.BlockPos;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: PositionGridIndex
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 12:31
+ */
+//Positions bucketed into square cells on the x/z plane, for distance queries that only look at nearby cells.
+//Nearest-position searches walk outwards ring by ring and stop once no closer cell can exist;
+//if the ring would be larger than the amount of occupied cells, the occupied cells are checked directly instead.
+public class PositionGridIndex {
+
+    private final int cellShift;
+    private final int cellSize;
+
+    private final Long2ObjectMap<LongList> cells = new Long2ObjectOpenHashMap<>();
+    private int size = 0;
+    private int minCellX = Integer.MAX_VALUE, minCellZ = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE, maxCellZ = Integer.MIN_VALUE;
+
+    public PositionGridIndex(int cellShift) {
+        this.cellShift = cellShift;
+        this.cellSize = 1 << cellShift;
+    }
+
+    public void add(BlockPos pos) {
+        int cX = pos.getX() >> cellShift;
+        int cZ = pos.getZ() >> cellShift;
+        long key = cellKey(cX, cZ);
+        LongList cell = cells.get(key);
+        if(cell == null) {
+            cell = new LongArrayList(2);
+            cells.put(key, cell);
+            minCellX = Math.min(minCellX, cX);
+            minCellZ = Math.min(minCellZ, cZ);
+            maxCellX = Math.max(maxCellX, cX);
+            maxCellZ = Math.max(maxCellZ, cZ);
+        }
+        cell.add(pos.toLong());
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        cells.clear();
+        size = 0;
+        minCellX = minCellZ = Integer.MAX_VALUE;
+        maxCellX = maxCellZ = Integer.MIN_VALUE;
+    }
+
+    public int getCellShift() {
+        return cellShift;
+    }
+
+    //Packed positions (BlockPos.toLong()) in that cell. Must not be modified.
+    @Nullable
+    public LongList getCell(int cX, int cZ) {
+        return cells.get(cellKey(cX, cZ));
+    }
+
+    public List<BlockPos> getPositions() {
+        List<BlockPos> out = new ArrayList<>(size);
+        for (LongList cell : cells.values()) {
+            for (int i = 0; i < cell.size(); i++) {
+                out.add(BlockPos.fromLong(cell.getLong(i)));
+            }
+        }
+        return out;
+    }
+
+    @Nullable
+    public BlockPos getClosest(BlockPos to) {
+        Search search = findClosest(to.getX(), to.getY(), to.getZ());
+        return search.found ? BlockPos.fromLong(search.pos) : null;
+    }
+
+    //Double.MAX_VALUE if there's no position at all.
+    public double getDistanceToClosest(BlockPos to) {
+        Search search = findClosest(to.getX(), to.getY(), to.getZ());
+        return search.found ? Math.sqrt(search.distSq) : Double.MAX_VALUE;
+    }
+
+    //Distance to some position within 'radius', not necessarily the closest one. -1 if there is none.
+    public double getDistanceToAnyWithin(BlockPos to, double radius) {
+        if(size == 0 || radius < 0) return -1;
+        int x = to.getX(), y = to.getY(), z = to.getZ();
+        double radiusSq = radius * radius;
+        int r = (int) Math.ceil(radius);
+        int cX0 = (x - r) >> cellShift, cX1 = (x + r) >> cellShift;
+        int cZ0 = (z - r) >> cellShift, cZ1 = (z + r) >> cellShift;
+
+        if((long) (cX1 - cX0 + 1) * (cZ1 - cZ0 + 1) <= cells.size()) {
+            for (int cX = cX0; cX <= cX1; cX++) {
+                for (int cZ = cZ0; cZ <= cZ1; cZ++) {
+                    LongList cell = cells.get(cellKey(cX, cZ));
+                    if(cell != null) {
+                        double dst = findWithin(cell, x, y, z, radiusSq);
+                        if(dst != -1) return dst;
+                    }
+                }
+            }
+        } else {
+            for (Long2ObjectMap.Entry<LongList> entry : cells.long2ObjectEntrySet()) {
+                if(cellDistanceSq(entry.getLongKey(), x, z) > radiusSq) continue;
+                double dst = findWithin(entry.getValue(), x, y, z, radiusSq);
+                if(dst != -1) return dst;
+            }
+        }
+        return -1;
+    }
+
+    private double findWithin(LongList cell, int x, int y, int z, double radiusSq) {
+        for (int i = 0; i < cell.size(); i++) {
+            double dstSq = distanceSq(cell.getLong(i), x, y, z);
+            if(dstSq <= radiusSq) {
+                return Math.sqrt(dstSq);
+            }
+        }
+        return -1;
+    }
+
+    private Search findClosest(int x, int y, int z) {
+        Search search = new Search();
+        if(size == 0) return search;
+
+        int cX = x >> cellShift;
+        int cZ = z >> cellShift;
+        int maxRing = Math.max(Math.max(Math.abs(cX - minCellX), Math.abs(maxCellX - cX)),
+                Math.max(Math.abs(cZ - minCellZ), Math.abs(maxCellZ - cZ)));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            long ringWidth = 2L * ring + 1;
+            if(ringWidth * ringWidth > cells.size()) {
+                //Walking further out would look at more empty cells than there are occupied ones.
+                for (Long2ObjectMap.Entry<LongList> entry : cells.long2ObjectEntrySet()) {
+                    if(search.found && cellDistanceSq(entry.getLongKey(), x, z) >= search.distSq) continue;
+                    scan(entry.getValue(), x, y, z, search);
+                }
+                return search;
+            }
+
+            if(ring == 0) {
+                scanCell(cX, cZ, x, y, z, search);
+            } else {
+                for (int d = -ring; d <= ring; d++) {
+                    scanCell(cX + d, cZ - ring, x, y, z, search);
+                    scanCell(cX + d, cZ + ring, x, y, z, search);
+                }
+                for (int d = -ring + 1; d <= ring - 1; d++) {
+                    scanCell(cX - ring, cZ + d, x, y, z, search);
+                    scanCell(cX + ring, cZ + d, x, y, z, search);
+                }
+            }
+
+            //Everything in the next ring is at least this far away.
+            double nextRing = (double) ring * cellSize;
+            if(search.found && search.distSq <= nextRing * nextRing) {
+                break;
+            }
+        }
+        return search;
+    }
+
+    private void scanCell(int cX, int cZ, int x, int y, int z, Search search) {
+        LongList cell = cells.get(cellKey(cX, cZ));
+        if(cell != null) {
+            scan(cell, x, y, z, search);
+        }
+    }
+
+    private void scan(LongList cell, int x, int y, int z, Search search) {
+        for (int i = 0; i < cell.size(); i++) {
+            long pos = cell.getLong(i);
+            double dstSq = distanceSq(pos, x, y, z);
+            if(!search.found || dstSq < search.distSq) {
+                search.found = true;
+                search.distSq = dstSq;
+                search.pos = pos;
+            }
+        }
+    }
+
+    //Horizontal distance from the point to the closest point of the cell.
+    private double cellDistanceSq(long cellKey, int x, int z) {
+        int minX = cellX(cellKey) << cellShift;
+        int minZ = cellZ(cellKey) << cellShift;
+        double dx = x < minX ? minX - x : Math.max(0, x - (minX + cellSize - 1));
+        double dz = z < minZ ? minZ - z : Math.max(0, z - (minZ + cellSize - 1));
+        return dx * dx + dz * dz;
+    }
+
+    //Unpacks BlockPos.toLong()'s layout (26 bits x, 12 bits y, 26 bits z) without creating the BlockPos.
+    private static double distanceSq(long packedPos, int x, int y, int z) {
+        double dx = (int) (packedPos >> 38) - x;
+        double dy = (int) (packedPos << 26 >> 52) - y;
+        double dz = (int) (packedPos << 38 >> 38) - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static long cellKey(int cX, int cZ) {
+        return (((long) cX) << 32) | (cZ & 0xFFFFFFFFL);
+    }
+
+    private static int cellX(long cellKey) {
+        return (int) (cellKey >> 32);
+    }
+
+    private static int cellZ(long cellKey) {
+        return (int) cellKey;
+    }
+
+    private static class Search {
+
+        private boolean found = false;
+        private double distSq = Double.MAX_VALUE;
+        private long pos;
+
+    }
+
+}
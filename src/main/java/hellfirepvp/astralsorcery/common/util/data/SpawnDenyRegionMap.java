@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util.data;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: SpawnDenyRegionMap
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 14:26
+ */
+//Spawn-deny radii around positions, timing out like any TickTokenizedMap.
+//Additionally indexed per dimension by every chunk a radius reaches into, so a spawn check only looks at the regions covering its chunk.
+//Only put, remove and clear keep the index up to date; a changed radius has to be put again.
+public class SpawnDenyRegionMap extends TickTokenizedMap<WorldBlockPos, TickTokenizedMap.SimpleTickToken<Double>> {
+
+    //Regions reaching into more chunks than that are checked for every spawn in their dimension instead.
+    private static final int MAX_INDEXED_CHUNKS = 4096;
+
+    private final Int2ObjectMap<DimensionRegions> regions = new Int2ObjectOpenHashMap<>();
+    private final Map<SimpleTickToken<Double>, Region> indexedRegions = new IdentityHashMap<>();
+
+    public SpawnDenyRegionMap() {
+        super(TickEvent.Type.SERVER);
+    }
+
+    public boolean isDenied(World world, double x, double y, double z) {
+        DimensionRegions dimRegions = regions.get(world.provider.getDimension());
+        if (dimRegions == null) return false;
+
+        if (isInAny(dimRegions.unindexed, x, y, z)) {
+            return true;
+        }
+        List<Region> chunkRegions = dimRegions.byChunk.get(ChunkPos.asLong(MathHelper.floor(x) >> 4, MathHelper.floor(z) >> 4));
+        return chunkRegions != null && isInAny(chunkRegions, x, y, z);
+    }
+
+    private boolean isInAny(List<Region> regions, double x, double y, double z) {
+        for (Region region : regions) {
+            double dx = x - region.pos.getX();
+            double dy = y - region.pos.getY();
+            double dz = z - region.pos.getZ();
+            double radius = region.token.getValue();
+            if (dx * dx + dy * dy + dz * dz <= radius * radius) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public SimpleTickToken<Double> put(WorldBlockPos key, SimpleTickToken<Double> value) {
+        SimpleTickToken<Double> previous = super.put(key, value);
+        if (previous != null) {
+            unindex(key, previous);
+        }
+        index(key, value);
+        return previous;
+    }
+
+    @Override
+    public SimpleTickToken<Double> remove(Object key) {
+        SimpleTickToken<Double> removed = super.remove(key);
+        if (removed != null) {
+            unindex((WorldBlockPos) key, removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        regions.clear();
+        indexedRegions.clear();
+    }
+
+    @Override
+    protected void onExpired(WorldBlockPos key, SimpleTickToken<Double> value) {
+        unindex(key, value);
+    }
+
+    private void index(WorldBlockPos pos, SimpleTickToken<Double> token) {
+        int dimId = pos.getWorld().provider.getDimension();
+        DimensionRegions dimRegions = regions.get(dimId);
+        if (dimRegions == null) {
+            dimRegions = new DimensionRegions();
+            regions.put(dimId, dimRegions);
+        }
+        Region region = new Region(pos, token);
+        indexedRegions.put(token, region);
+        if (region.getChunkCount() > MAX_INDEXED_CHUNKS) {
+            dimRegions.unindexed.add(region);
+            return;
+        }
+        for (int xx = region.minChX; xx <= region.maxChX; xx++) {
+            for (int zz = region.minChZ; zz <= region.maxChZ; zz++) {
+                long key = ChunkPos.asLong(xx, zz);
+                List<Region> chunkRegions = dimRegions.byChunk.get(key);
+                if (chunkRegions == null) {
+                    chunkRegions = new ArrayList<>(2);
+                    dimRegions.byChunk.put(key, chunkRegions);
+                }
+                chunkRegions.add(region);
+            }
+        }
+    }
+
+    private void unindex(WorldBlockPos pos, SimpleTickToken<Double> token) {
+        Region region = indexedRegions.remove(token);
+        int dimId = pos.getWorld().provider.getDimension();
+        DimensionRegions dimRegions = regions.get(dimId);
+        if (region == null || dimRegions == null) return;
+
+        if (region.getChunkCount() > MAX_INDEXED_CHUNKS) {
+            dimRegions.unindexed.remove(region);
+        } else {
+            for (int xx = region.minChX; xx <= region.maxChX; xx++) {
+                for (int zz = region.minChZ; zz <= region.maxChZ; zz++) {
+                    long key = ChunkPos.asLong(xx, zz);
+                    List<Region> chunkRegions = dimRegions.byChunk.get(key);
+                    if (chunkRegions != null) {
+                        chunkRegions.remove(region);
+                        if (chunkRegions.isEmpty()) {
+                            dimRegions.byChunk.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+        if (dimRegions.unindexed.isEmpty() && dimRegions.byChunk.isEmpty()) {
+            regions.remove(dimId);
+        }
+    }
+
+    private static class DimensionRegions {
+
+        private final Long2ObjectMap<List<Region>> byChunk = new Long2ObjectOpenHashMap<>();
+        private final List<Region> unindexed = new ArrayList<>();
+
+    }
+
+    private static class Region {
+
+        private final WorldBlockPos pos;
+        private final SimpleTickToken<Double> token;
+        //Chunks covered with the radius the region was indexed with.
+        private final int minChX, maxChX, minChZ, maxChZ;
+
+        private Region(WorldBlockPos pos, SimpleTickToken<Double> token) {
+            this.pos = pos;
+            this.token = token;
+            double radius = token.getValue();
+            this.minChX = MathHelper.floor((pos.getX() - radius) / 16.0D);
+            this.maxChX = MathHelper.floor((pos.getX() + radius) / 16.0D);
+            this.minChZ = MathHelper.floor((pos.getZ() - radius) / 16.0D);
+            this.maxChZ = MathHelper.floor((pos.getZ() + radius) / 16.0D);
+        }
+
+        private long getChunkCount() {
+            return (long) (maxChX - minChX + 1) * (maxChZ - minChZ + 1);
+        }
+
+    }
+
+}
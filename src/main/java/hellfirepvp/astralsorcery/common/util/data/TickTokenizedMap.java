@@ -39,10 +39,14 @@ public class TickTokenizedMap<K, V extends TickTokenizedMap.TickMapToken<?>> ext
             if(entry.getValue().getRemainingTimeout() <= 0) {
                 entry.getValue().onTimeout();
                 iteratorEntries.remove();
+                onExpired(entry.getKey(), entry.getValue());
             }
         }
     }
 
+    //Called after a timed out entry got removed from the map.
+    protected void onExpired(K key, V value) {}
+
     @Override
     public EnumSet<TickEvent.Type> getHandledTypes() {
         return tickTypes;
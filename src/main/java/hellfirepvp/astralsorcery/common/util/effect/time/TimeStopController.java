@@ -15,7 +15,11 @@ import hellfirepvp.astralsorcery.common.registry.RegistryPotions;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.boss.EntityDragon;
 import net.minecraft.entity.boss.dragon.phase.PhaseList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.event.world.WorldEvent;
@@ -27,6 +31,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.LongConsumer;
 
 /**
  * This class is part of the Astral Sorcery Mod
@@ -37,7 +42,7 @@ import java.util.*;
  */
 public class TimeStopController implements ITickHandler {
 
-    private Map<Integer, List<TimeStopZone>> activeTimeStopZones = new HashMap<>();
+    private Map<Integer, DimensionZones> activeTimeStopZones = new HashMap<>();
 
     public static TimeStopController INSTANCE = new TimeStopController();
 
@@ -47,14 +52,9 @@ public class TimeStopController implements ITickHandler {
     public static TimeStopZone tryGetZoneAt(World world, BlockPos pos) {
         if(world.isRemote) return null;
         int dimId = world.provider.getDimension();
-        List<TimeStopZone> zones = INSTANCE.activeTimeStopZones.get(dimId);
-        if(zones == null || zones.isEmpty()) return null;
-        for (TimeStopZone zone : zones) {
-            if(zone.offset.equals(pos)) {
-                return zone;
-            }
-        }
-        return null;
+        DimensionZones zones = INSTANCE.activeTimeStopZones.get(dimId);
+        if(zones == null) return null;
+        return zones.byCenter.get(pos);
     }
 
     /**
@@ -74,7 +74,7 @@ public class TimeStopController implements ITickHandler {
 
         TimeStopZone stopZone = new TimeStopZone(controller, range, offset, world, maxAge, reducedParticles);
         int dimId = world.provider.getDimension();
-        List<TimeStopZone> zones = INSTANCE.activeTimeStopZones.computeIfAbsent(dimId, (id) -> new LinkedList<>());
+        DimensionZones zones = INSTANCE.activeTimeStopZones.computeIfAbsent(dimId, (id) -> new DimensionZones());
         zones.add(stopZone);
         ((DataTimeFreezeEffects) SyncDataHolder.getData(Side.SERVER, SyncDataHolder.DATA_TIME_FREEZE_EFFECTS))
                 .server_addNewEffect(dimId, TimeStopEffectHelper.fromZone(stopZone));
@@ -86,9 +86,9 @@ public class TimeStopController implements ITickHandler {
         World w = event.getWorld();
         if(w != null && w.provider != null) {
             int id = w.provider.getDimension();
-            List<TimeStopZone> freezeAreas = activeTimeStopZones.get(id);
-            if(freezeAreas != null && !freezeAreas.isEmpty()) {
-                for (TimeStopZone stop : freezeAreas) {
+            DimensionZones freezeAreas = activeTimeStopZones.get(id);
+            if(freezeAreas != null) {
+                for (TimeStopZone stop : freezeAreas.zones) {
                     stop.stopEffect();
                 }
             }
@@ -120,8 +120,10 @@ public class TimeStopController implements ITickHandler {
         World w = e.world;
         if(w != null && w.provider != null) {
             int id = w.provider.getDimension();
-            List<TimeStopZone> freezeAreas = activeTimeStopZones.get(id);
-            if(freezeAreas != null && !freezeAreas.isEmpty()) {
+            DimensionZones dimZones = activeTimeStopZones.get(id);
+            if(dimZones == null) return;
+            List<TimeStopZone> freezeAreas = dimZones.byChunk.get(ChunkPos.asLong(MathHelper.floor(e.posX) >> 4, MathHelper.floor(e.posZ) >> 4));
+            if(freezeAreas != null) {
                 for (TimeStopZone stop : freezeAreas) {
                     if(stop.interceptEntityTick(e)) {
                         TimeStopZone.handleImportantEntityTicks(e);
@@ -135,14 +137,16 @@ public class TimeStopController implements ITickHandler {
 
     @Override
     public void tick(TickEvent.Type type, Object... context) {
-        for (Map.Entry<Integer, List<TimeStopZone>> zoneMap : activeTimeStopZones.entrySet()) {
-            for (Iterator<TimeStopZone> iterator = zoneMap.getValue().iterator(); iterator.hasNext();) {
+        for (Map.Entry<Integer, DimensionZones> zoneMap : activeTimeStopZones.entrySet()) {
+            DimensionZones dimZones = zoneMap.getValue();
+            for (Iterator<TimeStopZone> iterator = dimZones.zones.iterator(); iterator.hasNext();) {
                 TimeStopZone zone = iterator.next();
                 if(zone.shouldDespawn()) { //If this was requested outside of the tick logic. Prevents potentially unwanted ticks.
                     zone.stopEffect();
                     ((DataTimeFreezeEffects) SyncDataHolder.getData(Side.SERVER, SyncDataHolder.DATA_TIME_FREEZE_EFFECTS))
                             .server_removeEffect(zoneMap.getKey(), TimeStopEffectHelper.fromZone(zone));
                     iterator.remove();
+                    dimZones.unindex(zone);
                     continue;
                 }
                 zone.onServerTick();
@@ -151,6 +155,7 @@ public class TimeStopController implements ITickHandler {
                     ((DataTimeFreezeEffects) SyncDataHolder.getData(Side.SERVER, SyncDataHolder.DATA_TIME_FREEZE_EFFECTS))
                             .server_removeEffect(zoneMap.getKey(), TimeStopEffectHelper.fromZone(zone));
                     iterator.remove();
+                    dimZones.unindex(zone);
                 }
             }
         }
@@ -171,4 +176,57 @@ public class TimeStopController implements ITickHandler {
         return "TimeStop Controller";
     }
 
+    //The zones of a dimension, also indexed by their center and by every chunk their range reaches into,
+    //so entities only test the zones that can actually contain them.
+    private static class DimensionZones {
+
+        private final List<TimeStopZone> zones = new LinkedList<>();
+        private final Map<BlockPos, TimeStopZone> byCenter = new HashMap<>();
+        private final Long2ObjectMap<List<TimeStopZone>> byChunk = new Long2ObjectOpenHashMap<>();
+
+        private void add(TimeStopZone zone) {
+            zones.add(zone);
+            byCenter.putIfAbsent(zone.offset, zone);
+            forEachChunk(zone, key -> {
+                List<TimeStopZone> chunkZones = byChunk.get(key);
+                if(chunkZones == null) {
+                    chunkZones = new ArrayList<>(2);
+                    byChunk.put(key, chunkZones);
+                }
+                chunkZones.add(zone);
+            });
+        }
+
+        //Has to be removed from 'zones' already.
+        private void unindex(TimeStopZone zone) {
+            if(byCenter.remove(zone.offset, zone)) {
+                for (TimeStopZone other : zones) {
+                    if(other.offset.equals(zone.offset)) {
+                        byCenter.put(other.offset, other);
+                        break;
+                    }
+                }
+            }
+            forEachChunk(zone, key -> {
+                List<TimeStopZone> chunkZones = byChunk.get(key);
+                if(chunkZones != null && chunkZones.remove(zone) && chunkZones.isEmpty()) {
+                    byChunk.remove(key);
+                }
+            });
+        }
+
+        private void forEachChunk(TimeStopZone zone, LongConsumer fct) {
+            int minX = MathHelper.floor((zone.offset.getX() - zone.range) / 16.0D);
+            int maxX = MathHelper.floor((zone.offset.getX() + zone.range) / 16.0D);
+            int minZ = MathHelper.floor((zone.offset.getZ() - zone.range) / 16.0D);
+            int maxZ = MathHelper.floor((zone.offset.getZ() + zone.range) / 16.0D);
+            for (int xx = minX; xx <= maxX; xx++) {
+                for (int zz = minZ; zz <= maxZ; zz++) {
+                    fct.accept(ChunkPos.asLong(xx, zz));
+                }
+            }
+        }
+
+    }
+
 }
@@ -89,116 +89,16 @@ public class BlockDiscoverer {
 
         BlockArray foundResult = new BlockArray();
         foundResult.addBlock(origin, testState);
-        List<BlockPos> visited = new LinkedList<>();
-
-        Deque<BlockPos> searchNext = new LinkedList<>();
-        searchNext.addFirst(origin);
-
-        while (!searchNext.isEmpty()) {
-            Deque<BlockPos> currentSearch = searchNext;
-            searchNext = new LinkedList<>();
-
-            for (BlockPos offsetPos : currentSearch) {
-                if (searchCorners) {
-                    for (int xx = -1; xx <= 1; xx++) {
-                        for (int yy = -1; yy <= 1; yy++) {
-                            for (int zz = -1; zz <= 1; zz++) {
-                                BlockPos search = offsetPos.add(xx, yy, zz);
-                                if (visited.contains(search)) continue;
-                                if (getCubeDistance(search, origin) > cubeSize) continue;
-                                if (limit != -1 && foundResult.getBlockSize() + 1 > limit) continue;
-
-                                visited.add(search);
-
-                                if (!onlyExposed || isExposedToAir(world, search)) {
-                                    IBlockState current = world.getBlockState(search);
-                                    if(MiscUtils.matchStateExact(current, testState)) {
-                                        foundResult.addBlock(search, current);
-                                        searchNext.add(search);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                } else {
-                    for (EnumFacing face : EnumFacing.VALUES) {
-                        BlockPos search = offsetPos.offset(face);
-                        if (visited.contains(search)) continue;
-                        if (getCubeDistance(search, origin) > cubeSize) continue;
-                        if (limit != -1 && foundResult.getBlockSize() + 1 > limit) continue;
-
-                        visited.add(search);
-
-                        if (!onlyExposed || isExposedToAir(world, search)) {
-                            IBlockState current = world.getBlockState(search);
-                            if(MiscUtils.matchStateExact(current, testState)) {
-                                foundResult.addBlock(search, current);
-                                searchNext.add(search);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
+        BlockFloodFill.fill(world, origin, cubeSize, limit, searchCorners, onlyExposed,
+                current -> MiscUtils.matchStateExact(current, testState), foundResult);
         return foundResult;
     }
 
     public static BlockArray discoverBlocksWithSameStateAround(List<IBlockState> states, World world, BlockPos origin, boolean onlyExposed, int cubeSize, int limit, boolean searchCorners) {
         BlockArray foundResult = new BlockArray();
         foundResult.addBlock(origin, world.getBlockState(origin));
-        List<BlockPos> visited = new LinkedList<>();
-
-        Deque<BlockPos> searchNext = new LinkedList<>();
-        searchNext.addFirst(origin);
-
-        while (!searchNext.isEmpty()) {
-            Deque<BlockPos> currentSearch = searchNext;
-            searchNext = new LinkedList<>();
-
-            for (BlockPos offsetPos : currentSearch) {
-                if (searchCorners) {
-                    for (int xx = -1; xx <= 1; xx++) {
-                        for (int yy = -1; yy <= 1; yy++) {
-                            for (int zz = -1; zz <= 1; zz++) {
-                                BlockPos search = offsetPos.add(xx, yy, zz);
-                                if (visited.contains(search)) continue;
-                                if (getCubeDistance(search, origin) > cubeSize) continue;
-                                if (limit != -1 && foundResult.getBlockSize() + 1 > limit) continue;
-
-                                visited.add(search);
-
-                                if (!onlyExposed || isExposedToAir(world, search)) {
-                                    IBlockState current = world.getBlockState(search);
-                                    if (MiscUtils.getMatchingState(states, current) != null) {
-                                        foundResult.addBlock(search, current);
-                                        searchNext.add(search);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                } else {
-                    for (EnumFacing face : EnumFacing.VALUES) {
-                        BlockPos search = offsetPos.offset(face);
-                        if (visited.contains(search)) continue;
-                        if (getCubeDistance(search, origin) > cubeSize) continue;
-                        if (limit != -1 && foundResult.getBlockSize() + 1 > limit) continue;
-
-                        visited.add(search);
-
-                        if (!onlyExposed || isExposedToAir(world, search)) {
-                            IBlockState current = world.getBlockState(search);
-                            if (MiscUtils.getMatchingState(states, current) != null) {
-                                foundResult.addBlock(search, current);
-                                searchNext.add(search);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
+        BlockFloodFill.fill(world, origin, cubeSize, limit, searchCorners, onlyExposed,
+                current -> MiscUtils.getMatchingState(states, current) != null, foundResult);
         return foundResult;
     }
 
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.util.struct;
+
+import hellfirepvp.astralsorcery.common.structure.array.BlockArray;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: BlockFloodFill
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 11:08
+ */
+//Breadth-first flood fill over blocks within a cube around an origin.
+//Visited positions are kept as bits of the cube's volume (or packed longs in a hash set for very large cubes),
+//the queue holds plain coordinates and block states are read from the cached chunk's sections,
+//so a fill only allocates for the blocks it actually finds.
+//One instance is kept per thread and reused.
+public class BlockFloodFill {
+
+    //Cubes larger than that (in blocks) use a hash set instead of a bitset for visited positions.
+    private static final int MAX_BITSET_VOLUME = 1 << 24;
+
+    private static final ThreadLocal<BlockFloodFill> instances = ThreadLocal.withInitial(BlockFloodFill::new);
+
+    private static final int[][] OFFSETS_FACES;
+    private static final int[][] OFFSETS_CORNERS;
+
+    private long[] visitedBits = new long[0];
+    private final LongOpenHashSet visitedSet = new LongOpenHashSet();
+    private boolean useBits;
+    private int cubeSize, diameter;
+
+    //x, y, z relative to the origin per entry.
+    private int[] queue = new int[3 * 64];
+    private int head, tail;
+
+    private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+    private World world;
+    private Chunk cachedChunk;
+
+    private boolean inUse = false;
+
+    private BlockFloodFill() {}
+
+    //Fills 'out' with all blocks connected to 'origin' that are accepted by 'filter', starting with the origin's neighbours.
+    //The search stops once 'out' contains 'limit' blocks, unless 'limit' is -1.
+    public static void fill(World world, BlockPos origin, int cubeSize, int limit, boolean searchCorners, boolean onlyExposed,
+                            Predicate<IBlockState> filter, BlockArray out) {
+        BlockFloodFill fill = instances.get();
+        if(fill.inUse) {
+            fill = new BlockFloodFill(); //Called from within a filter.
+        }
+        fill.inUse = true;
+        try {
+            fill.run(world, origin, cubeSize, limit, searchCorners ? OFFSETS_CORNERS : OFFSETS_FACES, onlyExposed, filter, out);
+        } finally {
+            fill.world = null;
+            fill.cachedChunk = null;
+            fill.inUse = false;
+        }
+    }
+
+    private void run(World world, BlockPos origin, int cubeSize, int limit, int[][] offsets, boolean onlyExposed,
+                     Predicate<IBlockState> filter, BlockArray out) {
+        if(cubeSize < 0 || (limit != -1 && out.getBlockSize() >= limit)) return;
+
+        this.world = world;
+        this.cachedChunk = null;
+        resetVisited(cubeSize);
+        head = 0;
+        tail = 0;
+
+        int oX = origin.getX(), oY = origin.getY(), oZ = origin.getZ();
+        markVisited(0, 0, 0);
+        enqueue(0, 0, 0);
+
+        while (head < tail) {
+            int x = queue[head];
+            int y = queue[head + 1];
+            int z = queue[head + 2];
+            head += 3;
+
+            for (int[] offset : offsets) {
+                int dx = x + offset[0];
+                int dy = y + offset[1];
+                int dz = z + offset[2];
+                if(Math.abs(dx) > cubeSize || Math.abs(dy) > cubeSize || Math.abs(dz) > cubeSize) continue;
+                if(!markVisited(dx, dy, dz)) continue;
+
+                int wX = oX + dx, wY = oY + dy, wZ = oZ + dz;
+                if(onlyExposed && !isExposedToAir(wX, wY, wZ)) continue;
+
+                IBlockState state = getBlockState(wX, wY, wZ);
+                if(filter.test(state)) {
+                    out.addBlock(new BlockPos(wX, wY, wZ), state);
+                    if(limit != -1 && out.getBlockSize() >= limit) {
+                        return;
+                    }
+                    enqueue(dx, dy, dz);
+                }
+            }
+        }
+    }
+
+    private void resetVisited(int cubeSize) {
+        this.cubeSize = cubeSize;
+        this.diameter = cubeSize * 2 + 1;
+        long volume = (long) diameter * diameter * diameter;
+        this.useBits = volume <= MAX_BITSET_VOLUME;
+        if(useBits) {
+            int words = (int) ((volume + 63) >> 6);
+            if(visitedBits.length < words) {
+                visitedBits = new long[words];
+            } else {
+                Arrays.fill(visitedBits, 0, words, 0L);
+            }
+        } else {
+            visitedSet.clear();
+        }
+    }
+
+    //Returns false if the position had been visited already.
+    private boolean markVisited(int dx, int dy, int dz) {
+        if(useBits) {
+            int index = ((dx + cubeSize) * diameter + (dy + cubeSize)) * diameter + (dz + cubeSize);
+            long bit = 1L << index;
+            long word = visitedBits[index >>> 6];
+            if((word & bit) != 0) return false;
+            visitedBits[index >>> 6] = word | bit;
+            return true;
+        }
+        return visitedSet.add(((long) (dx & 0x1FFFFF) << 42) | ((long) (dy & 0x1FFFFF) << 21) | (long) (dz & 0x1FFFFF));
+    }
+
+    private void enqueue(int dx, int dy, int dz) {
+        if(tail + 3 > queue.length) {
+            queue = Arrays.copyOf(queue, queue.length * 2);
+        }
+        queue[tail] = dx;
+        queue[tail + 1] = dy;
+        queue[tail + 2] = dz;
+        tail += 3;
+    }
+
+    private IBlockState getBlockState(int x, int y, int z) {
+        if(y < 0 || y >= 256) {
+            return Blocks.AIR.getDefaultState();
+        }
+        int chX = x >> 4, chZ = z >> 4;
+        Chunk ch = this.cachedChunk;
+        if(ch == null || ch.x != chX || ch.z != chZ) {
+            ch = world.getChunkFromChunkCoords(chX, chZ);
+            this.cachedChunk = ch;
+        }
+        return ch.getBlockState(x, y, z);
+    }
+
+    private boolean isExposedToAir(int x, int y, int z) {
+        for (EnumFacing face : EnumFacing.VALUES) {
+            int fX = x + face.getFrontOffsetX(), fY = y + face.getFrontOffsetY(), fZ = z + face.getFrontOffsetZ();
+            IBlockState state = getBlockState(fX, fY, fZ);
+            Block b = state.getBlock();
+            mutable.setPos(fX, fY, fZ);
+            if(b.isAir(state, world, mutable) || b.isReplaceable(world, mutable)) return true;
+        }
+        return false;
+    }
+
+    static {
+        OFFSETS_FACES = new int[EnumFacing.VALUES.length][];
+        for (int i = 0; i < EnumFacing.VALUES.length; i++) {
+            EnumFacing face = EnumFacing.VALUES[i];
+            OFFSETS_FACES[i] = new int[] { face.getFrontOffsetX(), face.getFrontOffsetY(), face.getFrontOffsetZ() };
+        }
+        OFFSETS_CORNERS = new int[27][];
+        int i = 0;
+        for (int xx = -1; xx <= 1; xx++) {
+            for (int yy = -1; yy <= 1; yy++) {
+                for (int zz = -1; zz <= 1; zz++) {
+                    OFFSETS_CORNERS[i++] = new int[] { xx, yy, zz };
+                }
+            }
+        }
+    }
+
+}
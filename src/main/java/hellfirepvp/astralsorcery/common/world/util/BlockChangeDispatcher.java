@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.world.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.fml.common.Loader;
+import net.minecraftforge.fml.common.LoaderState;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+import java.util.*;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: BlockChangeDispatcher
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 09:20
+ */
+//Hands serverside block changes to the listeners interested in them.
+//Every listener gets a bit; per dimension and chunk the bits of all listeners watching that chunk are kept,
+//and per block the bits of all listeners watching that block anywhere.
+//Changes nobody is interested in are dropped after two map lookups, without allocating anything.
+//Server thread only.
+public class BlockChangeDispatcher {
+
+    private static final BlockChangeDispatcher instance = new BlockChangeDispatcher();
+
+    private final List<IBlockChangeListener> listeners = new ArrayList<>();
+    private final Map<IBlockChangeListener, Integer> listenerIds = new IdentityHashMap<>();
+    private final Reference2IntMap<Block> blockInterest = new Reference2IntOpenHashMap<>();
+    private final Int2ObjectMap<Long2ObjectMap<ChunkInterest>> chunkInterest = new Int2ObjectOpenHashMap<>();
+
+    private BlockChangeDispatcher() {}
+
+    public static BlockChangeDispatcher getInstance() {
+        return instance;
+    }
+
+    public void register(IBlockChangeListener listener) {
+        if(listenerIds.containsKey(listener)) return;
+        if(listeners.size() >= Integer.SIZE) {
+            throw new IllegalStateException("Too many block change listeners registered!");
+        }
+        listenerIds.put(listener, listeners.size());
+        listeners.add(listener);
+    }
+
+    //Has to be called after all blocks are registered.
+    public void collectBlockInterests() {
+        blockInterest.clear();
+        for (Block block : ForgeRegistries.BLOCKS) {
+            int mask = 0;
+            for (int i = 0; i < listeners.size(); i++) {
+                if(listeners.get(i).watchesBlock(block)) {
+                    mask |= 1 << i;
+                }
+            }
+            if(mask != 0) {
+                blockInterest.put(block, mask);
+            }
+        }
+    }
+
+    //Reference counted; every call has to be matched by a removeChunkInterest call.
+    public void addChunkInterest(IBlockChangeListener listener, int dimId, int chX, int chZ) {
+        int id = getId(listener);
+        if(id == -1) return;
+        Long2ObjectMap<ChunkInterest> chunks = chunkInterest.get(dimId);
+        if(chunks == null) {
+            chunks = new Long2ObjectOpenHashMap<>();
+            chunkInterest.put(dimId, chunks);
+        }
+        long key = ChunkPos.asLong(chX, chZ);
+        ChunkInterest interest = chunks.get(key);
+        if(interest == null) {
+            interest = new ChunkInterest(listeners.size());
+            chunks.put(key, interest);
+        }
+        interest.add(id);
+    }
+
+    public void removeChunkInterest(IBlockChangeListener listener, int dimId, int chX, int chZ) {
+        int id = getId(listener);
+        if(id == -1) return;
+        Long2ObjectMap<ChunkInterest> chunks = chunkInterest.get(dimId);
+        if(chunks == null) return;
+        long key = ChunkPos.asLong(chX, chZ);
+        ChunkInterest interest = chunks.get(key);
+        if(interest != null && interest.remove(id)) {
+            chunks.remove(key);
+        }
+    }
+
+    public void clearChunkInterest(IBlockChangeListener listener, int dimId) {
+        int id = getId(listener);
+        if(id == -1) return;
+        Long2ObjectMap<ChunkInterest> chunks = chunkInterest.get(dimId);
+        if(chunks == null) return;
+        chunks.values().removeIf(interest -> interest.clear(id));
+    }
+
+    public void clearChunkInterest() {
+        chunkInterest.clear();
+    }
+
+    public void dispatch(World world, BlockPos pos, IBlockState oldState, IBlockState newState) {
+        if(world.isRemote) return;
+
+        int mask = blockInterest.getInt(oldState.getBlock()) | blockInterest.getInt(newState.getBlock());
+        Long2ObjectMap<ChunkInterest> chunks = chunkInterest.get(world.provider.getDimension());
+        if(chunks != null) {
+            ChunkInterest interest = chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+            if(interest != null) {
+                mask |= interest.mask;
+            }
+        }
+        if(mask == 0) return;
+
+        if (!Loader.instance().hasReachedState(LoaderState.SERVER_ABOUT_TO_START)) {
+            return; //Thanks BuildCraft.
+        }
+        Chunk chunk = world.getChunkFromBlockCoords(pos);
+        if(!chunk.isTerrainPopulated()) return;
+
+        for (int i = 0; i < listeners.size(); i++) {
+            if((mask & (1 << i)) != 0) {
+                listeners.get(i).onBlockChange(world, chunk, pos, oldState, newState);
+            }
+        }
+    }
+
+    //Unregistered listeners never get any changes, so there's nothing to track for them.
+    private int getId(IBlockChangeListener listener) {
+        Integer id = listenerIds.get(listener);
+        return id == null ? -1 : id;
+    }
+
+    private static class ChunkInterest {
+
+        private int mask = 0;
+        private final int[] counts;
+
+        private ChunkInterest(int listenerCount) {
+            this.counts = new int[listenerCount];
+        }
+
+        private void add(int id) {
+            counts[id]++;
+            mask |= 1 << id;
+        }
+
+        //Returns true if nobody is interested in the chunk anymore.
+        private boolean remove(int id) {
+            if(counts[id] > 0 && --counts[id] == 0) {
+                mask &= ~(1 << id);
+            }
+            return mask == 0;
+        }
+
+        private boolean clear(int id) {
+            counts[id] = 0;
+            mask &= ~(1 << id);
+            return mask == 0;
+        }
+
+    }
+
+}
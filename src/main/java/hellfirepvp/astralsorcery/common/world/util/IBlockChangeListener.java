@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * HellFirePvP / Astral Sorcery 2019
+ *
+ * All rights reserved.
+ * The source code is available on github: https://github.com/HellFirePvP/AstralSorcery
+ * For further details, see the License file there.
+ ******************************************************************************/
+
+package hellfirepvp.astralsorcery.common.world.util;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * This class is part of the Astral Sorcery Mod
+ * The complete source code for this mod can be found on github.
+ * Class: IBlockChangeListener
+ * Created by HellFirePvP
+ * Date: 19.10.2026 / 09:14
+ */
+//Only called for changes in chunks the listener registered interest in,
+//or if the old or new block is one of the blocks the listener watches everywhere.
+public interface IBlockChangeListener {
+
+    public void onBlockChange(World world, Chunk chunk, BlockPos pos, IBlockState oldState, IBlockState newState);
+
+    //Asked once for every registered block after all blocks are registered.
+    default public boolean watchesBlock(Block block) {
+        return false;
+    }
+
+}
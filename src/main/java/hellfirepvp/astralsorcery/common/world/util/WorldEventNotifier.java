@@ -8,7 +8,6 @@
 
 package hellfirepvp.astralsorcery.common.world.util;
 
-import hellfirepvp.astralsorcery.common.event.BlockModifyEvent;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
@@ -17,7 +16,6 @@ import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IWorldEventListener;
 import net.minecraft.world.World;
-import net.minecraftforge.common.MinecraftForge;
 
 import javax.annotation.Nullable;
 
@@ -33,8 +31,7 @@ public class WorldEventNotifier implements IWorldEventListener {
     @Override
     public void notifyBlockUpdate(World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
         if (!oldState.equals(newState)) {
-            MinecraftForge.EVENT_BUS.post(new BlockModifyEvent(world, world.getChunkFromBlockCoords(pos),
-                    pos, oldState, newState));
+            BlockChangeDispatcher.getInstance().dispatch(world, pos, oldState, newState);
         }
     }
 